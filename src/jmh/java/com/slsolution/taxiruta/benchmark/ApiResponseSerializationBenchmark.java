@@ -0,0 +1,57 @@
+package com.slsolution.taxiruta.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.slsolution.taxiruta.dto.response.ApiResponseDTO;
+import com.slsolution.taxiruta.dto.response.TripResponseDTO;
+import com.slsolution.taxiruta.model.User;
+import com.slsolution.taxiruta.service.TripService;
+import com.slsolution.taxiruta.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a trip list response, as written by the message converter.
+ * The ObjectMapper comes from Jackson2ObjectMapperBuilder, which applies the same defaults
+ * (java.time support, dates as ISO strings) that Spring Boot uses for the HTTP converters.
+ *
+ * Run with: ./gradlew jmh -Pjmh.includes=ApiResponseSerializationBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"1", "20", "100"})
+    private int tripCount;
+
+    private ObjectWriter writer;
+    private ApiResponseDTO<List<TripResponseDTO>> response;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writer();
+
+        UserService userService = new UserService();
+        TripService tripService = new TripService();
+        ReflectionTestUtils.setField(tripService, "userService", userService);
+
+        List<TripResponseDTO> trips = new ArrayList<>(tripCount);
+        for (int i = 0; i < tripCount; i++) {
+            User driver = BenchmarkData.user((long) i);
+            trips.add(tripService.convertToResponseDTO(BenchmarkData.trip((long) i, driver)));
+        }
+        response = ApiResponseDTO.success("Trips retrieved successfully", trips);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return writer.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,57 @@
+package com.slsolution.taxiruta.benchmark;
+
+import com.slsolution.taxiruta.model.Booking;
+import com.slsolution.taxiruta.model.Trip;
+import com.slsolution.taxiruta.model.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Detached entities shared by the benchmarks; nothing here touches a database.
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static User user(Long id) {
+        return User.builder()
+                .id(id)
+                .firstName("Bench")
+                .lastName("User")
+                .email("bench" + id + "@example.com")
+                .password("encodedPassword")
+                .phone("3001234567")
+                .role(User.Role.DRIVER)
+                .isActive(true)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    static Trip trip(Long id, User driver) {
+        return Trip.builder()
+                .id(id)
+                .driver(driver)
+                .origin("Bogota")
+                .destination("Medellin")
+                .departureTime(LocalDateTime.now().plusDays(1))
+                .availableSeats(4)
+                .pricePerSeat(new BigDecimal("50000.00"))
+                .description("Salida desde el terminal del norte")
+                .status(Trip.Status.ACTIVE)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    static Booking booking(Long id, Trip trip, User passenger, Booking.Status status) {
+        return Booking.builder()
+                .id(id)
+                .trip(trip)
+                .passenger(passenger)
+                .seatsRequested(1)
+                .totalPrice(trip.getPricePerSeat())
+                .status(status)
+                .build();
+    }
+}
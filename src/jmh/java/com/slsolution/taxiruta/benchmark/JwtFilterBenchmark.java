@@ -0,0 +1,139 @@
+package com.slsolution.taxiruta.benchmark;
+
+import com.slsolution.taxiruta.config.JwtAuthenticationFilter;
+import com.slsolution.taxiruta.model.User;
+import com.slsolution.taxiruta.service.TokenRevocationService;
+import com.slsolution.taxiruta.service.UserService;
+import com.slsolution.taxiruta.service.UserStatusService;
+import com.slsolution.taxiruta.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of JWT authentication.
+ * legacyTripleParse reproduces the previous filter path (three parses, each rebuilding the key and
+ * parser); the other benchmarks measure a single verification with and without the claims cache
+ * and the whole filter with the active-status lookup stubbed out and an empty revocation denylist.
+ *
+ * Run with: ./gradlew jmh -Pjmh.includes=JwtFilterBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "benchmarkSecretKeyForJwtWhichShouldBeAtLeast256BitsLong";
+
+    private JwtUtil jwtUtil;
+    private JwtAuthenticationFilter filter;
+    private String token;
+
+    private final FilterChain noopChain = (request, response) -> { };
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpiration", TimeUnit.HOURS.toMillis(24));
+        ReflectionTestUtils.setField(jwtUtil, "claimsCacheMaxSize", 10_000L);
+        jwtUtil.init();
+
+        User user = User.builder()
+                .id(1L)
+                .firstName("Bench")
+                .lastName("User")
+                .email("bench@example.com")
+                .password("encodedPassword")
+                .phone("3001234567")
+                .role(User.Role.PASSENGER)
+                .isActive(true)
+                .build();
+        token = jwtUtil.generateToken(user);
+
+        filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(filter, "userService", new UserService() {
+            @Override
+            public UserDetails loadUserByUsername(String username) {
+                return user;
+            }
+        });
+        ReflectionTestUtils.setField(filter, "userStatusService", new UserStatusService() {
+            @Override
+            public boolean isActive(Long userId) {
+                return true;
+            }
+        });
+
+        // Real denylist with nothing revoked: the common path is one Bloom filter miss
+        TokenRevocationService tokenRevocationService = new TokenRevocationService();
+        ReflectionTestUtils.setField(tokenRevocationService, "expectedTokens", 100_000);
+        ReflectionTestUtils.setField(tokenRevocationService, "falsePositiveRate", 0.01);
+        tokenRevocationService.init();
+        ReflectionTestUtils.setField(filter, "tokenRevocationService", tokenRevocationService);
+    }
+
+    @Benchmark
+    public boolean legacyTripleParse() {
+        String username = legacyParse(token).getSubject();
+        String usernameAgain = legacyParse(token).getSubject();
+        Date expiration = legacyParse(token).getExpiration();
+        return username.equals(usernameAgain) && expiration.after(new Date());
+    }
+
+    @Benchmark
+    public Claims singleParse(ParserState state) {
+        return state.parser.parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public Claims cachedVerify() {
+        return jwtUtil.verifyToken(token);
+    }
+
+    @Benchmark
+    public int filterRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/profile");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, noopChain);
+        SecurityContextHolder.clearContext();
+        return response.getStatus();
+    }
+
+    private static Claims legacyParse(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    @State(Scope.Benchmark)
+    public static class ParserState {
+
+        private JwtParser parser;
+
+        @Setup
+        public void setUp() {
+            parser = Jwts.parserBuilder()
+                    .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                    .build();
+        }
+    }
+}
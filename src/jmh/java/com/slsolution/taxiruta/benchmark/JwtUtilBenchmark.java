@@ -0,0 +1,52 @@
+package com.slsolution.taxiruta.benchmark;
+
+import com.slsolution.taxiruta.model.User;
+import com.slsolution.taxiruta.util.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issuing and validation through JwtUtil.
+ * generateToken runs on every login and registration; validateToken is the claims-cache hit
+ * path that every authenticated request takes after the first one.
+ *
+ * Run with: ./gradlew jmh -Pjmh.includes=JwtUtilBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secretKey", "benchmarkSecretKeyForJwtWhichShouldBeAtLeast256BitsLong");
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpiration", TimeUnit.HOURS.toMillis(24));
+        ReflectionTestUtils.setField(jwtUtil, "claimsCacheMaxSize", 10_000L);
+        jwtUtil.init();
+
+        user = BenchmarkData.user(1L);
+        token = jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtUtil.validateToken(token, user);
+    }
+
+    @Benchmark
+    public Boolean isValidToken() {
+        return jwtUtil.isValidToken(token);
+    }
+}
@@ -0,0 +1,58 @@
+package com.slsolution.taxiruta.benchmark;
+
+import com.slsolution.taxiruta.model.Booking;
+import com.slsolution.taxiruta.model.Trip;
+import com.slsolution.taxiruta.model.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trip.getRemainingSeats as the booking list grows.
+ * counter reads the persisted confirmedSeats/heldSeats counters; scanBookings recomputes
+ * the confirmed seats from the bookings collection, as the method did before the counter existed.
+ *
+ * Run with: ./gradlew jmh -Pjmh.includes=RemainingSeatsBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class RemainingSeatsBenchmark {
+
+    @Param({"0", "10", "100", "1000"})
+    private int bookingCount;
+
+    private Trip trip;
+
+    @Setup
+    public void setUp() {
+        User driver = BenchmarkData.user(1L);
+        trip = BenchmarkData.trip(1L, driver);
+        trip.setAvailableSeats(bookingCount + 4);
+
+        Booking.Status[] statuses = Booking.Status.values();
+        int confirmedSeats = 0;
+        for (int i = 0; i < bookingCount; i++) {
+            Booking.Status status = statuses[i % statuses.length];
+            trip.getBookings().add(BenchmarkData.booking((long) i, trip, BenchmarkData.user(i + 2L), status));
+            if (status == Booking.Status.CONFIRMED) {
+                confirmedSeats++;
+            }
+        }
+        trip.setConfirmedSeats(confirmedSeats);
+    }
+
+    @Benchmark
+    public int counter() {
+        return trip.getRemainingSeats();
+    }
+
+    @Benchmark
+    public int scanBookings() {
+        int confirmedSeats = trip.getBookings().stream()
+                .filter(Booking::isConfirmed)
+                .mapToInt(Booking::getSeatsRequested)
+                .sum();
+        return trip.getAvailableSeats() - confirmedSeats - trip.getHeldSeats();
+    }
+}
@@ -0,0 +1,49 @@
+package com.slsolution.taxiruta.benchmark;
+
+import com.slsolution.taxiruta.dto.response.TripResponseDTO;
+import com.slsolution.taxiruta.dto.response.UserResponseDTO;
+import com.slsolution.taxiruta.model.Trip;
+import com.slsolution.taxiruta.model.User;
+import com.slsolution.taxiruta.service.TripService;
+import com.slsolution.taxiruta.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to response DTO mapping done for every trip and user in a response.
+ * Both services are built without Spring; the mapping methods need no other collaborators.
+ *
+ * Run with: ./gradlew jmh -Pjmh.includes=ResponseMappingBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ResponseMappingBenchmark {
+
+    private UserService userService;
+    private TripService tripService;
+    private User driver;
+    private Trip trip;
+
+    @Setup
+    public void setUp() {
+        userService = new UserService();
+        tripService = new TripService();
+        ReflectionTestUtils.setField(tripService, "userService", userService);
+
+        driver = BenchmarkData.user(1L);
+        trip = BenchmarkData.trip(1L, driver);
+    }
+
+    @Benchmark
+    public UserResponseDTO userToResponse() {
+        return userService.convertToResponseDTO(driver);
+    }
+
+    @Benchmark
+    public TripResponseDTO tripToResponse() {
+        return tripService.convertToResponseDTO(trip);
+    }
+}
@@ -0,0 +1,105 @@
+package com.slsolution.taxiruta.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Thin HTTP client for the TaxiRuta API that records every call in {@link LoadMetrics}.
+ * Responses are recorded by status and ApiResponseDTO message, so the error mix tells
+ * "not enough seats" apart from "booking already processed" without extra bookkeeping.
+ */
+public class ApiClient {
+
+    static final String IO_ERROR = "IO";
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final String baseUrl;
+    private final LoadMetrics metrics;
+
+    public ApiClient(String baseUrl, LoadMetrics metrics) {
+        this.baseUrl = baseUrl;
+        this.metrics = metrics;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+    }
+
+    public record Response(int status, JsonNode body) {
+
+        public boolean isSuccess() {
+            return status >= 200 && status < 300;
+        }
+
+        public JsonNode data() {
+            return body.path("data");
+        }
+    }
+
+    public Response post(String operation, String path, String token, Object body) {
+        return send(operation, request(path, token).POST(json(body)));
+    }
+
+    public Response put(String operation, String path, String token, Object body) {
+        return send(operation, request(path, token).PUT(json(body)));
+    }
+
+    public Response delete(String operation, String path, String token) {
+        return send(operation, request(path, token).DELETE());
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        if (body == null) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Response send(String operation, HttpRequest.Builder builder) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+            long end = System.nanoTime();
+            JsonNode body = response.body().isEmpty() ? MissingNode.getInstance() : objectMapper.readTree(response.body());
+            Response result = new Response(response.statusCode(), body);
+            metrics.record(operation, start, end, result.status(),
+                    result.isSuccess() ? "OK" : body.path("message").asText("no message"));
+            return result;
+        } catch (IOException e) {
+            metrics.record(operation, start, System.nanoTime(), 0, IO_ERROR + " " + e.getClass().getSimpleName());
+            return new Response(0, MissingNode.getInstance());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while calling " + operation, e);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.slsolution.taxiruta.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.slsolution.taxiruta.dto.request.BookingDecisionBatchRequestDTO;
+import com.slsolution.taxiruta.dto.request.BookingDecisionDTO;
+import com.slsolution.taxiruta.dto.request.BookingRequestDTO;
+import com.slsolution.taxiruta.dto.request.TripRequestDTO;
+import com.slsolution.taxiruta.dto.request.UserRegisterRequestDTO;
+import com.slsolution.taxiruta.model.Booking;
+import com.slsolution.taxiruta.util.Constants;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Drives one booking contention scenario through the public API.
+ * Phases run back to back: sign up drivers and passengers, publish trips, let every passenger
+ * book at once, then let drivers confirm while passengers cancel. Each phase runs on virtual
+ * threads with at most scenario.virtualUsers() requests in flight.
+ */
+public class BookingContentionRun {
+
+    private final Scenario scenario;
+    private final ApiClient client;
+    private final Random random;
+    private final Semaphore inFlight;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    // Final booking status implied by the responses the clients received
+    private final Set<Long> confirmed = ConcurrentHashMap.newKeySet();
+    private final Set<Long> cancelled = ConcurrentHashMap.newKeySet();
+    private final Set<Long> uncertain = ConcurrentHashMap.newKeySet();
+
+    public BookingContentionRun(Scenario scenario, ApiClient client) {
+        this.scenario = scenario;
+        this.client = client;
+        this.random = new Random(scenario.seed());
+        this.inFlight = new Semaphore(scenario.virtualUsers());
+    }
+
+    private record Account(long id, String token) {
+    }
+
+    private record TripRef(long id, Account driver) {
+    }
+
+    private record PlacedBooking(long id, TripRef trip, Account passenger) {
+    }
+
+    public record Outcome(List<Long> tripIds, Map<Long, Booking.Status> expectedStatuses, int bookingsPlaced) {
+    }
+
+    public Outcome run() {
+        List<Account> drivers = register("DRIVER", scenario.drivers());
+        List<Account> passengers = register("PASSENGER", scenario.passengers());
+        List<TripRef> trips = publishTrips(drivers);
+        List<PlacedBooking> bookings = book(passengers, trips);
+        confirmAndCancel(trips, bookings);
+
+        Map<Long, Booking.Status> expected = new HashMap<>();
+        for (PlacedBooking booking : bookings) {
+            if (uncertain.contains(booking.id())) {
+                continue;
+            }
+            if (cancelled.contains(booking.id())) {
+                expected.put(booking.id(), Booking.Status.CANCELLED);
+            } else if (confirmed.contains(booking.id())) {
+                expected.put(booking.id(), Booking.Status.CONFIRMED);
+            } else {
+                expected.put(booking.id(), Booking.Status.PENDING);
+            }
+        }
+        return new Outcome(trips.stream().map(TripRef::id).toList(), expected, bookings.size());
+    }
+
+    private List<Account> register(String role, int count) {
+        List<Callable<Account>> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            UserRegisterRequestDTO request = UserRegisterRequestDTO.builder()
+                    .firstName(role.equals("DRIVER") ? "Conductor" : "Pasajero")
+                    .lastName("Carga " + i)
+                    .email(role.toLowerCase() + "-" + i + "-" + runId + "@loadtest.example.com")
+                    .phone(String.format("300%07d", i))
+                    .password("loadtest-password")
+                    .role(role)
+                    .build();
+            tasks.add(() -> {
+                ApiClient.Response response = client.post("register", "/api/auth/register", null, request);
+                if (!response.isSuccess()) {
+                    return null;
+                }
+                JsonNode data = response.data();
+                return new Account(data.path("user").path("id").asLong(), data.path("token").asText());
+            });
+        }
+        List<Account> accounts = runAll(tasks);
+        if (accounts.isEmpty()) {
+            throw new IllegalStateException("No " + role.toLowerCase() + " could register");
+        }
+        return accounts;
+    }
+
+    private List<TripRef> publishTrips(List<Account> drivers) {
+        List<Callable<TripRef>> tasks = new ArrayList<>();
+        LocalDateTime departure = LocalDateTime.now().plusDays(1);
+        for (Account driver : drivers) {
+            for (int i = 0; i < scenario.tripsPerDriver(); i++) {
+                TripRequestDTO request = new TripRequestDTO("Bogotá", "Tunja " + i, departure.plusHours(i),
+                        scenario.seatsPerTrip(), new BigDecimal("25000"), "Viaje de prueba de carga");
+                tasks.add(() -> {
+                    ApiClient.Response response = client.post("createTrip", "/api/trips", driver.token(), request);
+                    return response.isSuccess() ? new TripRef(response.data().path("id").asLong(), driver) : null;
+                });
+            }
+        }
+        List<TripRef> trips = runAll(tasks);
+        if (trips.isEmpty()) {
+            throw new IllegalStateException("No trip could be published");
+        }
+        return trips;
+    }
+
+    private List<PlacedBooking> book(List<Account> passengers, List<TripRef> trips) {
+        List<Callable<PlacedBooking>> tasks = new ArrayList<>();
+        BookingRequestDTO request = new BookingRequestDTO(scenario.seatsPerBooking());
+        int perPassenger = Math.min(scenario.bookingsPerPassenger(), trips.size());
+        for (Account passenger : passengers) {
+            List<TripRef> choices = new ArrayList<>(trips);
+            Collections.shuffle(choices, random);
+            for (TripRef trip : choices.subList(0, perPassenger)) {
+                tasks.add(() -> {
+                    ApiClient.Response response = client.post("createBooking",
+                            "/api/trips/" + trip.id() + "/bookings", passenger.token(), request);
+                    return response.isSuccess() ? new PlacedBooking(response.data().path("id").asLong(), trip, passenger) : null;
+                });
+            }
+        }
+        Collections.shuffle(tasks, random);
+        return runAll(tasks);
+    }
+
+    private void confirmAndCancel(List<TripRef> trips, List<PlacedBooking> bookings) {
+        List<Callable<Void>> tasks = new ArrayList<>();
+
+        if (scenario.confirmMode() == Scenario.ConfirmMode.SINGLE) {
+            for (PlacedBooking booking : bookings) {
+                tasks.add(() -> {
+                    ApiClient.Response response = client.put("acceptBooking",
+                            "/api/trips/" + booking.trip().id() + "/bookings/" + booking.id() + "/accept",
+                            booking.trip().driver().token(), null);
+                    track(response, booking.id(), confirmed);
+                    return null;
+                });
+            }
+        } else {
+            Map<Long, List<PlacedBooking>> byTrip = new HashMap<>();
+            bookings.forEach(booking -> byTrip.computeIfAbsent(booking.trip().id(), id -> new ArrayList<>()).add(booking));
+            for (TripRef trip : trips) {
+                List<PlacedBooking> tripBookings = byTrip.getOrDefault(trip.id(), List.of());
+                for (int from = 0; from < tripBookings.size(); from += Constants.MAX_BATCH_SIZE) {
+                    List<PlacedBooking> chunk = tripBookings.subList(from,
+                            Math.min(from + Constants.MAX_BATCH_SIZE, tripBookings.size()));
+                    tasks.add(() -> {
+                        decideBatch(trip, chunk);
+                        return null;
+                    });
+                }
+            }
+        }
+
+        for (PlacedBooking booking : bookings) {
+            if (random.nextDouble() < scenario.cancelRatio()) {
+                tasks.add(() -> {
+                    ApiClient.Response response = client.delete("cancelBooking",
+                            "/api/trips/" + booking.trip().id() + "/bookings/" + booking.id(),
+                            booking.passenger().token());
+                    track(response, booking.id(), cancelled);
+                    return null;
+                });
+            }
+        }
+
+        // Interleave confirmations and cancellations so both race on the same trips
+        Collections.shuffle(tasks, random);
+        runAll(tasks);
+    }
+
+    private void decideBatch(TripRef trip, List<PlacedBooking> chunk) {
+        List<BookingDecisionDTO> decisions = chunk.stream()
+                .map(booking -> new BookingDecisionDTO(booking.id(), BookingDecisionDTO.Decision.ACCEPT))
+                .toList();
+        ApiClient.Response response = client.put("decideBookings",
+                "/api/trips/" + trip.id() + "/bookings/decisions", trip.driver().token(),
+                new BookingDecisionBatchRequestDTO(decisions));
+        if (response.status() == 0) {
+            chunk.forEach(booking -> uncertain.add(booking.id()));
+            return;
+        }
+        for (JsonNode result : response.data()) {
+            if (result.path("success").asBoolean()) {
+                confirmed.add(result.path("bookingId").asLong());
+            }
+        }
+    }
+
+    // A response that never arrived leaves the booking in an unknown state, so it is not checked
+    private void track(ApiClient.Response response, long bookingId, Set<Long> succeeded) {
+        if (response.status() == 0) {
+            uncertain.add(bookingId);
+        } else if (response.isSuccess()) {
+            succeeded.add(bookingId);
+        }
+    }
+
+    // Runs every task on its own virtual thread, bounded by the number of virtual users
+    private <T> List<T> runAll(List<Callable<T>> tasks) {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<T>> futures = new ArrayList<>(tasks.size());
+            for (Callable<T> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    inFlight.acquire();
+                    try {
+                        return task.call();
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+            }
+            List<T> results = new ArrayList<>(tasks.size());
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results.stream().filter(Objects::nonNull).toList();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running scenario " + scenario.name(), e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Scenario " + scenario.name() + " failed", e.getCause());
+        }
+    }
+}
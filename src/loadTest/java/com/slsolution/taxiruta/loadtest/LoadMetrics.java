@@ -0,0 +1,106 @@
+package com.slsolution.taxiruta.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and outcomes recorded per operation during a load-test run.
+ * Every sample is kept so percentiles are exact; a run is bounded by its scenario,
+ * so memory stays in the order of a few bytes per request.
+ */
+public class LoadMetrics {
+
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+
+    public void record(String operation, long startNanos, long endNanos, int status, String outcome) {
+        operations.computeIfAbsent(operation, key -> new Operation()).record(startNanos, endNanos, status, outcome);
+    }
+
+    /**
+     * Summary per operation, in the order the operations were first seen.
+     * Throughput is measured over the span between the first request start and the last
+     * response of that operation, so concurrent operations are not diluted by each other.
+     */
+    public Map<String, Summary> summarize() {
+        Map<String, Summary> summaries = new LinkedHashMap<>();
+        operations.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().firstStart.get()))
+                .forEach(entry -> summaries.put(entry.getKey(), entry.getValue().summarize()));
+        return summaries;
+    }
+
+    public long serverErrors() {
+        return operations.values().stream()
+                .flatMap(operation -> operation.outcomes.entrySet().stream())
+                .filter(entry -> entry.getKey().startsWith("5") || entry.getKey().startsWith(ApiClient.IO_ERROR))
+                .mapToLong(entry -> entry.getValue().sum())
+                .sum();
+    }
+
+    public static List<String> format(Map<String, Summary> summaries) {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("%-16s %8s %10s %9s %9s %9s %9s", "operation", "count", "req/s",
+                "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        summaries.forEach((name, summary) -> {
+            lines.add(String.format("%-16s %8d %10.1f %9.2f %9.2f %9.2f %9.2f", name, summary.count(),
+                    summary.throughputPerSecond(), summary.p50Millis(), summary.p95Millis(),
+                    summary.p99Millis(), summary.maxMillis()));
+            summary.outcomes().forEach((outcome, count) ->
+                    lines.add(String.format("    %8d  %s", count, outcome)));
+        });
+        return lines;
+    }
+
+    public record Summary(long count, double throughputPerSecond, double p50Millis, double p95Millis,
+                          double p99Millis, double maxMillis, Map<String, Long> outcomes) {
+    }
+
+    private static final class Operation {
+
+        private final AtomicLong firstStart = new AtomicLong(Long.MAX_VALUE);
+        private final AtomicLong lastEnd = new AtomicLong(Long.MIN_VALUE);
+        private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+        void record(long startNanos, long endNanos, int status, String outcome) {
+            firstStart.accumulateAndGet(startNanos, Math::min);
+            lastEnd.accumulateAndGet(endNanos, Math::max);
+            latencies.add(endNanos - startNanos);
+            String key = status > 0 ? status + " " + outcome : outcome;
+            outcomes.computeIfAbsent(key, k -> new LongAdder()).increment();
+        }
+
+        Summary summarize() {
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            double seconds = (lastEnd.get() - firstStart.get()) / 1_000_000_000.0;
+            Map<String, Long> mix = new TreeMap<>();
+            outcomes.forEach((key, count) -> mix.put(key, count.sum()));
+            return new Summary(sorted.length,
+                    seconds > 0 ? sorted.length / seconds : 0,
+                    percentile(sorted, 0.50),
+                    percentile(sorted, 0.95),
+                    percentile(sorted, 0.99),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1_000_000.0,
+                    mix);
+        }
+
+        // Nearest-rank percentile
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(quantile * sorted.length);
+            return sorted[Math.max(0, rank - 1)] / 1_000_000.0;
+        }
+    }
+}
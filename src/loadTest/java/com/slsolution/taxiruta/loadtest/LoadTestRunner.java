@@ -0,0 +1,128 @@
+package com.slsolution.taxiruta.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.slsolution.taxiruta.TaxiRutaBackendApplication;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entry point of the booking contention load test.
+ * Boots the application on a random port against H2, runs the scenario over HTTP, checks the
+ * seat invariants and writes a JSON report. Several comma-separated scenarios run one after the
+ * other, each in a fresh application, and end with a side-by-side comparison of throughput and
+ * p99. Exits with 1 when a seat invariant is violated or the server answered with a 5xx, so the
+ * Gradle task can gate a build.
+ *
+ * Run with: ./gradlew loadTest -Pscenario=peak-hour
+ * Compare threading modes with: ./gradlew loadTest -Pscenario=threads-platform,threads-virtual
+ */
+public class LoadTestRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    private record Result(Scenario scenario, Map<String, LoadMetrics.Summary> summaries, boolean passed) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String[] scenarioNames = (args.length > 0 ? args[0] : "smoke").split(",");
+        Path reportDir = Path.of(args.length > 1 ? args[1] : "build/reports/loadtest");
+
+        List<Result> results = new ArrayList<>();
+        for (String scenarioName : scenarioNames) {
+            Scenario scenario = Scenario.load(scenarioName.trim());
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(TaxiRutaBackendApplication.class)
+                    .profiles("loadtest")
+                    .run(applicationArguments(scenario));
+            try {
+                results.add(run(scenario, context, reportDir));
+            } finally {
+                context.close();
+            }
+        }
+        if (results.size() > 1) {
+            printComparison(results);
+        }
+        System.exit(results.stream().allMatch(Result::passed) ? 0 : 1);
+    }
+
+    // Command-line arguments take precedence over application-loadtest.properties
+    private static String[] applicationArguments(Scenario scenario) {
+        return scenario.applicationProperties().entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+    }
+
+    private static Result run(Scenario scenario, ConfigurableApplicationContext context, Path reportDir) throws Exception {
+        String port = context.getEnvironment().getProperty("local.server.port");
+        LoadMetrics metrics = new LoadMetrics();
+        ApiClient client = new ApiClient("http://localhost:" + port, metrics);
+
+        log.info("Running scenario {}: {}", scenario.name(), scenario);
+        long start = System.nanoTime();
+        BookingContentionRun.Outcome outcome = new BookingContentionRun(scenario, client).run();
+        double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        List<String> violations = new SeatInvariantChecker(context).check(outcome.tripIds(), outcome.expectedStatuses());
+        Map<String, LoadMetrics.Summary> summaries = metrics.summarize();
+        long serverErrors = metrics.serverErrors();
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%nScenario %s: %d trips, %d bookings placed, %.1f s%n",
+                scenario.name(), outcome.tripIds().size(), outcome.bookingsPlaced(), elapsedSeconds));
+        LoadMetrics.format(summaries).forEach(line -> report.append(line).append(System.lineSeparator()));
+        report.append(String.format("Seat invariant violations: %d%n", violations.size()));
+        violations.forEach(violation -> report.append("    ").append(violation).append(System.lineSeparator()));
+        System.out.print(report);
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("scenario", scenario);
+        json.put("elapsedSeconds", elapsedSeconds);
+        json.put("trips", outcome.tripIds().size());
+        json.put("bookingsPlaced", outcome.bookingsPlaced());
+        json.put("operations", summaries);
+        json.put("serverErrors", serverErrors);
+        json.put("invariantViolations", violations);
+        Files.createDirectories(reportDir);
+        Path reportFile = reportDir.resolve(scenario.name() + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportFile.toFile(), json);
+        log.info("Report written to {}", reportFile.toAbsolutePath());
+
+        return new Result(scenario, summaries, violations.isEmpty() && serverErrors == 0);
+    }
+
+    private static void printComparison(List<Result> results) {
+        StringBuilder comparison = new StringBuilder(String.format("%nComparison%n%-16s", "operation"));
+        for (Result result : results) {
+            comparison.append(String.format(" %22s", result.scenario().name()));
+        }
+        comparison.append(String.format("%n%-16s", ""));
+        for (int i = 0; i < results.size(); i++) {
+            comparison.append(String.format(" %10s %11s", "req/s", "p99 ms"));
+        }
+        comparison.append(System.lineSeparator());
+
+        for (String operation : results.get(0).summaries().keySet()) {
+            comparison.append(String.format("%-16s", operation));
+            for (Result result : results) {
+                LoadMetrics.Summary summary = result.summaries().get(operation);
+                if (summary == null) {
+                    comparison.append(String.format(" %10s %11s", "-", "-"));
+                } else {
+                    comparison.append(String.format(" %10.1f %11.2f", summary.throughputPerSecond(), summary.p99Millis()));
+                }
+            }
+            comparison.append(System.lineSeparator());
+        }
+        System.out.print(comparison);
+    }
+}
@@ -0,0 +1,111 @@
+package com.slsolution.taxiruta.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Load-test scenario read from a .properties file.
+ * A scenario is a population of drivers and passengers, a set of trips, and how hard the
+ * passengers compete for their seats while the drivers confirm and passengers cancel.
+ * Names without a path resolve to the bundled files under src/loadTest/resources/scenarios.
+ * Keys prefixed with app. are passed to the application, e.g. app.spring.threads.virtual.enabled=true
+ * or app.spring.datasource.url to run against a real database.
+ */
+public record Scenario(
+        String name,
+        int drivers,
+        int tripsPerDriver,
+        int seatsPerTrip,
+        int passengers,
+        int bookingsPerPassenger,
+        int seatsPerBooking,
+        int virtualUsers,
+        ConfirmMode confirmMode,
+        double cancelRatio,
+        long seed,
+        Map<String, String> applicationProperties) {
+
+    private static final String APPLICATION_PREFIX = "app.";
+
+    public enum ConfirmMode {
+        // One accept call per booking
+        SINGLE,
+        // One decisions call per trip with every pending booking in it
+        BATCH
+    }
+
+    public int trips() {
+        return drivers * tripsPerDriver;
+    }
+
+    public static Scenario load(String nameOrPath) throws IOException {
+        Properties properties = new Properties();
+        Path path = Path.of(nameOrPath);
+        if (Files.isRegularFile(path)) {
+            try (Reader reader = Files.newBufferedReader(path)) {
+                properties.load(reader);
+            }
+        } else {
+            String resource = "/scenarios/" + nameOrPath + (nameOrPath.endsWith(".properties") ? "" : ".properties");
+            try (InputStream in = Scenario.class.getResourceAsStream(resource)) {
+                if (in == null) {
+                    throw new IllegalArgumentException("Unknown scenario: " + nameOrPath);
+                }
+                properties.load(in);
+            }
+        }
+
+        Scenario scenario = new Scenario(
+                properties.getProperty("name", nameOrPath),
+                intProperty(properties, "drivers", 2),
+                intProperty(properties, "trips-per-driver", 1),
+                intProperty(properties, "seats-per-trip", 4),
+                intProperty(properties, "passengers", 50),
+                intProperty(properties, "bookings-per-passenger", 1),
+                intProperty(properties, "seats-per-booking", 1),
+                intProperty(properties, "virtual-users", 32),
+                ConfirmMode.valueOf(properties.getProperty("confirm-mode", "single").trim().toUpperCase(Locale.ROOT)),
+                Double.parseDouble(properties.getProperty("cancel-ratio", "0").trim()),
+                Long.parseLong(properties.getProperty("seed", "42").trim()),
+                applicationProperties(properties));
+        scenario.validate();
+        return scenario;
+    }
+
+    private void validate() {
+        if (drivers < 1 || tripsPerDriver < 1 || seatsPerTrip < 1 || passengers < 1
+                || seatsPerBooking < 1 || virtualUsers < 1) {
+            throw new IllegalArgumentException("Scenario " + name + ": counts must be positive");
+        }
+        if (bookingsPerPassenger < 1 || bookingsPerPassenger > trips()) {
+            // A passenger can hold only one booking per trip
+            throw new IllegalArgumentException("Scenario " + name + ": bookings-per-passenger must be between 1 and "
+                    + trips());
+        }
+        if (cancelRatio < 0 || cancelRatio > 1) {
+            throw new IllegalArgumentException("Scenario " + name + ": cancel-ratio must be between 0 and 1");
+        }
+    }
+
+    private static Map<String, String> applicationProperties(Properties properties) {
+        Map<String, String> applicationProperties = new TreeMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(APPLICATION_PREFIX)) {
+                applicationProperties.put(key.substring(APPLICATION_PREFIX.length()), properties.getProperty(key).trim());
+            }
+        }
+        return applicationProperties;
+    }
+
+    private static int intProperty(Properties properties, String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null ? defaultValue : Integer.parseInt(value.trim());
+    }
+}
@@ -0,0 +1,68 @@
+package com.slsolution.taxiruta.loadtest;
+
+import com.slsolution.taxiruta.model.Booking;
+import com.slsolution.taxiruta.model.Trip;
+import com.slsolution.taxiruta.repository.BookingRepository;
+import com.slsolution.taxiruta.repository.TripRepository;
+import org.springframework.context.ApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks the seat accounting of every trip once the load has stopped.
+ * Reads straight from the repositories of the booted application, so a counter drifted
+ * by a lost update or a double release shows up even when every HTTP call looked fine.
+ */
+public class SeatInvariantChecker {
+
+    private final TripRepository tripRepository;
+    private final BookingRepository bookingRepository;
+
+    public SeatInvariantChecker(ApplicationContext context) {
+        this.tripRepository = context.getBean(TripRepository.class);
+        this.bookingRepository = context.getBean(BookingRepository.class);
+    }
+
+    /**
+     * @param expectedStatuses final status of each booking as seen by the clients that changed it
+     * @return one line per violation, empty when the seat accounting is consistent
+     */
+    public List<String> check(List<Long> tripIds, Map<Long, Booking.Status> expectedStatuses) {
+        List<String> violations = new ArrayList<>();
+        for (Long tripId : tripIds) {
+            Trip trip = tripRepository.findById(tripId).orElse(null);
+            if (trip == null) {
+                violations.add("trip " + tripId + ": missing");
+                continue;
+            }
+
+            List<Booking> bookings = bookingRepository.findByTripId(tripId);
+            int confirmedInBookings = bookings.stream()
+                    .filter(Booking::isConfirmed)
+                    .mapToInt(Booking::getSeatsRequested)
+                    .sum();
+            if (trip.getConfirmedSeats() != confirmedInBookings) {
+                violations.add(String.format("trip %d: confirmedSeats=%d but confirmed bookings hold %d seats",
+                        tripId, trip.getConfirmedSeats(), confirmedInBookings));
+            }
+            if (trip.getHeldSeats() < 0) {
+                violations.add(String.format("trip %d: heldSeats=%d is negative", tripId, trip.getHeldSeats()));
+            }
+            if (trip.getRemainingSeats() < 0) {
+                violations.add(String.format("trip %d: oversold, %d confirmed and %d held of %d seats",
+                        tripId, trip.getConfirmedSeats(), trip.getHeldSeats(), trip.getAvailableSeats()));
+            }
+
+            for (Booking booking : bookings) {
+                Booking.Status expected = expectedStatuses.get(booking.getId());
+                if (expected != null && expected != booking.getStatus()) {
+                    violations.add(String.format("booking %d on trip %d: clients saw %s but it is %s",
+                            booking.getId(), tripId, expected, booking.getStatus()));
+                }
+            }
+        }
+        return violations;
+    }
+}
@@ -0,0 +1,45 @@
+package com.slsolution.taxiruta.config;
+
+import com.slsolution.taxiruta.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Asigna el rol ADMIN al arrancar a los usuarios registrados con los correos de auth.admin-emails
+ * El rol no se puede elegir al registrarse; los tokens emitidos antes conservan el rol anterior
+ * hasta que el usuario vuelve a iniciar sesión
+ */
+@Component
+public class AdminAccountsInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(AdminAccountsInitializer.class);
+
+    @Autowired
+    private UserService userService;
+
+    @Value("${auth.admin-emails:}")
+    private String adminEmails;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void grantAdminRoles() {
+        List<String> emails = Arrays.stream(adminEmails.split(","))
+                .map(String::trim)
+                .filter(email -> !email.isEmpty())
+                .toList();
+        if (emails.isEmpty()) {
+            return;
+        }
+        int granted = userService.grantAdminRole(emails);
+        if (granted > 0) {
+            log.info("Granted the ADMIN role to {} users", granted);
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package com.slsolution.taxiruta.config;
 
+import com.slsolution.taxiruta.model.User;
+import com.slsolution.taxiruta.service.TokenRevocationService;
 import com.slsolution.taxiruta.service.UserService;
+import com.slsolution.taxiruta.service.UserStatusService;
 import com.slsolution.taxiruta.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,7 +13,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -30,8 +33,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private UserStatusService userStatusService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     private static final String BEARER_PREFIX = "Bearer ";
     private static final String AUTHORIZATION_HEADER = "Authorization";
+    // Browsers cannot set headers on a WebSocket handshake, so it may carry the token as a query parameter
+    private static final String WEBSOCKET_PATH_PREFIX = "/ws/";
+    public static final String ACCESS_TOKEN_PARAMETER = "access_token";
 
     @Override
     protected void doFilterInternal(
@@ -40,16 +52,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             FilterChain filterChain) throws ServletException, IOException {
 
         try {
-            String authHeader = request.getHeader(AUTHORIZATION_HEADER);
+            String token = resolveToken(request);
             
-            if (authHeader != null && authHeader.startsWith(BEARER_PREFIX)) {
-                String token = authHeader.substring(BEARER_PREFIX.length());
-                String username = jwtUtil.extractUsername(token);
+            if (token != null) {
+                // Signature and expiry are verified once here; the claims are reused below
+                Claims claims = jwtUtil.verifyToken(token);
+                String username = claims.getSubject();
 
-                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = userService.loadUserByUsername(username);
+                // Revocation is checked in memory; a token that was never revoked costs one Bloom filter miss
+                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null
+                        && !tokenRevocationService.isRevoked(claims)) {
+                    // The principal comes from the token claims; only tokens issued before
+                    // those claims existed fall back to loading the user
+                    User userDetails = jwtUtil.buildPrincipal(claims);
+                    if (userDetails == null) {
+                        userDetails = (User) userService.loadUserByUsername(username);
+                    }
 
-                    if (jwtUtil.validateToken(token, userDetails)) {
+                    // Active flag from the short-lived status cache bounds how long a deactivated user keeps access
+                    if (userDetails.isEnabled() && userStatusService.isActive(userDetails.getId())) {
                         UsernamePasswordAuthenticationToken authToken = 
                             new UsernamePasswordAuthenticationToken(
                                 userDetails,
@@ -69,6 +90,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    public static String resolveToken(HttpServletRequest request) {
+        String authHeader = request.getHeader(AUTHORIZATION_HEADER);
+        if (authHeader != null && authHeader.startsWith(BEARER_PREFIX)) {
+            return authHeader.substring(BEARER_PREFIX.length());
+        }
+        if (request.getRequestURI().startsWith(WEBSOCKET_PATH_PREFIX)) {
+            return request.getParameter(ACCESS_TOKEN_PARAMETER);
+        }
+        return null;
+    }
+
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
         String path = request.getRequestURI();
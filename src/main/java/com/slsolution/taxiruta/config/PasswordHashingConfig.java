@@ -0,0 +1,96 @@
+package com.slsolution.taxiruta.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Configuración del hash de contraseñas
+ * BCrypt corre en un pool dedicado con cola acotada y su costo se calibra al arrancar
+ * para acercarse a la latencia objetivo en el hardware donde corre la aplicación
+ */
+@Configuration
+public class PasswordHashingConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashingConfig.class);
+
+    private static final int CALIBRATION_ROUNDS = 3;
+
+    @Value("${auth.hashing.threads:0}")
+    private int threads;
+
+    @Value("${auth.hashing.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${auth.hashing.timeout-ms:5000}")
+    private long timeoutMillis;
+
+    @Value("${auth.bcrypt.strength:0}")
+    private int strength;
+
+    @Value("${auth.bcrypt.target-ms:250}")
+    private long targetMillis;
+
+    @Value("${auth.bcrypt.min-strength:10}")
+    private int minStrength;
+
+    @Value("${auth.bcrypt.max-strength:14}")
+    private int maxStrength;
+
+    /**
+     * Codificador BCrypt con el costo configurado o calibrado, ejecutado en un pool exclusivo
+     * El pool no se publica como bean: un Executor en el contexto reemplazaría al executor de tareas de Spring
+     */
+    @Bean(destroyMethod = "shutdown")
+    public BoundedPasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        int cost = strength > 0 ? strength : calibrateStrength();
+        log.info("Using BCrypt strength {}", cost);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(cost), hashingExecutor(),
+                Duration.ofMillis(timeoutMillis), meterRegistry);
+    }
+
+    // Fixed-size pool whose bounded queue rejects work instead of letting it pile up
+    private ThreadPoolExecutor hashingExecutor() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // Highest strength whose hash time stays within the target; each strength step doubles
+    // the work, so one measurement at the minimum strength is enough to extrapolate
+    private int calibrateStrength() {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(minStrength);
+        encoder.encode("calibration");
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+            long start = System.nanoTime();
+            encoder.encode("calibration");
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        double measuredMillis = Math.max(best / 1_000_000.0, 0.001);
+        int extraSteps = (int) Math.floor(Math.log(targetMillis / measuredMillis) / Math.log(2));
+        int calibrated = Math.max(minStrength, Math.min(maxStrength, minStrength + extraSteps));
+        log.info("BCrypt strength {} took {} ms; calibrated strength for a {} ms target is {}",
+                minStrength, String.format("%.1f", measuredMillis), targetMillis, calibrated);
+        return calibrated;
+    }
+}
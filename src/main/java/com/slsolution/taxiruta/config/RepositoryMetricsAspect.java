@@ -0,0 +1,70 @@
+package com.slsolution.taxiruta.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Aspecto que mide el tiempo de cada llamada a los repositorios
+ * Publica el timer taxiruta.repository con el repositorio, el método y el resultado como tags
+ * Los métodos que devuelven Stream solo miden la apertura de la consulta, no su consumo
+ */
+@Aspect
+@Component
+public class RepositoryMetricsAspect {
+
+    private static final String REPOSITORY_PACKAGE = "com.slsolution.taxiruta.repository";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // One timer per repository proxy, method and outcome, built on first use; the hot path is a map lookup
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    @Around("execution(public * org.springframework.data.repository.Repository+.*(..))")
+    public Object timeRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        boolean success = false;
+        try {
+            Object result = joinPoint.proceed();
+            success = true;
+            return result;
+        } finally {
+            Object proxy = joinPoint.getThis();
+            TimerKey key = new TimerKey(proxy != null ? proxy.getClass() : null,
+                    joinPoint.getSignature().getName(), success);
+            sample.stop(timers.computeIfAbsent(key, this::newTimer));
+        }
+    }
+
+    private Timer newTimer(TimerKey key) {
+        return Timer.builder("taxiruta.repository")
+                .description("Time spent in repository calls")
+                .tag("repository", repositoryName(key.proxyClass()))
+                .tag("method", key.method())
+                .tag("outcome", key.success() ? "success" : "error")
+                .register(meterRegistry);
+    }
+
+    private String repositoryName(Class<?> proxyClass) {
+        if (proxyClass == null) {
+            return "unknown";
+        }
+        for (Class<?> candidate : proxyClass.getInterfaces()) {
+            if (candidate.getPackageName().equals(REPOSITORY_PACKAGE)) {
+                return candidate.getSimpleName();
+            }
+        }
+        return proxyClass.getSimpleName();
+    }
+
+    private record TimerKey(Class<?> proxyClass, String method, boolean success) {
+    }
+}
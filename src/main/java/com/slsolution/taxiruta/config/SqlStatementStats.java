@@ -0,0 +1,75 @@
+package com.slsolution.taxiruta.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sentencias SQL ejecutadas por el hilo que atiende una petición
+ * SqlStatementStatsFilter abre las estadísticas al recibir la petición y el listener del
+ * DataSource registra en ellas cada ejecución; fuera de una petición no se registra nada
+ */
+public class SqlStatementStats {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    // Only touched by the thread that owns the request, so no synchronization is needed
+    private int statementCount;
+    private long elapsedNanos;
+    private long startedAt;
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+
+    /**
+     * Empieza a contar las sentencias del hilo actual
+     */
+    public static SqlStatementStats begin() {
+        SqlStatementStats stats = new SqlStatementStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Estadísticas del hilo actual, o null si no se está contando
+     */
+    public static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Deja de contar las sentencias del hilo actual
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    void statementStarted() {
+        startedAt = System.nanoTime();
+    }
+
+    void statementFinished(String sql) {
+        statementCount++;
+        elapsedNanos += System.nanoTime() - startedAt;
+        executionsBySql.merge(sql, 1, Integer::sum);
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getElapsedMillis() {
+        return elapsedNanos / 1_000_000.0;
+    }
+
+    /**
+     * Sentencia ejecutada más veces, o null si no hubo ninguna
+     * Una misma sentencia repetida muchas veces en una petición suele ser una carga N+1
+     */
+    public Map.Entry<String, Integer> getMostRepeated() {
+        return executionsBySql.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .orElse(null);
+    }
+}
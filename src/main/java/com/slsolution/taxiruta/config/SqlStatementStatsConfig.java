@@ -0,0 +1,61 @@
+package com.slsolution.taxiruta.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Configuración del conteo de sentencias SQL por petición
+ * Envuelve el DataSource con datasource-proxy para que toda sentencia, venga de Hibernate,
+ * de JdbcTemplate o de una consulta nativa, quede registrada en SqlStatementStats
+ */
+@Configuration
+public class SqlStatementStatsConfig {
+
+    /**
+     * Static so the post-processor is registered before the DataSource bean is created
+     */
+    @Bean
+    public static BeanPostProcessor sqlStatementDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new StatementListener())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    // A batch counts as one statement: it is one round trip to the database
+    private static class StatementListener implements QueryExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            SqlStatementStats stats = SqlStatementStats.current();
+            if (stats != null) {
+                stats.statementStarted();
+            }
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            SqlStatementStats stats = SqlStatementStats.current();
+            if (stats != null) {
+                stats.statementFinished(queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery());
+            }
+        }
+    }
+}
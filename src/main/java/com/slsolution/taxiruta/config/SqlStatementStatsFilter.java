@@ -0,0 +1,188 @@
+package com.slsolution.taxiruta.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtro que cuenta y cronometra las sentencias SQL de cada petición
+ * Publica las métricas taxiruta.http.sql.statements y taxiruta.http.sql.time por endpoint,
+ * avisa en el log cuando una petición supera el umbral o repite una misma sentencia (N+1)
+ * y, si está habilitado, devuelve el conteo en cabeceras de depuración
+ * Va antes de la cadena de seguridad para incluir las consultas de autenticación
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class SqlStatementStatsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENT_COUNT_HEADER = "X-SQL-Statement-Count";
+    public static final String STATEMENT_TIME_HEADER = "X-SQL-Statement-Time-Ms";
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementStatsFilter.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${sql.stats.response-header:false}")
+    private boolean responseHeader;
+
+    @Value("${sql.stats.warn-threshold:20}")
+    private int warnThreshold;
+
+    @Value("${sql.stats.repeat-threshold:5}")
+    private int repeatThreshold;
+
+    // Meters per endpoint, built on its first request; the N+1 counter only once an endpoint trips it
+    private final Map<Endpoint, EndpointMeters> endpointMeters = new ConcurrentHashMap<>();
+    private final Map<Endpoint, Counter> repeatedCounters = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        SqlStatementStats stats = SqlStatementStats.begin();
+        StatsHeaderResponse headerResponse = responseHeader ? new StatsHeaderResponse(response, stats) : null;
+        try {
+            filterChain.doFilter(request, headerResponse != null ? headerResponse : response);
+        } finally {
+            SqlStatementStats.end();
+            if (headerResponse != null) {
+                // Responses without a body never opened the output stream
+                headerResponse.writeStatsHeaders();
+            }
+            report(request, stats);
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlStatementStats stats) {
+        String method = request.getMethod();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        Endpoint endpoint = new Endpoint(method, uri);
+
+        EndpointMeters meters = endpointMeters.computeIfAbsent(endpoint, this::newEndpointMeters);
+        meters.statements().record(stats.getStatementCount());
+        meters.time().record(stats.getElapsedNanos(), TimeUnit.NANOSECONDS);
+
+        if (stats.getStatementCount() > warnThreshold) {
+            log.warn("{} {} executed {} SQL statements in {} ms", method, uri, stats.getStatementCount(),
+                    String.format(Locale.ROOT, "%.1f", stats.getElapsedMillis()));
+        }
+
+        Map.Entry<String, Integer> mostRepeated = stats.getMostRepeated();
+        if (mostRepeated != null && mostRepeated.getValue() >= repeatThreshold) {
+            repeatedCounters.computeIfAbsent(endpoint, key -> Counter.builder("taxiruta.http.sql.repeated")
+                    .description("Requests that ran the same SQL statement repeatedly, a likely N+1 load")
+                    .tag("method", key.method())
+                    .tag("uri", key.uri())
+                    .register(meterRegistry))
+                    .increment();
+            log.warn("Possible N+1 in {} {}: statement ran {} times: {}", method, uri,
+                    mostRepeated.getValue(), mostRepeated.getKey());
+        }
+    }
+
+    private EndpointMeters newEndpointMeters(Endpoint endpoint) {
+        return new EndpointMeters(
+                DistributionSummary.builder("taxiruta.http.sql.statements")
+                        .description("SQL statements executed per request")
+                        .tag("method", endpoint.method())
+                        .tag("uri", endpoint.uri())
+                        .register(meterRegistry),
+                Timer.builder("taxiruta.http.sql.time")
+                        .description("Time spent executing SQL statements per request")
+                        .tag("method", endpoint.method())
+                        .tag("uri", endpoint.uri())
+                        .register(meterRegistry));
+    }
+
+    // The uri is the matched route pattern, never the raw path, so the number of keys stays bounded
+    private record Endpoint(String method, String uri) {
+    }
+
+    private record EndpointMeters(DistributionSummary statements, Timer time) {
+    }
+
+    // Adds the debug headers just before the response is committed, without buffering the body
+    private static class StatsHeaderResponse extends HttpServletResponseWrapper {
+
+        private final SqlStatementStats stats;
+        private boolean headersWritten;
+
+        StatsHeaderResponse(HttpServletResponse response, SqlStatementStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        void writeStatsHeaders() {
+            if (headersWritten || isCommitted()) {
+                return;
+            }
+            headersWritten = true;
+            setHeader(STATEMENT_COUNT_HEADER, Integer.toString(stats.getStatementCount()));
+            setHeader(STATEMENT_TIME_HEADER, String.format(Locale.ROOT, "%.3f", stats.getElapsedMillis()));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeStatsHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeStatsHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeStatsHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeStatsHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeStatsHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeStatsHeaders();
+            super.sendRedirect(location);
+        }
+    }
+}
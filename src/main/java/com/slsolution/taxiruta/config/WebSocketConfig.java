@@ -0,0 +1,86 @@
+package com.slsolution.taxiruta.config;
+
+import com.slsolution.taxiruta.controller.DriverBookingSocketHandler;
+import com.slsolution.taxiruta.model.User;
+import com.slsolution.taxiruta.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.util.Map;
+
+/**
+ * Configuración de WebSocket
+ * El handshake pasa por la cadena de seguridad: el token JWT (header Authorization o parámetro
+ * access_token) se valida igual que en cualquier otra petición y solo los conductores se conectan
+ */
+@Configuration
+@EnableWebSocket
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    public static final String DRIVER_BOOKINGS_PATH = "/ws/driver/bookings";
+    public static final String TOKEN_EXPIRATION_ATTRIBUTE = "tokenExpiration";
+    public static final String TOKEN_ID_ATTRIBUTE = "tokenId";
+    public static final String TOKEN_ISSUED_AT_ATTRIBUTE = "tokenIssuedAt";
+    public static final String TOKEN_USER_ID_ATTRIBUTE = "tokenUserId";
+
+    @Autowired
+    private DriverBookingSocketHandler driverBookingSocketHandler;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(driverBookingSocketHandler, DRIVER_BOOKINGS_PATH)
+                .addInterceptors(new TokenAttributesInterceptor())
+                .setAllowedOrigins("http://localhost:3000", "http://localhost:8080");
+    }
+
+    /**
+     * Guarda en la sesión la expiración, el id (jti), la emisión y el usuario del token, para cerrar
+     * la conexión cuando el token expira o se revoca
+     */
+    private class TokenAttributesInterceptor implements HandshakeInterceptor {
+
+        @Override
+        public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                       WebSocketHandler wsHandler, Map<String, Object> attributes) {
+            if (request instanceof ServletServerHttpRequest servletRequest) {
+                HttpServletRequest httpRequest = servletRequest.getServletRequest();
+                String token = JwtAuthenticationFilter.resolveToken(httpRequest);
+                if (token != null) {
+                    // El filtro JWT ya verificó el token, así que las claims salen de su caché
+                    Claims claims = jwtUtil.verifyToken(token);
+                    attributes.put(TOKEN_EXPIRATION_ATTRIBUTE, claims.getExpiration().toInstant());
+                    if (claims.getId() != null) {
+                        attributes.put(TOKEN_ID_ATTRIBUTE, claims.getId());
+                    }
+                    if (claims.getIssuedAt() != null) {
+                        attributes.put(TOKEN_ISSUED_AT_ATTRIBUTE, claims.getIssuedAt());
+                    }
+                    if (request.getPrincipal() instanceof Authentication authentication
+                            && authentication.getPrincipal() instanceof User user) {
+                        attributes.put(TOKEN_USER_ID_ATTRIBUTE, user.getId());
+                    }
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Exception exception) {
+        }
+    }
+}
@@ -55,6 +55,11 @@ public class AuthController {
             responseCode = "409", 
             description = "El usuario ya existe",
             content = @Content(mediaType = "application/json")
+        ),
+        @ApiResponse(
+            responseCode = "503", 
+            description = "Servicio saturado, reintentar en breve",
+            content = @Content(mediaType = "application/json")
         )
     })
     @PostMapping("/register")
@@ -93,6 +98,11 @@ public class AuthController {
             responseCode = "401", 
             description = "Credenciales incorrectas",
             content = @Content(mediaType = "application/json")
+        ),
+        @ApiResponse(
+            responseCode = "503", 
+            description = "Servicio saturado, reintentar en breve",
+            content = @Content(mediaType = "application/json")
         )
     })
     @PostMapping("/login")
@@ -105,4 +115,33 @@ public class AuthController {
         
         return ResponseEntity.ok(apiResponse);
     }
+
+    /**
+     * Cierra la sesión revocando el token JWT enviado
+     */
+    @Operation(
+        summary = "Cerrar sesión", 
+        description = "Revoca el token JWT del encabezado Authorization; deja de ser aceptado aunque no haya expirado"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Sesión cerrada exitosamente",
+            content = @Content(mediaType = "application/json")
+        ),
+        @ApiResponse(
+            responseCode = "401", 
+            description = "Token inválido o expirado",
+            content = @Content(mediaType = "application/json")
+        )
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponseDTO<String>> logout(
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader) {
+        
+        authService.logout(authorizationHeader);
+        ApiResponseDTO<String> apiResponse = ApiResponseDTO.success(Constants.SUCCESS_LOGOUT, null);
+        
+        return ResponseEntity.ok(apiResponse);
+    }
 }
\ No newline at end of file
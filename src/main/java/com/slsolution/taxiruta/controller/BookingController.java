@@ -1,9 +1,13 @@
 package com.slsolution.taxiruta.controller;
 
+import com.slsolution.taxiruta.dto.request.BookingDecisionBatchRequestDTO;
 import com.slsolution.taxiruta.dto.request.BookingRequestDTO;
 import com.slsolution.taxiruta.dto.response.ApiResponseDTO;
+import com.slsolution.taxiruta.dto.response.CursorPageResponseDTO;
+import com.slsolution.taxiruta.dto.response.BookingDecisionResultDTO;
 import com.slsolution.taxiruta.dto.response.BookingResponseDTO;
 import com.slsolution.taxiruta.model.User;
+import com.slsolution.taxiruta.service.BookingIntakeQueue;
 import com.slsolution.taxiruta.service.BookingService;
 import com.slsolution.taxiruta.util.Constants;
 import jakarta.validation.Valid;
@@ -27,6 +31,9 @@ public class BookingController {
     @Autowired
     private BookingService bookingService;
 
+    @Autowired
+    private BookingIntakeQueue bookingIntakeQueue;
+
     /**
      * Crear una reserva para un viaje específico
      */
@@ -37,7 +44,7 @@ public class BookingController {
             @Valid @RequestBody BookingRequestDTO request,
             @AuthenticationPrincipal User currentUser) {
         
-        BookingResponseDTO booking = bookingService.createBooking(tripId, request, currentUser);
+        BookingResponseDTO booking = bookingIntakeQueue.createBooking(tripId, request, currentUser);
         ApiResponseDTO<BookingResponseDTO> response = ApiResponseDTO.success(
                 Constants.SUCCESS_BOOKING_CREATED, booking);
         
@@ -79,26 +86,49 @@ public class BookingController {
     }
 
     /**
-     * Listar reservas de un viaje (solo conductores)
+     * Aceptar o rechazar varias reservas de un viaje en una sola operación (solo conductores).
+     * Responde 409 si otra petición cambió alguna de las reservas mientras tanto; el lote se puede reintentar.
+     */
+    @PutMapping("/trips/{tripId}/bookings/decisions")
+    @PreAuthorize("hasRole('DRIVER')")
+    public ResponseEntity<ApiResponseDTO<List<BookingDecisionResultDTO>>> decideBookings(
+            @PathVariable Long tripId,
+            @Valid @RequestBody BookingDecisionBatchRequestDTO request,
+            @AuthenticationPrincipal User currentUser) {
+        
+        List<BookingDecisionResultDTO> results = bookingService.decideBookings(
+                tripId, request.getDecisions(), currentUser);
+        ApiResponseDTO<List<BookingDecisionResultDTO>> response = ApiResponseDTO.success(
+                Constants.SUCCESS_BOOKING_DECISIONS_PROCESSED, results);
+        
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Listar reservas de un viaje (solo conductores), paginadas por cursor
      */
     @GetMapping("/trips/{tripId}/bookings")
     @PreAuthorize("hasRole('DRIVER')")
-    public ResponseEntity<ApiResponseDTO<List<BookingResponseDTO>>> getTripBookings(
-            @PathVariable Long tripId) {
+    public ResponseEntity<ApiResponseDTO<CursorPageResponseDTO<BookingResponseDTO>>> getTripBookings(
+            @PathVariable Long tripId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         
-        List<BookingResponseDTO> bookings = bookingService.getBookingsByTrip(tripId);
-        ApiResponseDTO<List<BookingResponseDTO>> response = ApiResponseDTO.success(
+        CursorPageResponseDTO<BookingResponseDTO> bookings = bookingService.getBookingsByTrip(tripId, cursor, size);
+        ApiResponseDTO<CursorPageResponseDTO<BookingResponseDTO>> response = ApiResponseDTO.success(
                 "Trip bookings retrieved successfully", bookings);
         
         return ResponseEntity.ok(response);
     }
 
     /**
-     * Listar reservas de un pasajero
+     * Listar reservas de un pasajero, paginadas por cursor
      */
     @GetMapping("/users/{userId}/bookings")
-    public ResponseEntity<ApiResponseDTO<List<BookingResponseDTO>>> getUserBookings(
+    public ResponseEntity<ApiResponseDTO<CursorPageResponseDTO<BookingResponseDTO>>> getUserBookings(
             @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
             @AuthenticationPrincipal User currentUser) {
         
         // Solo el mismo usuario puede ver sus reservas
@@ -106,8 +136,8 @@ public class BookingController {
             throw new RuntimeException("Unauthorized access to user bookings");
         }
         
-        List<BookingResponseDTO> bookings = bookingService.getBookingsByPassenger(userId);
-        ApiResponseDTO<List<BookingResponseDTO>> response = ApiResponseDTO.success(
+        CursorPageResponseDTO<BookingResponseDTO> bookings = bookingService.getBookingsByPassenger(userId, cursor, size);
+        ApiResponseDTO<CursorPageResponseDTO<BookingResponseDTO>> response = ApiResponseDTO.success(
                 "User bookings retrieved successfully", bookings);
         
         return ResponseEntity.ok(response);
@@ -130,14 +160,16 @@ public class BookingController {
     }
 
     /**
-     * Obtener mis reservas
+     * Obtener mis reservas, paginadas por cursor
      */
     @GetMapping("/my-bookings")
-    public ResponseEntity<ApiResponseDTO<List<BookingResponseDTO>>> getMyBookings(
+    public ResponseEntity<ApiResponseDTO<CursorPageResponseDTO<BookingResponseDTO>>> getMyBookings(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
             @AuthenticationPrincipal User currentUser) {
         
-        List<BookingResponseDTO> bookings = bookingService.getBookingsByPassenger(currentUser.getId());
-        ApiResponseDTO<List<BookingResponseDTO>> response = ApiResponseDTO.success(
+        CursorPageResponseDTO<BookingResponseDTO> bookings = bookingService.getBookingsByPassenger(currentUser.getId(), cursor, size);
+        ApiResponseDTO<CursorPageResponseDTO<BookingResponseDTO>> response = ApiResponseDTO.success(
                 "User bookings retrieved successfully", bookings);
         
         return ResponseEntity.ok(response);
@@ -0,0 +1,139 @@
+package com.slsolution.taxiruta.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.slsolution.taxiruta.dto.request.DriverSocketCommandDTO;
+import com.slsolution.taxiruta.dto.response.DriverSocketMessageDTO;
+import com.slsolution.taxiruta.exception.BadRequestException;
+import com.slsolution.taxiruta.exception.ResourceNotFoundException;
+import com.slsolution.taxiruta.exception.UnauthorizedException;
+import com.slsolution.taxiruta.model.User;
+import com.slsolution.taxiruta.service.BookingService;
+import com.slsolution.taxiruta.service.DriverBookingChannel;
+import com.slsolution.taxiruta.util.Constants;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.util.Set;
+
+/**
+ * Canal WebSocket de reservas para conductores
+ * Al conectarse el conductor recibe sus reservas pendientes y luego cada reserva nueva, confirmada,
+ * rechazada o cancelada de sus viajes; por el mismo canal acepta o rechaza reservas
+ *
+ * Comandos (JSON): {"type":"ACCEPT"|"REJECT","bookingId":1,"requestId":"a1"}
+ * o {"type":"DECIDE","tripId":1,"decisions":[{"bookingId":1,"decision":"ACCEPT"}],"requestId":"a2"}
+ * Cada comando se responde con un mensaje "result" o "error" que repite su requestId
+ */
+@Component
+public class DriverBookingSocketHandler extends TextWebSocketHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(DriverBookingSocketHandler.class);
+
+    @Autowired
+    private DriverBookingChannel driverBookingChannel;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        User driver = driverOf(session);
+        if (driver == null) {
+            session.close(CloseStatus.POLICY_VIOLATION);
+            return;
+        }
+        driverBookingChannel.register(session, driver);
+    }
+
+    /**
+     * Procesa un comando del conductor; los mensajes de una sesión llegan de uno en uno
+     * Si el token de la sesión fue revocado, la sesión se cierra sin ejecutar el comando
+     */
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        if (driverBookingChannel.closeIfRevoked(session)) {
+            return;
+        }
+
+        DriverSocketCommandDTO command;
+        try {
+            command = objectMapper.readValue(message.getPayload(), DriverSocketCommandDTO.class);
+        } catch (JsonProcessingException e) {
+            driverBookingChannel.reply(session, DriverSocketMessageDTO.error(null, Constants.ERROR_INVALID_SOCKET_MESSAGE));
+            return;
+        }
+
+        String requestId = command.getRequestId();
+        Set<ConstraintViolation<DriverSocketCommandDTO>> violations = validator.validate(command);
+        if (!violations.isEmpty()) {
+            driverBookingChannel.reply(session,
+                    DriverSocketMessageDTO.error(requestId, violations.iterator().next().getMessage()));
+            return;
+        }
+
+        User driver = driverOf(session);
+        try {
+            driverBookingChannel.reply(session, execute(command, driver));
+        } catch (BadRequestException | UnauthorizedException | ResourceNotFoundException e) {
+            driverBookingChannel.reply(session, DriverSocketMessageDTO.error(requestId, e.getMessage()));
+        } catch (RuntimeException e) {
+            log.error("Driver {} command {} failed", driver.getId(), command.getType(), e);
+            driverBookingChannel.reply(session, DriverSocketMessageDTO.error(requestId, Constants.ERROR_SOCKET_COMMAND_FAILED));
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        driverBookingChannel.unregister(session);
+    }
+
+    private DriverSocketMessageDTO execute(DriverSocketCommandDTO command, User driver) {
+        String requestId = command.getRequestId();
+        return switch (command.getType()) {
+            case ACCEPT -> DriverSocketMessageDTO.result(requestId,
+                    bookingService.confirmBooking(requireBookingId(command), driver));
+            case REJECT -> DriverSocketMessageDTO.result(requestId,
+                    bookingService.rejectBooking(requireBookingId(command), driver));
+            case DECIDE -> {
+                if (command.getTripId() == null || command.getDecisions() == null || command.getDecisions().isEmpty()) {
+                    throw new BadRequestException(Constants.ERROR_INVALID_SOCKET_MESSAGE);
+                }
+                yield DriverSocketMessageDTO.results(requestId,
+                        bookingService.decideBookings(command.getTripId(), command.getDecisions(), driver));
+            }
+        };
+    }
+
+    private static Long requireBookingId(DriverSocketCommandDTO command) {
+        if (command.getBookingId() == null) {
+            throw new BadRequestException(Constants.ERROR_INVALID_SOCKET_MESSAGE);
+        }
+        return command.getBookingId();
+    }
+
+    // The handshake was authenticated by the JWT filter; the session keeps that authentication
+    private static User driverOf(WebSocketSession session) {
+        if (session.getPrincipal() instanceof Authentication authentication
+                && authentication.getPrincipal() instanceof User user
+                && user.getRole() == User.Role.DRIVER) {
+            return user;
+        }
+        return null;
+    }
+}
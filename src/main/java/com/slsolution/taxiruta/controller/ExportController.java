@@ -0,0 +1,62 @@
+package com.slsolution.taxiruta.controller;
+
+import com.slsolution.taxiruta.service.ExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+
+/**
+ * Controlador REST para exportaciones del back office
+ * Entrega viajes y reservas como JSON delimitado por líneas (NDJSON) mientras se leen de la base de datos
+ */
+@RestController
+@RequestMapping("/api/export")
+public class ExportController {
+
+    @Autowired
+    private ExportService exportService;
+
+    /**
+     * Exporta los viajes con salida dentro del rango de fechas indicado
+     */
+    @GetMapping("/trips")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportTrips(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        
+        exportService.validateRange(from, to);
+        StreamingResponseBody body = out -> exportService.exportTrips(from, to, out);
+        
+        return ndjson("trips.ndjson", body);
+    }
+
+    /**
+     * Exporta las reservas creadas dentro del rango de fechas indicado
+     */
+    @GetMapping("/bookings")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        
+        exportService.validateRange(from, to);
+        StreamingResponseBody body = out -> exportService.exportBookings(from, to, out);
+        
+        return ndjson("bookings.ndjson", body);
+    }
+
+    private ResponseEntity<StreamingResponseBody> ndjson(String filename, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+}
@@ -0,0 +1,41 @@
+package com.slsolution.taxiruta.controller;
+
+import com.slsolution.taxiruta.model.User;
+import com.slsolution.taxiruta.service.LiveUpdateHub;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Controlador de actualizaciones en vivo por Server-Sent Events
+ * Reemplaza el polling de /api/trips/{id} y /api/my-bookings: envía los asientos restantes de los
+ * viajes observados (evento "seats") y los cambios de estado de las reservas del usuario (evento "booking")
+ */
+@RestController
+@RequestMapping("/api/live")
+public class LiveUpdateController {
+
+    @Autowired
+    private LiveUpdateHub liveUpdateHub;
+
+    /**
+     * Abre un stream de eventos; primero envía los asientos actuales de cada viaje observado
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(
+            @RequestParam(required = false) List<Long> tripIds,
+            @AuthenticationPrincipal User currentUser) {
+
+        Set<Long> watchedTrips = tripIds != null ? new HashSet<>(tripIds) : Set.of();
+        return liveUpdateHub.subscribe(currentUser.getId(), watchedTrips);
+    }
+}
@@ -0,0 +1,79 @@
+package com.slsolution.taxiruta.controller;
+
+import com.slsolution.taxiruta.dto.request.BookingRequestDTO;
+import com.slsolution.taxiruta.dto.response.ApiResponseDTO;
+import com.slsolution.taxiruta.dto.response.BookingResponseDTO;
+import com.slsolution.taxiruta.dto.response.SeatHoldResponseDTO;
+import com.slsolution.taxiruta.model.User;
+import com.slsolution.taxiruta.service.SeatHoldService;
+import com.slsolution.taxiruta.util.Constants;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controlador REST para retenciones temporales de asientos
+ * Permite apartar asientos mientras el pasajero completa la reserva
+ */
+@RestController
+@RequestMapping("/api/trips/{tripId}/holds")
+public class SeatHoldController {
+
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    /**
+     * Retiene asientos de un viaje por un tiempo limitado (solo pasajeros)
+     */
+    @PostMapping
+    @PreAuthorize("hasRole('PASSENGER')")
+    public ResponseEntity<ApiResponseDTO<SeatHoldResponseDTO>> placeHold(
+            @PathVariable Long tripId,
+            @Valid @RequestBody BookingRequestDTO request,
+            @AuthenticationPrincipal User currentUser) {
+        
+        SeatHoldResponseDTO hold = seatHoldService.placeHold(tripId, request.getSeatsRequested(), currentUser);
+        ApiResponseDTO<SeatHoldResponseDTO> response = ApiResponseDTO.success(
+                Constants.SUCCESS_HOLD_CREATED, hold);
+        
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    /**
+     * Convierte una retención vigente en una reserva confirmada
+     */
+    @PostMapping("/{holdId}/confirm")
+    @PreAuthorize("hasRole('PASSENGER')")
+    public ResponseEntity<ApiResponseDTO<BookingResponseDTO>> confirmHold(
+            @PathVariable Long tripId,
+            @PathVariable String holdId,
+            @AuthenticationPrincipal User currentUser) {
+        
+        BookingResponseDTO booking = seatHoldService.confirmHold(tripId, holdId, currentUser);
+        ApiResponseDTO<BookingResponseDTO> response = ApiResponseDTO.success(
+                Constants.SUCCESS_HOLD_CONFIRMED, booking);
+        
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    /**
+     * Libera una retención antes de que expire
+     */
+    @DeleteMapping("/{holdId}")
+    @PreAuthorize("hasRole('PASSENGER')")
+    public ResponseEntity<ApiResponseDTO<String>> releaseHold(
+            @PathVariable Long tripId,
+            @PathVariable String holdId,
+            @AuthenticationPrincipal User currentUser) {
+        
+        seatHoldService.releaseHold(tripId, holdId, currentUser);
+        ApiResponseDTO<String> response = ApiResponseDTO.success(
+                Constants.SUCCESS_HOLD_RELEASED, null);
+        
+        return ResponseEntity.ok(response);
+    }
+}
@@ -2,18 +2,21 @@ package com.slsolution.taxiruta.controller;
 
 import com.slsolution.taxiruta.dto.request.TripRequestDTO;
 import com.slsolution.taxiruta.dto.response.ApiResponseDTO;
+import com.slsolution.taxiruta.dto.response.CursorPageResponseDTO;
 import com.slsolution.taxiruta.dto.response.TripResponseDTO;
 import com.slsolution.taxiruta.model.User;
 import com.slsolution.taxiruta.service.TripService;
 import com.slsolution.taxiruta.util.Constants;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -44,12 +47,31 @@ public class TripController {
     }
 
     /**
-     * Obtiene todos los viajes activos disponibles
+     * Obtiene los viajes activos disponibles, paginados por cursor
      */
     @GetMapping
-    public ResponseEntity<ApiResponseDTO<List<TripResponseDTO>>> getAllTrips() {
+    public ResponseEntity<ApiResponseDTO<CursorPageResponseDTO<TripResponseDTO>>> getAllTrips(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         
-        List<TripResponseDTO> trips = tripService.getActiveTrips();
+        CursorPageResponseDTO<TripResponseDTO> trips = tripService.getActiveTrips(cursor, size);
+        ApiResponseDTO<CursorPageResponseDTO<TripResponseDTO>> response = ApiResponseDTO.success(
+                "Trips retrieved successfully", trips);
+        
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Busca viajes activos por origen, destino y fecha de salida
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponseDTO<List<TripResponseDTO>>> searchTrips(
+            @RequestParam(required = false) String origin,
+            @RequestParam(required = false) String destination,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate departureDate) {
+        
+        List<TripResponseDTO> trips = tripService.searchTrips(
+                origin, destination, departureDate != null ? departureDate.atStartOfDay() : null);
         ApiResponseDTO<List<TripResponseDTO>> response = ApiResponseDTO.success(
                 "Trips retrieved successfully", trips);
         
@@ -104,15 +126,17 @@ public class TripController {
     }
 
     /**
-     * Obtiene los viajes del conductor autenticado
+     * Obtiene los viajes del conductor autenticado, paginados por cursor
      */
     @GetMapping("/my-trips")
     @PreAuthorize("hasRole('DRIVER')")
-    public ResponseEntity<ApiResponseDTO<List<TripResponseDTO>>> getMyTrips(
+    public ResponseEntity<ApiResponseDTO<CursorPageResponseDTO<TripResponseDTO>>> getMyTrips(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
             @AuthenticationPrincipal User currentUser) {
         
-        List<TripResponseDTO> trips = tripService.getDriverTrips(currentUser.getId());
-        ApiResponseDTO<List<TripResponseDTO>> response = ApiResponseDTO.success(
+        CursorPageResponseDTO<TripResponseDTO> trips = tripService.getDriverTrips(currentUser.getId(), cursor, size);
+        ApiResponseDTO<CursorPageResponseDTO<TripResponseDTO>> response = ApiResponseDTO.success(
                 "Driver trips retrieved successfully", trips);
         
         return ResponseEntity.ok(response);
@@ -1,17 +1,18 @@
 package com.slsolution.taxiruta.controller;
 
 import com.slsolution.taxiruta.dto.response.ApiResponseDTO;
+import com.slsolution.taxiruta.dto.response.CursorPageResponseDTO;
 import com.slsolution.taxiruta.dto.response.UserResponseDTO;
 import com.slsolution.taxiruta.model.User;
+import com.slsolution.taxiruta.service.TokenRevocationService;
 import com.slsolution.taxiruta.service.UserService;
+import com.slsolution.taxiruta.util.Constants;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 /**
  * Controlador REST para gestión de usuarios
  * Proporciona endpoints para obtener información de usuarios
@@ -23,6 +24,9 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     /**
      * Obtiene un usuario por su ID
      */
@@ -52,16 +56,33 @@ public class UserController {
     }
 
     /**
-     * Obtiene todos los usuarios (solo administradores)
+     * Obtiene los usuarios paginados por cursor (solo administradores)
      */
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ApiResponseDTO<List<UserResponseDTO>>> getAllUsers() {
+    public ResponseEntity<ApiResponseDTO<CursorPageResponseDTO<UserResponseDTO>>> getAllUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         
-        List<UserResponseDTO> users = userService.getAllUsers();
-        ApiResponseDTO<List<UserResponseDTO>> response = ApiResponseDTO.success(
+        CursorPageResponseDTO<UserResponseDTO> users = userService.getAllUsers(cursor, size);
+        ApiResponseDTO<CursorPageResponseDTO<UserResponseDTO>> response = ApiResponseDTO.success(
                 "Users retrieved successfully", users);
         
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Revoca todos los tokens emitidos a un usuario (administradores, o el propio usuario para
+     * cerrar todas sus sesiones)
+     */
+    @PostMapping("/{id}/revoke-tokens")
+    @PreAuthorize("hasRole('ADMIN') or #id == authentication.principal.id")
+    public ResponseEntity<ApiResponseDTO<String>> revokeUserTokens(
+            @PathVariable Long id) {
+        
+        tokenRevocationService.revokeAllForUser(id);
+        ApiResponseDTO<String> response = ApiResponseDTO.success(Constants.SUCCESS_TOKENS_REVOKED, null);
+        
+        return ResponseEntity.ok(response);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.slsolution.taxiruta.dto.request;
+
+import com.slsolution.taxiruta.util.Constants;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingDecisionBatchRequestDTO {
+
+    @NotEmpty(message = "At least one decision is required")
+    @Size(max = Constants.MAX_BATCH_SIZE, message = "Too many decisions in one request")
+    private List<@Valid BookingDecisionDTO> decisions;
+
+    // Lombok generates constructors, getters and setters automatically
+}
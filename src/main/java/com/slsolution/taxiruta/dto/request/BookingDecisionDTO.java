@@ -0,0 +1,26 @@
+package com.slsolution.taxiruta.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingDecisionDTO {
+
+    @NotNull(message = "Booking id is required")
+    private Long bookingId;
+
+    @NotNull(message = "Decision is required")
+    private Decision decision;
+
+    public enum Decision {
+        ACCEPT, REJECT
+    }
+
+    // Lombok generates constructors, getters and setters automatically
+}
@@ -0,0 +1,41 @@
+package com.slsolution.taxiruta.dto.request;
+
+import com.slsolution.taxiruta.util.Constants;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DriverSocketCommandDTO {
+
+    @NotNull(message = "Command type is required")
+    private Type type;
+
+    // Echoed back in the reply so the client can match it to this command
+    @Size(max = 64, message = "Request id is too long")
+    private String requestId;
+
+    // ACCEPT and REJECT
+    private Long bookingId;
+
+    // DECIDE
+    private Long tripId;
+
+    @Size(max = Constants.MAX_BATCH_SIZE, message = "Too many decisions in one request")
+    private List<@Valid BookingDecisionDTO> decisions;
+
+    public enum Type {
+        ACCEPT, REJECT, DECIDE
+    }
+
+    // Lombok generates constructors, getters and setters automatically
+}
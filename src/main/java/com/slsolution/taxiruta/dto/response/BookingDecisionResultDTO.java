@@ -0,0 +1,71 @@
+package com.slsolution.taxiruta.dto.response;
+
+public class BookingDecisionResultDTO {
+
+    private Long bookingId;
+    private String decision;
+    private boolean success;
+    private String status;
+    private String error;
+
+    // Constructors
+    public BookingDecisionResultDTO() {}
+
+    public BookingDecisionResultDTO(Long bookingId, String decision, boolean success, String status, String error) {
+        this.bookingId = bookingId;
+        this.decision = decision;
+        this.success = success;
+        this.status = status;
+        this.error = error;
+    }
+
+    // Static factory methods
+    public static BookingDecisionResultDTO success(Long bookingId, String decision, String status) {
+        return new BookingDecisionResultDTO(bookingId, decision, true, status, null);
+    }
+
+    public static BookingDecisionResultDTO failure(Long bookingId, String decision, String status, String error) {
+        return new BookingDecisionResultDTO(bookingId, decision, false, status, error);
+    }
+
+    // Getters and Setters
+    public Long getBookingId() {
+        return bookingId;
+    }
+
+    public void setBookingId(Long bookingId) {
+        this.bookingId = bookingId;
+    }
+
+    public String getDecision() {
+        return decision;
+    }
+
+    public void setDecision(String decision) {
+        this.decision = decision;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,42 @@
+package com.slsolution.taxiruta.dto.response;
+
+public class BookingStatusEventDTO {
+
+    private Long bookingId;
+    private Long tripId;
+    private String status;
+
+    // Constructors
+    public BookingStatusEventDTO() {}
+
+    public BookingStatusEventDTO(Long bookingId, Long tripId, String status) {
+        this.bookingId = bookingId;
+        this.tripId = tripId;
+        this.status = status;
+    }
+
+    // Getters and Setters
+    public Long getBookingId() {
+        return bookingId;
+    }
+
+    public void setBookingId(Long bookingId) {
+        this.bookingId = bookingId;
+    }
+
+    public Long getTripId() {
+        return tripId;
+    }
+
+    public void setTripId(Long tripId) {
+        this.tripId = tripId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
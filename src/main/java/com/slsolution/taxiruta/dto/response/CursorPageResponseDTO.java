@@ -0,0 +1,70 @@
+package com.slsolution.taxiruta.dto.response;
+
+import java.util.List;
+import java.util.function.Function;
+
+public class CursorPageResponseDTO<T> {
+
+    private List<T> items;
+    private String nextCursor;
+    private int size;
+    private boolean hasMore;
+
+    // Constructors
+    public CursorPageResponseDTO() {}
+
+    public CursorPageResponseDTO(List<T> items, String nextCursor, int size, boolean hasMore) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.size = size;
+        this.hasMore = hasMore;
+    }
+
+    // Static factory methods
+
+    /**
+     * Builds a page from rows fetched with a limit of pageSize + 1.
+     * The extra row only signals that another page exists and is not returned.
+     */
+    public static <E, T> CursorPageResponseDTO<T> of(List<E> rows, int pageSize,
+                                                     Function<E, T> mapper, Function<E, String> cursorOf) {
+        boolean hasMore = rows.size() > pageSize;
+        List<E> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? cursorOf.apply(pageRows.get(pageRows.size() - 1)) : null;
+        List<T> items = pageRows.stream().map(mapper).toList();
+        return new CursorPageResponseDTO<>(items, nextCursor, items.size(), hasMore);
+    }
+
+    // Getters and Setters
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,109 @@
+package com.slsolution.taxiruta.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DriverSocketMessageDTO {
+
+    public static final String SNAPSHOT = "snapshot";
+    public static final String BOOKING = "booking";
+    public static final String RESULT = "result";
+    public static final String ERROR = "error";
+
+    private String type;
+    private String requestId;
+    private BookingResponseDTO booking;
+    private List<BookingResponseDTO> bookings;
+    private List<BookingDecisionResultDTO> results;
+    private String error;
+
+    // Constructors
+    public DriverSocketMessageDTO() {}
+
+    public DriverSocketMessageDTO(String type, String requestId) {
+        this.type = type;
+        this.requestId = requestId;
+    }
+
+    // Static factory methods
+    public static DriverSocketMessageDTO snapshot(List<BookingResponseDTO> pendingBookings) {
+        DriverSocketMessageDTO message = new DriverSocketMessageDTO(SNAPSHOT, null);
+        message.setBookings(pendingBookings);
+        return message;
+    }
+
+    public static DriverSocketMessageDTO booking(BookingResponseDTO booking) {
+        DriverSocketMessageDTO message = new DriverSocketMessageDTO(BOOKING, null);
+        message.setBooking(booking);
+        return message;
+    }
+
+    public static DriverSocketMessageDTO result(String requestId, BookingResponseDTO booking) {
+        DriverSocketMessageDTO message = new DriverSocketMessageDTO(RESULT, requestId);
+        message.setBooking(booking);
+        return message;
+    }
+
+    public static DriverSocketMessageDTO results(String requestId, List<BookingDecisionResultDTO> results) {
+        DriverSocketMessageDTO message = new DriverSocketMessageDTO(RESULT, requestId);
+        message.setResults(results);
+        return message;
+    }
+
+    public static DriverSocketMessageDTO error(String requestId, String error) {
+        DriverSocketMessageDTO message = new DriverSocketMessageDTO(ERROR, requestId);
+        message.setError(error);
+        return message;
+    }
+
+    // Getters and Setters
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public void setRequestId(String requestId) {
+        this.requestId = requestId;
+    }
+
+    public BookingResponseDTO getBooking() {
+        return booking;
+    }
+
+    public void setBooking(BookingResponseDTO booking) {
+        this.booking = booking;
+    }
+
+    public List<BookingResponseDTO> getBookings() {
+        return bookings;
+    }
+
+    public void setBookings(List<BookingResponseDTO> bookings) {
+        this.bookings = bookings;
+    }
+
+    public List<BookingDecisionResultDTO> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BookingDecisionResultDTO> results) {
+        this.results = results;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,52 @@
+package com.slsolution.taxiruta.dto.response;
+
+public class SeatAvailabilityEventDTO {
+
+    private Long tripId;
+    private Integer availableSeats;
+    private Integer remainingSeats;
+    private String status;
+
+    // Constructors
+    public SeatAvailabilityEventDTO() {}
+
+    public SeatAvailabilityEventDTO(Long tripId, Integer availableSeats, Integer remainingSeats, String status) {
+        this.tripId = tripId;
+        this.availableSeats = availableSeats;
+        this.remainingSeats = remainingSeats;
+        this.status = status;
+    }
+
+    // Getters and Setters
+    public Long getTripId() {
+        return tripId;
+    }
+
+    public void setTripId(Long tripId) {
+        this.tripId = tripId;
+    }
+
+    public Integer getAvailableSeats() {
+        return availableSeats;
+    }
+
+    public void setAvailableSeats(Integer availableSeats) {
+        this.availableSeats = availableSeats;
+    }
+
+    public Integer getRemainingSeats() {
+        return remainingSeats;
+    }
+
+    public void setRemainingSeats(Integer remainingSeats) {
+        this.remainingSeats = remainingSeats;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,54 @@
+package com.slsolution.taxiruta.dto.response;
+
+import java.time.LocalDateTime;
+
+public class SeatHoldResponseDTO {
+
+    private String id;
+    private Long tripId;
+    private Integer seats;
+    private LocalDateTime expiresAt;
+
+    // Constructors
+    public SeatHoldResponseDTO() {}
+
+    public SeatHoldResponseDTO(String id, Long tripId, Integer seats, LocalDateTime expiresAt) {
+        this.id = id;
+        this.tripId = tripId;
+        this.seats = seats;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Long getTripId() {
+        return tripId;
+    }
+
+    public void setTripId(Long tripId) {
+        this.tripId = tripId;
+    }
+
+    public Integer getSeats() {
+        return seats;
+    }
+
+    public void setSeats(Integer seats) {
+        this.seats = seats;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,12 @@
+package com.slsolution.taxiruta.event;
+
+import com.slsolution.taxiruta.model.Booking;
+
+/**
+ * Published whenever a booking is created or moves to another status.
+ * Listeners run after the surrounding transaction commits; the event carries the ids needed
+ * to route it to the passenger and to the trip's driver without re-reading the booking.
+ */
+public record BookingStatusChangedEvent(Long bookingId, Long tripId, Long passengerId, Long driverId,
+                                        Booking.Status status) {
+}
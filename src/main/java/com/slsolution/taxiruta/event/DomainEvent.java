@@ -0,0 +1,19 @@
+package com.slsolution.taxiruta.event;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.slsolution.taxiruta.model.OutboxEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * A committed state change as delivered by the outbox relay.
+ * The id is the outbox id: unique, and increasing in commit order for any one aggregate, so a
+ * subscriber can drop redeliveries by remembering the last id it handled per aggregate.
+ */
+public record DomainEvent(Long id, OutboxEvent.AggregateType aggregateType, Long aggregateId, String eventType,
+                          JsonNode payload, LocalDateTime occurredAt) {
+
+    public boolean is(DomainEventType type) {
+        return type.name().equals(eventType);
+    }
+}
@@ -0,0 +1,17 @@
+package com.slsolution.taxiruta.event;
+
+/**
+ * In-process consumer of outbox events; every bean implementing it is subscribed.
+ * Events of one aggregate arrive in the order they were committed. Delivery is at least once:
+ * when any subscriber throws, the event is delivered again to every subscriber on the next
+ * relay run, and later events of the same aggregate wait for it, so handling must be idempotent.
+ * Subscribers run on the relay thread and should hand slow work off rather than block it.
+ */
+public interface DomainEventSubscriber {
+
+    void onEvent(DomainEvent event);
+
+    default boolean accepts(DomainEvent event) {
+        return true;
+    }
+}
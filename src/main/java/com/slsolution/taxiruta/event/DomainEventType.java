@@ -0,0 +1,26 @@
+package com.slsolution.taxiruta.event;
+
+import com.slsolution.taxiruta.model.OutboxEvent;
+
+/**
+ * State changes written to the outbox, with the aggregate whose id orders them.
+ */
+public enum DomainEventType {
+
+    TRIP_CANCELLED(OutboxEvent.AggregateType.TRIP),
+    TRIP_COMPLETED(OutboxEvent.AggregateType.TRIP),
+    BOOKING_CONFIRMED(OutboxEvent.AggregateType.BOOKING),
+    BOOKING_REJECTED(OutboxEvent.AggregateType.BOOKING),
+    BOOKING_CANCELLED(OutboxEvent.AggregateType.BOOKING),
+    BOOKING_EXPIRED(OutboxEvent.AggregateType.BOOKING);
+
+    private final OutboxEvent.AggregateType aggregateType;
+
+    DomainEventType(OutboxEvent.AggregateType aggregateType) {
+        this.aggregateType = aggregateType;
+    }
+
+    public OutboxEvent.AggregateType getAggregateType() {
+        return aggregateType;
+    }
+}
@@ -0,0 +1,8 @@
+package com.slsolution.taxiruta.event;
+
+/**
+ * Published whenever a trip's searchable data or seat counters change.
+ * Listeners run after the surrounding transaction commits and re-read the trip by id.
+ */
+public record TripChangedEvent(Long tripId) {
+}
@@ -0,0 +1,10 @@
+package com.slsolution.taxiruta.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when a trip is created or its departure time may have changed, so the lifecycle
+ * timer can complete it on time. Listeners run after the surrounding transaction commits.
+ */
+public record TripScheduledEvent(Long tripId, LocalDateTime departureTime) {
+}
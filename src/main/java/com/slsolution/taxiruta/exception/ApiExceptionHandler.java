@@ -1,9 +1,13 @@
 package com.slsolution.taxiruta.exception;
 
 import com.slsolution.taxiruta.dto.response.ApiResponseDTO;
+import com.slsolution.taxiruta.util.Constants;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -32,6 +36,15 @@ public class ApiExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
 
+    // The request was valid when read but lost a race with another change; the client can retry it as is
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ApiResponseDTO<Object>> handleConflictException(
+            ConflictException ex, WebRequest request) {
+        
+        ApiResponseDTO<Object> response = ApiResponseDTO.error(ex.getMessage(), "CONFLICT");
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(UnauthorizedException.class)
     public ResponseEntity<ApiResponseDTO<Object>> handleUnauthorizedException(
             UnauthorizedException ex, WebRequest request) {
@@ -40,6 +53,28 @@ public class ApiExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED);
     }
 
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ApiResponseDTO<Object>> handleServiceOverloadedException(
+            ServiceOverloadedException ex, WebRequest request) {
+        
+        ApiResponseDTO<Object> response = ApiResponseDTO.error(ex.getMessage(), "SERVICE_OVERLOADED");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
+    // No database connection became free within the Hikari connection timeout; the pool is the
+    // concurrency limit when requests run on virtual threads, so this is load shedding, not a failure
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<ApiResponseDTO<Object>> handleConnectionUnavailableException(
+            Exception ex, WebRequest request) {
+        
+        ApiResponseDTO<Object> response = ApiResponseDTO.error(Constants.ERROR_SERVICE_OVERLOADED, "SERVICE_OVERLOADED");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<ApiResponseDTO<Object>> handleBadCredentialsException(
             BadCredentialsException ex, WebRequest request) {
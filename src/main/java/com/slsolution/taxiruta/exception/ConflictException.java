@@ -0,0 +1,8 @@
+package com.slsolution.taxiruta.exception;
+
+public class ConflictException extends RuntimeException {
+    
+    public ConflictException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
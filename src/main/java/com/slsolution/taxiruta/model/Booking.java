@@ -13,6 +13,8 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
@@ -29,6 +31,7 @@ import lombok.EqualsAndHashCode;
  */
 @Entity
 @Table(name = "bookings")
+@NamedEntityGraph(name = "Booking.withPassenger", attributeNodes = @NamedAttributeNode("passenger"))
 @Data
 @Builder
 @NoArgsConstructor
@@ -72,7 +75,7 @@ public class Booking {
     private LocalDateTime updatedAt;
 
     public enum Status {
-        PENDING, CONFIRMED, REJECTED, CANCELLED
+        PENDING, CONFIRMED, REJECTED, CANCELLED, EXPIRED
     }
 
     @PrePersist
@@ -0,0 +1,91 @@
+package com.slsolution.taxiruta.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * Entidad OutboxEvent que representa un evento de dominio pendiente de entregar
+ * Se escribe en la misma transacción que el cambio de estado y el relay lo entrega en orden de id
+ */
+@Entity
+@Table(name = "outbox_events")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "aggregate_type", length = 20)
+    private AggregateType aggregateType;
+
+    @NotNull
+    @Column(name = "aggregate_id")
+    private Long aggregateId;
+
+    @NotNull
+    @Column(name = "event_type", length = 50)
+    private String eventType;
+
+    @NotNull
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    @Builder.Default
+    private Status status = Status.PENDING;
+
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    // Earliest retry after a failure; null while the event is due
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    public enum AggregateType {
+        TRIP, BOOKING
+    }
+
+    public enum Status {
+        // Waiting for delivery, or for a retry after a subscriber failed
+        PENDING,
+        // Delivered to every subscriber
+        PUBLISHED,
+        // Gave up after the maximum number of attempts; kept for inspection
+        FAILED
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,91 @@
+package com.slsolution.taxiruta.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.springframework.data.domain.Persistable;
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Entidad SeatHold que representa una retención temporal de asientos en un viaje
+ * El registro activo vive en memoria; esta tabla permite recuperarlo tras un reinicio
+ */
+@Entity
+@Table(name = "seat_holds", uniqueConstraints = @UniqueConstraint(columnNames = {"trip_id", "passenger_id"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+public class SeatHold implements Persistable<String> {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "trip_id", nullable = false)
+    private Trip trip;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "passenger_id", nullable = false)
+    private User passenger;
+
+    @NotNull
+    @Positive
+    private Integer seats;
+
+    @NotNull
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    // Ids are assigned by the application, so tell Spring Data to insert instead of merge
+    @Transient
+    @Builder.Default
+    private boolean newHold = true;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    @PostPersist
+    @PostLoad
+    protected void markNotNew() {
+        newHold = false;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newHold;
+    }
+
+    // Lombok generates constructors automatically
+
+    // Business methods
+    public boolean isExpired() {
+        return !expiresAt.isAfter(LocalDateTime.now());
+    }
+
+    // Lombok @Data annotation generates all basic getters and setters automatically
+}
@@ -16,6 +16,8 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
@@ -35,6 +37,7 @@ import lombok.EqualsAndHashCode;
  */
 @Entity
 @Table(name = "trips")
+@NamedEntityGraph(name = "Trip.withDriver", attributeNodes = @NamedAttributeNode("driver"))
 @Data
 @Builder
 @NoArgsConstructor
@@ -62,10 +65,23 @@ public class Trip {
     @Column(name = "departure_time")
     private LocalDateTime departureTime;
 
+    // Seat columns are only written through the guarded updates in TripRepository
     @NotNull
     @Positive
+    @Column(name = "available_seats", updatable = false)
     private Integer availableSeats;
 
+    @NotNull
+    @Column(name = "confirmed_seats", nullable = false, updatable = false)
+    @Builder.Default
+    private Integer confirmedSeats = 0;
+
+    // Seats temporarily claimed by unexpired seat holds
+    @NotNull
+    @Column(name = "held_seats", nullable = false, updatable = false)
+    @Builder.Default
+    private Integer heldSeats = 0;
+
     @NotNull
     @Positive
     private BigDecimal pricePerSeat;
@@ -105,14 +121,10 @@ public class Trip {
     // Lombok generates constructors automatically
 
     // Business methods
-    public int getConfirmedBookingsCount() {
-        return (int) bookings.stream()
-                .filter(booking -> booking.getStatus() == Booking.Status.CONFIRMED)
-                .count();
-    }
-
+    // confirmedSeats is the sum of seatsRequested over CONFIRMED bookings, kept in sync
+    // by the booking state transitions so reads never need to load the bookings collection
     public int getRemainingSeats() {
-        return availableSeats - getConfirmedBookingsCount();
+        return availableSeats - confirmedSeats - heldSeats;
     }
 
     public boolean hasAvailableSeats() {
@@ -18,6 +18,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -32,7 +33,7 @@ import lombok.EqualsAndHashCode;
  * Implementa UserDetails para integración con Spring Security
  */
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = @UniqueConstraint(name = User.EMAIL_UNIQUE_CONSTRAINT, columnNames = "email"))
 @Data
 @Builder
 @NoArgsConstructor
@@ -40,6 +41,9 @@ import lombok.EqualsAndHashCode;
 @EqualsAndHashCode(callSuper = false)
 public class User implements UserDetails {
 
+    // Name Postgres gives the UNIQUE on users.email in V1; registration relies on it to detect duplicates
+    public static final String EMAIL_UNIQUE_CONSTRAINT = "users_email_key";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -57,7 +61,6 @@ public class User implements UserDetails {
     @NotBlank
     @Size(max = 100)
     @Email
-    @Column(unique = true)
     private String email;
 
     @NotBlank
@@ -81,7 +84,7 @@ public class User implements UserDetails {
     private LocalDateTime updatedAt;
 
     public enum Role {
-        DRIVER, PASSENGER
+        DRIVER, PASSENGER, ADMIN
     }
 
     @PrePersist
@@ -0,0 +1,32 @@
+package com.slsolution.taxiruta.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * Entidad UserTokenRevocation que representa la revocación de todos los tokens de un usuario
+ * Los tokens emitidos antes de revokedBefore dejan de ser válidos
+ */
+@Entity
+@Table(name = "user_token_revocations")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserTokenRevocation {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @NotNull
+    @Column(name = "revoked_before")
+    private LocalDateTime revokedBefore;
+}
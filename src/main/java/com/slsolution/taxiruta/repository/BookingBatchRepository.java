@@ -0,0 +1,19 @@
+package com.slsolution.taxiruta.repository;
+
+import java.util.List;
+
+import com.slsolution.taxiruta.model.Booking;
+
+/**
+ * Batched writes for bookings that bypass the persistence context.
+ * Implemented by BookingBatchRepositoryImpl and exposed through BookingRepository.
+ */
+public interface BookingBatchRepository {
+
+    /**
+     * Inserts new bookings with one JDBC batch and sets their generated ids and timestamps.
+     * IDENTITY ids keep Hibernate from batching inserts, so this goes through JDBC directly;
+     * the bookings are not attached to the persistence context.
+     */
+    void insertAll(List<Booking> bookings);
+}
@@ -0,0 +1,68 @@
+package com.slsolution.taxiruta.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import com.slsolution.taxiruta.model.Booking;
+
+public class BookingBatchRepositoryImpl implements BookingBatchRepository {
+
+    private static final String INSERT_BOOKING =
+            "INSERT INTO bookings (trip_id, passenger_id, seats_requested, total_price, status, " +
+            "booking_date, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_BOOKING, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Booking booking = bookings.get(i);
+                        ps.setLong(1, booking.getTrip().getId());
+                        ps.setLong(2, booking.getPassenger().getId());
+                        ps.setInt(3, booking.getSeatsRequested());
+                        ps.setBigDecimal(4, booking.getTotalPrice());
+                        ps.setString(5, booking.getStatus().name());
+                        ps.setTimestamp(6, timestamp);
+                        ps.setTimestamp(7, timestamp);
+                        ps.setTimestamp(8, timestamp);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return bookings.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < bookings.size(); i++) {
+            Booking booking = bookings.get(i);
+            booking.setId(((Number) keys.get(i).values().iterator().next()).longValue());
+            booking.setBookingDate(now);
+            booking.setCreatedAt(now);
+            booking.setUpdatedAt(now);
+        }
+    }
+}
@@ -1,22 +1,44 @@
 package com.slsolution.taxiruta.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.LockOptions;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.slsolution.taxiruta.model.Booking;
 import com.slsolution.taxiruta.model.Trip;
 import com.slsolution.taxiruta.model.User;
+import com.slsolution.taxiruta.util.Constants;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingBatchRepository {
+    
+    // List queries load the passenger in the same statement; the trip is only read by id from its proxy
+    @Override
+    @EntityGraph("Booking.withPassenger")
+    List<Booking> findAll();
     
+    @EntityGraph("Booking.withPassenger")
     List<Booking> findByTripId(Long tripId);
     
+    @EntityGraph("Booking.withPassenger")
     List<Booking> findByPassengerId(Long passengerId);
     
     List<Booking> findByStatus(Booking.Status status);
@@ -35,6 +57,107 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     @Query("SELECT COUNT(b) FROM Booking b WHERE b.trip = :trip AND b.status = 'CONFIRMED'")
     Integer countConfirmedBookingsByTrip(@Param("trip") Trip trip);
     
+    @EntityGraph("Booking.withPassenger")
     @Query("SELECT b FROM Booking b WHERE b.trip.driver = :driver AND b.status = 'PENDING'")
     List<Booking> findPendingBookingsForDriver(@Param("driver") User driver);
+    
+    // Export cursor: rows are read in fetch-size chunks and must be consumed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Constants.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b FROM Booking b JOIN FETCH b.passenger " +
+           "WHERE b.bookingDate BETWEEN :startDate AND :endDate " +
+           "ORDER BY b.bookingDate ASC, b.id ASC")
+    Stream<Booking> streamBookingsBetweenDates(@Param("startDate") LocalDateTime startDate,
+                                               @Param("endDate") LocalDateTime endDate);
+    
+    // Keyset pages ordered by (booking_date, id); fetch pageSize + 1 rows to detect a next page
+    @EntityGraph("Booking.withPassenger")
+    @Query("SELECT b FROM Booking b WHERE b.trip.id = :tripId ORDER BY b.bookingDate ASC, b.id ASC")
+    List<Booking> findTripBookingsPage(@Param("tripId") Long tripId, Pageable pageable);
+    
+    @EntityGraph("Booking.withPassenger")
+    @Query("SELECT b FROM Booking b WHERE b.trip.id = :tripId " +
+           "AND b.bookingDate >= :afterDate " +
+           "AND (b.bookingDate > :afterDate OR b.id > :afterId) " +
+           "ORDER BY b.bookingDate ASC, b.id ASC")
+    List<Booking> findTripBookingsPageAfter(@Param("tripId") Long tripId,
+                                            @Param("afterDate") LocalDateTime afterDate,
+                                            @Param("afterId") Long afterId,
+                                            Pageable pageable);
+    
+    @EntityGraph("Booking.withPassenger")
+    @Query("SELECT b FROM Booking b WHERE b.passenger.id = :passengerId ORDER BY b.bookingDate ASC, b.id ASC")
+    List<Booking> findPassengerBookingsPage(@Param("passengerId") Long passengerId, Pageable pageable);
+    
+    @EntityGraph("Booking.withPassenger")
+    @Query("SELECT b FROM Booking b WHERE b.passenger.id = :passengerId " +
+           "AND b.bookingDate >= :afterDate " +
+           "AND (b.bookingDate > :afterDate OR b.id > :afterId) " +
+           "ORDER BY b.bookingDate ASC, b.id ASC")
+    List<Booking> findPassengerBookingsPageAfter(@Param("passengerId") Long passengerId,
+                                                 @Param("afterDate") LocalDateTime afterDate,
+                                                 @Param("afterId") Long afterId,
+                                                 Pageable pageable);
+    
+    /**
+     * Moves a booking from one status to another only if it is still in the expected status.
+     * Returns 0 when a concurrent request already changed it.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :to WHERE b.id = :bookingId AND b.status = :from")
+    int transitionStatus(@Param("bookingId") Long bookingId,
+                         @Param("from") Booking.Status from,
+                         @Param("to") Booking.Status to);
+    
+    @Query("SELECT b.passenger.id FROM Booking b WHERE b.trip.id = :tripId AND b.passenger.id IN :passengerIds")
+    List<Long> findPassengerIdsWithBooking(@Param("tripId") Long tripId,
+                                           @Param("passengerIds") Collection<Long> passengerIds);
+    
+    @Query("SELECT b FROM Booking b WHERE b.trip.id = :tripId AND b.id IN :bookingIds")
+    List<Booking> findByTripIdAndIdIn(@Param("tripId") Long tripId, @Param("bookingIds") Collection<Long> bookingIds);
+    
+    /**
+     * Moves every listed booking that is still PENDING to the given status in one statement.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :to, b.confirmedDate = :confirmedDate " +
+           "WHERE b.id IN :bookingIds AND b.status = 'PENDING'")
+    int transitionPendingBookings(@Param("bookingIds") Collection<Long> bookingIds,
+                                  @Param("to") Booking.Status to,
+                                  @Param("confirmedDate") LocalDateTime confirmedDate);
+    
+    /**
+     * Returns bookings confirmed earlier in the same transaction to PENDING, for a batch whose seat
+     * reservation failed after its status change. The caller still holds the row locks.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = 'PENDING', b.confirmedDate = NULL " +
+           "WHERE b.id IN :bookingIds AND b.status = 'CONFIRMED'")
+    int revertToPending(@Param("bookingIds") Collection<Long> bookingIds);
+    
+    /**
+     * Locks PENDING bookings past their deadline: made before the cutoff, or on a trip that has
+     * departed or is no longer active. The trip check is correlated, so it reads one trip per pending
+     * booking instead of every finished trip. Rows locked by another node's sweep are skipped.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "" + LockOptions.SKIP_LOCKED))
+    @Query("SELECT b FROM Booking b WHERE b.status = 'PENDING' AND (b.bookingDate < :cutoff " +
+           "OR EXISTS (SELECT t.id FROM Trip t WHERE t.id = b.trip.id " +
+           "AND (t.status <> 'ACTIVE' OR t.departureTime <= :now))) " +
+           "ORDER BY b.bookingDate ASC, b.id ASC")
+    List<Booking> findExpiredPendingForUpdate(@Param("cutoff") LocalDateTime cutoff,
+                                              @Param("now") LocalDateTime now,
+                                              Pageable limit);
+    
+    // Loads the trips of already locked bookings in one statement, instead of one per trip proxy
+    @EntityGraph(attributePaths = "trip")
+    List<Booking> findWithTripByIdIn(Collection<Long> bookingIds);
+    
+    @Query("SELECT b.bookingDate FROM Booking b WHERE b.status = 'PENDING' " +
+           "AND b.bookingDate > :from AND b.bookingDate <= :to")
+    List<LocalDateTime> findPendingBookingDatesBetween(@Param("from") LocalDateTime from,
+                                                       @Param("to") LocalDateTime to);
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.slsolution.taxiruta.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.slsolution.taxiruta.model.OutboxEvent;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Row locks make relays on other nodes wait for this batch instead of delivering past it.
+    // An event backing off after a failure is skipped together with the later events of its aggregate
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM OutboxEvent e WHERE e.status = 'PENDING' AND NOT EXISTS (" +
+            "SELECT w.id FROM OutboxEvent w WHERE w.status = 'PENDING' AND w.aggregateType = e.aggregateType " +
+            "AND w.aggregateId = e.aggregateId AND w.id <= e.id AND w.nextAttemptAt > :now) " +
+            "ORDER BY e.id")
+    List<OutboxEvent> findPendingForUpdate(@Param("now") LocalDateTime now, Pageable limit);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = 'PUBLISHED', e.publishedAt = :now WHERE e.id IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = 'PUBLISHED' AND e.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    List<OutboxEvent> findByAggregateTypeAndAggregateIdOrderById(OutboxEvent.AggregateType aggregateType, Long aggregateId);
+}
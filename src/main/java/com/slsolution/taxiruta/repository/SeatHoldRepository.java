@@ -0,0 +1,29 @@
+package com.slsolution.taxiruta.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.slsolution.taxiruta.model.SeatHold;
+
+@Repository
+public interface SeatHoldRepository extends JpaRepository<SeatHold, String> {
+    
+    boolean existsByTripIdAndPassengerId(Long tripId, Long passengerId);
+    
+    @Query("SELECT h FROM SeatHold h WHERE h.expiresAt <= :now")
+    List<SeatHold> findExpired(@Param("now") LocalDateTime now);
+    
+    /**
+     * Removes a hold and reports whether this call was the one that removed it,
+     * so a hold is confirmed, released or expired exactly once across nodes.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM SeatHold h WHERE h.id = :holdId")
+    int deleteHold(@Param("holdId") String holdId);
+}
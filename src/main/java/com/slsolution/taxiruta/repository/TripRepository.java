@@ -1,41 +1,223 @@
 package com.slsolution.taxiruta.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.LockOptions;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.slsolution.taxiruta.model.Trip;
 import com.slsolution.taxiruta.model.User;
+import com.slsolution.taxiruta.util.Constants;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface TripRepository extends JpaRepository<Trip, Long> {
     
+    // List queries load the driver in the same statement; convertToResponseDTO needs it for every row
+    @Override
+    @EntityGraph("Trip.withDriver")
+    List<Trip> findAll();
+    
+    @EntityGraph("Trip.withDriver")
+    Optional<Trip> findWithDriverById(Long id);
+    
+    @EntityGraph("Trip.withDriver")
     List<Trip> findByDriverId(Long driverId);
     
     List<Trip> findByStatus(Trip.Status status);
     
+    @EntityGraph("Trip.withDriver")
     @Query("SELECT t FROM Trip t WHERE t.status = 'ACTIVE' AND t.departureTime > :now")
     List<Trip> findActiveTrips(@Param("now") LocalDateTime now);
     
-    @Query("SELECT t FROM Trip t WHERE t.status = 'ACTIVE' " +
-           "AND t.departureTime > :now " +
-           "AND (:origin IS NULL OR LOWER(t.origin) LIKE LOWER(CONCAT('%', :origin, '%'))) " +
-           "AND (:destination IS NULL OR LOWER(t.destination) LIKE LOWER(CONCAT('%', :destination, '%'))) " +
-           "AND (:departureDate IS NULL OR DATE(t.departureTime) = DATE(:departureDate)) " +
-           "ORDER BY t.departureTime ASC")
-    List<Trip> findTripsWithFilters(@Param("now") LocalDateTime now,
-                                   @Param("origin") String origin,
-                                   @Param("destination") String destination,
-                                   @Param("departureDate") LocalDateTime departureDate);
-    
+    @EntityGraph("Trip.withDriver")
     @Query("SELECT t FROM Trip t WHERE t.driver = :driver AND t.status = 'ACTIVE' AND t.departureTime > :now")
     List<Trip> findActiveTripsForDriver(@Param("driver") User driver, @Param("now") LocalDateTime now);
     
+    @EntityGraph("Trip.withDriver")
     @Query("SELECT t FROM Trip t WHERE t.departureTime BETWEEN :startDate AND :endDate")
     List<Trip> findTripsBetweenDates(@Param("startDate") LocalDateTime startDate, 
                                     @Param("endDate") LocalDateTime endDate);
+    
+    // Search variants, one per filter combination, so every statement is static and the planner
+    // can use the trigram indexes from V6 (an "IS NULL OR" filter hides them in generic plans).
+    // The departure window replaces DATE(departureTime) = DATE(:date) so the range stays indexable.
+    @EntityGraph("Trip.withDriver")
+    @Query("SELECT t FROM Trip t WHERE t.status = 'ACTIVE' " +
+           "AND t.departureTime > :now " +
+           "AND t.departureTime >= :windowStart AND t.departureTime < :windowEnd " +
+           "ORDER BY t.departureTime ASC")
+    List<Trip> searchActiveTrips(@Param("now") LocalDateTime now,
+                                 @Param("windowStart") LocalDateTime windowStart,
+                                 @Param("windowEnd") LocalDateTime windowEnd);
+    
+    @EntityGraph("Trip.withDriver")
+    @Query("SELECT t FROM Trip t WHERE t.status = 'ACTIVE' " +
+           "AND t.departureTime > :now " +
+           "AND t.departureTime >= :windowStart AND t.departureTime < :windowEnd " +
+           "AND LOWER(t.origin) LIKE LOWER(CONCAT('%', :origin, '%')) " +
+           "ORDER BY t.departureTime ASC")
+    List<Trip> searchActiveTripsByOrigin(@Param("now") LocalDateTime now,
+                                         @Param("windowStart") LocalDateTime windowStart,
+                                         @Param("windowEnd") LocalDateTime windowEnd,
+                                         @Param("origin") String origin);
+    
+    @EntityGraph("Trip.withDriver")
+    @Query("SELECT t FROM Trip t WHERE t.status = 'ACTIVE' " +
+           "AND t.departureTime > :now " +
+           "AND t.departureTime >= :windowStart AND t.departureTime < :windowEnd " +
+           "AND LOWER(t.destination) LIKE LOWER(CONCAT('%', :destination, '%')) " +
+           "ORDER BY t.departureTime ASC")
+    List<Trip> searchActiveTripsByDestination(@Param("now") LocalDateTime now,
+                                              @Param("windowStart") LocalDateTime windowStart,
+                                              @Param("windowEnd") LocalDateTime windowEnd,
+                                              @Param("destination") String destination);
+    
+    @EntityGraph("Trip.withDriver")
+    @Query("SELECT t FROM Trip t WHERE t.status = 'ACTIVE' " +
+           "AND t.departureTime > :now " +
+           "AND t.departureTime >= :windowStart AND t.departureTime < :windowEnd " +
+           "AND LOWER(t.origin) LIKE LOWER(CONCAT('%', :origin, '%')) " +
+           "AND LOWER(t.destination) LIKE LOWER(CONCAT('%', :destination, '%')) " +
+           "ORDER BY t.departureTime ASC")
+    List<Trip> searchActiveTripsByRoute(@Param("now") LocalDateTime now,
+                                        @Param("windowStart") LocalDateTime windowStart,
+                                        @Param("windowEnd") LocalDateTime windowEnd,
+                                        @Param("origin") String origin,
+                                        @Param("destination") String destination);
+    
+    // Export cursor: rows are read in fetch-size chunks and must be consumed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Constants.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Trip t JOIN FETCH t.driver " +
+           "WHERE t.departureTime BETWEEN :startDate AND :endDate " +
+           "ORDER BY t.departureTime ASC, t.id ASC")
+    Stream<Trip> streamTripsBetweenDates(@Param("startDate") LocalDateTime startDate,
+                                         @Param("endDate") LocalDateTime endDate);
+    
+    // Keyset pages ordered by (departure_time, id); fetch pageSize + 1 rows to detect a next page
+    @EntityGraph("Trip.withDriver")
+    @Query("SELECT t FROM Trip t WHERE t.status = 'ACTIVE' AND t.departureTime > :now " +
+           "ORDER BY t.departureTime ASC, t.id ASC")
+    List<Trip> findActiveTripsPage(@Param("now") LocalDateTime now, Pageable pageable);
+    
+    @EntityGraph("Trip.withDriver")
+    @Query("SELECT t FROM Trip t WHERE t.status = 'ACTIVE' AND t.departureTime > :now " +
+           "AND t.departureTime >= :afterTime " +
+           "AND (t.departureTime > :afterTime OR t.id > :afterId) " +
+           "ORDER BY t.departureTime ASC, t.id ASC")
+    List<Trip> findActiveTripsPageAfter(@Param("now") LocalDateTime now,
+                                        @Param("afterTime") LocalDateTime afterTime,
+                                        @Param("afterId") Long afterId,
+                                        Pageable pageable);
+    
+    @EntityGraph("Trip.withDriver")
+    @Query("SELECT t FROM Trip t WHERE t.driver.id = :driverId ORDER BY t.departureTime ASC, t.id ASC")
+    List<Trip> findDriverTripsPage(@Param("driverId") Long driverId, Pageable pageable);
+    
+    @EntityGraph("Trip.withDriver")
+    @Query("SELECT t FROM Trip t WHERE t.driver.id = :driverId " +
+           "AND t.departureTime >= :afterTime " +
+           "AND (t.departureTime > :afterTime OR t.id > :afterId) " +
+           "ORDER BY t.departureTime ASC, t.id ASC")
+    List<Trip> findDriverTripsPageAfter(@Param("driverId") Long driverId,
+                                        @Param("afterTime") LocalDateTime afterTime,
+                                        @Param("afterId") Long afterId,
+                                        Pageable pageable);
+    
+    /**
+     * Atomically claims seats on an active trip.
+     * Returns 1 when the seats were reserved, 0 when the trip is full or not active.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Trip t SET t.confirmedSeats = t.confirmedSeats + :seats " +
+           "WHERE t.id = :tripId AND t.status = 'ACTIVE' " +
+           "AND t.confirmedSeats + t.heldSeats + :seats <= t.availableSeats")
+    int reserveSeats(@Param("tripId") Long tripId, @Param("seats") int seats);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Trip t SET t.confirmedSeats = t.confirmedSeats - :seats " +
+           "WHERE t.id = :tripId AND t.confirmedSeats >= :seats")
+    int releaseSeats(@Param("tripId") Long tripId, @Param("seats") int seats);
+    
+    /**
+     * Changes the seat capacity only if it stays at or above the seats already confirmed.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Trip t SET t.availableSeats = :availableSeats " +
+           "WHERE t.id = :tripId AND t.confirmedSeats + t.heldSeats <= :availableSeats")
+    int updateAvailableSeats(@Param("tripId") Long tripId, @Param("availableSeats") int availableSeats);
+    
+    /**
+     * Atomically places a temporary hold on seats of an active trip.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Trip t SET t.heldSeats = t.heldSeats + :seats " +
+           "WHERE t.id = :tripId AND t.status = 'ACTIVE' " +
+           "AND t.confirmedSeats + t.heldSeats + :seats <= t.availableSeats")
+    int holdSeats(@Param("tripId") Long tripId, @Param("seats") int seats);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Trip t SET t.heldSeats = t.heldSeats - :seats " +
+           "WHERE t.id = :tripId AND t.heldSeats >= :seats")
+    int releaseHeldSeats(@Param("tripId") Long tripId, @Param("seats") int seats);
+    
+    /**
+     * Turns held seats into confirmed seats in one statement.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Trip t SET t.heldSeats = t.heldSeats - :seats, t.confirmedSeats = t.confirmedSeats + :seats " +
+           "WHERE t.id = :tripId AND t.heldSeats >= :seats")
+    int confirmHeldSeats(@Param("tripId") Long tripId, @Param("seats") int seats);
+    
+    /**
+     * Locks the oldest ACTIVE trips that have departed, through the V5 partial index.
+     * Rows already locked by another node's sweep are skipped, so concurrent sweeps split the work.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "" + LockOptions.SKIP_LOCKED))
+    @Query("SELECT t FROM Trip t WHERE t.status = 'ACTIVE' AND t.departureTime <= :now " +
+           "ORDER BY t.departureTime ASC, t.id ASC")
+    List<Trip> findDepartedForUpdate(@Param("now") LocalDateTime now, Pageable limit);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Trip t SET t.status = 'COMPLETED' WHERE t.id IN :tripIds AND t.status = 'ACTIVE'")
+    int completeTrips(@Param("tripIds") Collection<Long> tripIds);
+    
+    @Query("SELECT t.departureTime FROM Trip t WHERE t.status = 'ACTIVE' " +
+           "AND t.departureTime > :from AND t.departureTime <= :to")
+    List<LocalDateTime> findDepartureTimesBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    /**
+     * Trips changed after the given time, through the V12 index. updated_at is set by the V1 trigger
+     * on every UPDATE, including the guarded seat updates, so every committed change shows up here.
+     */
+    @Query("SELECT t.id AS id, t.updatedAt AS updatedAt FROM Trip t WHERE t.updatedAt > :since")
+    List<TripChange> findChangedSince(@Param("since") LocalDateTime since);
+    
+    @Query("SELECT MAX(t.updatedAt) FROM Trip t")
+    Optional<LocalDateTime> findLastUpdatedAt();
+    
+    interface TripChange {
+        Long getId();
+        LocalDateTime getUpdatedAt();
+    }
 }
\ No newline at end of file
@@ -1,16 +1,48 @@
 package com.slsolution.taxiruta.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.slsolution.taxiruta.model.User;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     
     Optional<User> findByEmail(String email);
     
     boolean existsByEmail(String email);
+    
+    // Emails only, read in chunks to seed the registration filter; consume inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u.email FROM User u")
+    Stream<String> streamAllEmails();
+    
+    @Query("SELECT u.isActive FROM User u WHERE u.id = :id")
+    Optional<Boolean> findActiveFlagById(@Param("id") Long id);
+    
+    // Keyset pages ordered by id; fetch pageSize + 1 rows to detect a next page
+    @Query("SELECT u FROM User u WHERE u.id > :afterId ORDER BY u.id ASC")
+    List<User> findPageAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Modifying
+    @Query("UPDATE User u SET u.role = :role, u.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE u.email IN :emails AND u.role <> :role")
+    int updateRoleByEmailIn(@Param("emails") Collection<String> emails, @Param("role") User.Role role);
 }
\ No newline at end of file
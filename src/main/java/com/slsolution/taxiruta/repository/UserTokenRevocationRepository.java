@@ -0,0 +1,26 @@
+package com.slsolution.taxiruta.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.slsolution.taxiruta.model.UserTokenRevocation;
+
+@Repository
+public interface UserTokenRevocationRepository extends JpaRepository<UserTokenRevocation, Long> {
+    
+    @Query("SELECT r FROM UserTokenRevocation r WHERE r.revokedBefore > :cutoff")
+    List<UserTokenRevocation> findNewerThan(@Param("cutoff") LocalDateTime cutoff);
+    
+    /**
+     * Removes cutoffs older than the token lifetime: every token they covered has expired.
+     */
+    @Modifying
+    @Query("DELETE FROM UserTokenRevocation r WHERE r.revokedBefore <= :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
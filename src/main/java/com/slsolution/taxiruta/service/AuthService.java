@@ -5,18 +5,27 @@ import com.slsolution.taxiruta.dto.request.UserRegisterRequestDTO;
 import com.slsolution.taxiruta.dto.response.AuthResponseDTO;
 import com.slsolution.taxiruta.dto.response.UserResponseDTO;
 import com.slsolution.taxiruta.exception.BadRequestException;
+import com.slsolution.taxiruta.exception.ServiceOverloadedException;
+import com.slsolution.taxiruta.exception.UnauthorizedException;
 import com.slsolution.taxiruta.model.User;
 import com.slsolution.taxiruta.repository.UserRepository;
 import com.slsolution.taxiruta.util.Constants;
 import com.slsolution.taxiruta.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.Locale;
+
 @Service
 public class AuthService {
 
@@ -35,12 +44,15 @@ public class AuthService {
     @Autowired
     private UserService userService;
 
-    public AuthResponseDTO register(UserRegisterRequestDTO request) {
-        // Validate email doesn't already exist
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new BadRequestException(Constants.ERROR_EMAIL_ALREADY_EXISTS);
-        }
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private RegisteredEmailFilter registeredEmailFilter;
 
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    public AuthResponseDTO register(UserRegisterRequestDTO request) {
         // Validate role
         User.Role role;
         try {
@@ -48,6 +60,16 @@ public class AuthService {
         } catch (IllegalArgumentException e) {
             throw new BadRequestException(Constants.ERROR_INVALID_ROLE);
         }
+        // Administrators are granted through auth.admin-emails, never self-registered
+        if (role == User.Role.ADMIN) {
+            throw new BadRequestException(Constants.ERROR_INVALID_ROLE);
+        }
+
+        // The filter only rules emails out; a possible duplicate is confirmed before hashing the password
+        if (registeredEmailFilter.mightBeRegistered(request.getEmail())
+                && userRepository.existsByEmail(request.getEmail())) {
+            throw new BadRequestException(Constants.ERROR_EMAIL_ALREADY_EXISTS);
+        }
 
         // Create new user using Lombok builder pattern
         User user = User.builder()
@@ -60,7 +82,17 @@ public class AuthService {
                 .isActive(true)
                 .build();
 
-        User savedUser = userRepository.save(user);
+        // Single insert; the unique constraint on users.email rejects duplicates, concurrent ones included
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (isEmailConflict(e, request.getEmail())) {
+                throw new BadRequestException(Constants.ERROR_EMAIL_ALREADY_EXISTS);
+            }
+            throw e;
+        }
+        registeredEmailFilter.add(savedUser.getEmail());
 
         // Generate JWT token
         String token = jwtUtil.generateToken(savedUser);
@@ -99,6 +131,36 @@ public class AuthService {
 
         } catch (BadCredentialsException e) {
             throw new BadCredentialsException(Constants.ERROR_INVALID_CREDENTIALS);
+        } catch (InternalAuthenticationServiceException e) {
+            // The unknown-user path still hashes a dummy password and wraps pool rejections
+            if (e.getCause() instanceof ServiceOverloadedException overloaded) {
+                throw overloaded;
+            }
+            throw e;
+        }
+    }
+
+    public void logout(String authorizationHeader) {
+        if (authorizationHeader == null || !authorizationHeader.startsWith(BEARER_PREFIX)) {
+            throw new UnauthorizedException(Constants.ERROR_INVALID_TOKEN);
+        }
+
+        // Only a valid token can be revoked; an expired one is already unusable
+        Claims claims;
+        try {
+            claims = jwtUtil.verifyToken(authorizationHeader.substring(BEARER_PREFIX.length()));
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new UnauthorizedException(Constants.ERROR_INVALID_TOKEN);
+        }
+
+        tokenRevocationService.revoke(claims);
+    }
+
+    private boolean isEmailConflict(DataIntegrityViolationException e, String email) {
+        // Error path only: trust the violated constraint when the driver names it, otherwise look the email up
+        if (e.getCause() instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+            return violation.getConstraintName().toLowerCase(Locale.ROOT).contains(User.EMAIL_UNIQUE_CONSTRAINT);
         }
+        return userRepository.existsByEmail(email);
     }
 }
\ No newline at end of file
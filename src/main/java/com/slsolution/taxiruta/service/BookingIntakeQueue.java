@@ -0,0 +1,279 @@
+package com.slsolution.taxiruta.service;
+
+import com.slsolution.taxiruta.dto.request.BookingRequestDTO;
+import com.slsolution.taxiruta.dto.response.BookingResponseDTO;
+import com.slsolution.taxiruta.exception.ServiceOverloadedException;
+import com.slsolution.taxiruta.model.User;
+import com.slsolution.taxiruta.util.Constants;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Group-commit intake for booking creation.
+ * With booking.intake.batching.enabled, requests for the same trip are queued and drained in
+ * micro-batches through BookingService.createBookings, so a burst on a hot trip costs one
+ * transaction per batch instead of one per request. Each caller still gets its own result.
+ *
+ * Latency stays bounded: a batch starts at most max-wait-ms after its first request, holds at
+ * most max-batch-size requests, each trip queue is capped at queue-capacity (503 beyond it), and
+ * a caller still queued after timeout-ms gets a 503 and its request is dropped.
+ * When batching is disabled every request goes straight to BookingService.createBooking.
+ */
+@Service
+public class BookingIntakeQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingIntakeQueue.class);
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${booking.intake.batching.enabled:false}")
+    private boolean batchingEnabled;
+
+    @Value("${booking.intake.max-batch-size:50}")
+    private int maxBatchSize;
+
+    @Value("${booking.intake.max-wait-ms:5}")
+    private long maxWaitMillis;
+
+    @Value("${booking.intake.queue-capacity:500}")
+    private int queueCapacity;
+
+    @Value("${booking.intake.timeout-ms:2000}")
+    private long timeoutMillis;
+
+    @Value("${booking.intake.threads:4}")
+    private int threads;
+
+    private final Map<Long, TripQueue> queues = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService drainExecutor;
+    private DistributionSummary batchSizes;
+    private Timer queueWait;
+
+    @PostConstruct
+    public void init() {
+        if (!batchingEnabled) {
+            return;
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "booking-intake-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        drainExecutor = Executors.newScheduledThreadPool(threads, threadFactory);
+        batchSizes = DistributionSummary.builder("taxiruta.bookings.intake.batch.size")
+                .description("Booking requests created per intake batch")
+                .register(meterRegistry);
+        queueWait = Timer.builder("taxiruta.bookings.intake.wait")
+                .description("Time booking requests waited in the intake queue before their batch started")
+                .register(meterRegistry);
+        log.info("Booking intake batching enabled: up to {} requests per batch, {} ms max wait",
+                maxBatchSize, maxWaitMillis);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (drainExecutor != null) {
+            drainExecutor.shutdown();
+        }
+    }
+
+    public BookingResponseDTO createBooking(Long tripId, BookingRequestDTO request, User passenger) {
+        if (!batchingEnabled) {
+            return bookingService.createBooking(tripId, request, passenger);
+        }
+
+        PendingBooking pending = new PendingBooking(
+                new BookingService.IntakeRequest(passenger.getId(), request.getSeatsRequested()));
+        while (!queues.computeIfAbsent(tripId, TripQueue::new).offer(pending)) {
+            // Found a queue just retired by its drain; the next lookup gets its replacement
+        }
+        return await(pending);
+    }
+
+    private BookingResponseDTO await(PendingBooking pending) {
+        try {
+            try {
+                return pending.result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (pending.state.compareAndSet(PendingBooking.QUEUED, PendingBooking.ABANDONED)) {
+                    throw new ServiceOverloadedException(Constants.ERROR_SERVICE_OVERLOADED);
+                }
+                // Already part of a running batch: its outcome is about to be known and must be reported
+                return pending.result.get();
+            }
+        } catch (InterruptedException e) {
+            pending.state.compareAndSet(PendingBooking.QUEUED, PendingBooking.ABANDONED);
+            Thread.currentThread().interrupt();
+            throw new ServiceOverloadedException(Constants.ERROR_SERVICE_OVERLOADED);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void process(Long tripId, List<PendingBooking> batch) {
+        long now = System.nanoTime();
+        batch.forEach(pending -> queueWait.record(now - pending.enqueuedAt, TimeUnit.NANOSECONDS));
+        batchSizes.record(batch.size());
+
+        List<BookingService.IntakeResult> results;
+        try {
+            results = bookingService.createBookings(tripId,
+                    batch.stream().map(pending -> pending.request).toList());
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).result.completeExceptionally(e);
+                return;
+            }
+            // The batch failed as a whole (e.g. unknown trip or a unique constraint hit by a concurrent
+            // direct booking); retry one by one so every caller gets the error that applies to it
+            log.debug("Booking intake batch for trip {} failed, creating {} bookings individually",
+                    tripId, batch.size(), e);
+            batch.forEach(pending -> processIndividually(tripId, pending));
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            BookingService.IntakeResult result = results.get(i);
+            if (result.error() != null) {
+                batch.get(i).result.completeExceptionally(result.error());
+            } else {
+                batch.get(i).result.complete(result.booking());
+            }
+        }
+    }
+
+    private void processIndividually(Long tripId, PendingBooking pending) {
+        try {
+            List<BookingService.IntakeResult> results = bookingService.createBookings(tripId, List.of(pending.request));
+            BookingService.IntakeResult result = results.get(0);
+            if (result.error() != null) {
+                pending.result.completeExceptionally(result.error());
+            } else {
+                pending.result.complete(result.booking());
+            }
+        } catch (RuntimeException e) {
+            pending.result.completeExceptionally(e);
+        }
+    }
+
+    private static final class PendingBooking {
+
+        static final int QUEUED = 0;
+        static final int CLAIMED = 1;
+        static final int ABANDONED = 2;
+
+        final BookingService.IntakeRequest request;
+        final CompletableFuture<BookingResponseDTO> result = new CompletableFuture<>();
+        final AtomicInteger state = new AtomicInteger(QUEUED);
+        final long enqueuedAt = System.nanoTime();
+
+        PendingBooking(BookingService.IntakeRequest request) {
+            this.request = request;
+        }
+    }
+
+    // Requests for one trip, drained by at most one task at a time
+    private final class TripQueue {
+
+        private final Long tripId;
+        // A lock rather than synchronized so waiting request threads do not pin virtual threads
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ArrayDeque<PendingBooking> pending = new ArrayDeque<>();
+        private boolean draining;
+        // Set once the queue leaves the map; a retired queue takes no requests, so a trip never has two drains
+        private boolean retired;
+
+        TripQueue(Long tripId) {
+            this.tripId = tripId;
+        }
+
+        /**
+         * Returns false when the queue was retired, so the caller must look up the current one.
+         */
+        boolean offer(PendingBooking booking) {
+            boolean startDrain;
+            lock.lock();
+            try {
+                if (retired) {
+                    return false;
+                }
+                if (pending.size() >= queueCapacity) {
+                    throw new ServiceOverloadedException(Constants.ERROR_SERVICE_OVERLOADED);
+                }
+                pending.add(booking);
+                startDrain = !draining;
+                draining = true;
+            } finally {
+                lock.unlock();
+            }
+            if (startDrain) {
+                // Wait briefly so requests arriving together share the first batch
+                drainExecutor.schedule(this::drain, maxWaitMillis, TimeUnit.MILLISECONDS);
+            }
+            return true;
+        }
+
+        private void drain() {
+            while (true) {
+                List<PendingBooking> batch = new ArrayList<>();
+                lock.lock();
+                try {
+                    while (batch.size() < maxBatchSize && !pending.isEmpty()) {
+                        PendingBooking next = pending.poll();
+                        // Callers that timed out are skipped; claimed ones will wait for the result
+                        if (next.state.compareAndSet(PendingBooking.QUEUED, PendingBooking.CLAIMED)) {
+                            batch.add(next);
+                        }
+                    }
+                    if (batch.isEmpty()) {
+                        draining = false;
+                        // Retired under the lock, so no request can slip in between the last poll and the removal
+                        retired = true;
+                        queues.remove(tripId, this);
+                        return;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+
+                try {
+                    process(tripId, batch);
+                } catch (RuntimeException e) {
+                    batch.forEach(booking -> booking.result.completeExceptionally(e));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.slsolution.taxiruta.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Business counters for the booking flow, published next to the technical metrics.
+ * Counters move only after the surrounding transaction commits, so rolled-back
+ * confirmations (for example a trip that filled up meanwhile) are never counted.
+ */
+@Component
+public class BookingMetrics {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Counter created;
+    private Counter confirmed;
+    private Counter rejected;
+    private Counter cancelled;
+    private Counter expired;
+    private Counter seatsSold;
+    private Counter seatsReleased;
+
+    @PostConstruct
+    public void init() {
+        created = bookingCounter("created");
+        confirmed = bookingCounter("confirmed");
+        rejected = bookingCounter("rejected");
+        cancelled = bookingCounter("cancelled");
+        expired = bookingCounter("expired");
+        seatsSold = Counter.builder("taxiruta.seats.sold")
+                .description("Seats confirmed to passengers")
+                .register(meterRegistry);
+        seatsReleased = Counter.builder("taxiruta.seats.released")
+                .description("Confirmed seats given back by cancellations")
+                .register(meterRegistry);
+    }
+
+    public void bookingCreated() {
+        afterCommit(created::increment);
+    }
+
+    public void bookingsConfirmed(int bookings, int seats) {
+        afterCommit(() -> {
+            confirmed.increment(bookings);
+            seatsSold.increment(seats);
+        });
+    }
+
+    public void bookingsRejected(int bookings) {
+        afterCommit(() -> rejected.increment(bookings));
+    }
+
+    public void bookingCancelled(int releasedSeats) {
+        afterCommit(() -> {
+            cancelled.increment();
+            seatsReleased.increment(releasedSeats);
+        });
+    }
+
+    public void bookingsExpired(int bookings) {
+        afterCommit(() -> expired.increment(bookings));
+    }
+
+    private Counter bookingCounter(String event) {
+        return Counter.builder("taxiruta.bookings")
+                .description("Booking lifecycle events")
+                .tag("event", event)
+                .register(meterRegistry);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -1,9 +1,15 @@
 package com.slsolution.taxiruta.service;
 
+import com.slsolution.taxiruta.dto.request.BookingDecisionDTO;
 import com.slsolution.taxiruta.dto.request.BookingRequestDTO;
+import com.slsolution.taxiruta.dto.response.BookingDecisionResultDTO;
 import com.slsolution.taxiruta.dto.response.BookingResponseDTO;
+import com.slsolution.taxiruta.dto.response.CursorPageResponseDTO;
 import com.slsolution.taxiruta.dto.response.UserResponseDTO;
+import com.slsolution.taxiruta.event.BookingStatusChangedEvent;
+import com.slsolution.taxiruta.event.DomainEventType;
 import com.slsolution.taxiruta.exception.BadRequestException;
+import com.slsolution.taxiruta.exception.ConflictException;
 import com.slsolution.taxiruta.exception.ResourceNotFoundException;
 import com.slsolution.taxiruta.exception.UnauthorizedException;
 import com.slsolution.taxiruta.model.Booking;
@@ -11,15 +17,30 @@ import com.slsolution.taxiruta.model.Trip;
 import com.slsolution.taxiruta.model.User;
 import com.slsolution.taxiruta.repository.BookingRepository;
 import com.slsolution.taxiruta.util.Constants;
+import com.slsolution.taxiruta.util.PageCursor;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "taxiruta.service", description = "Time spent in service methods")
 public class BookingService {
 
     @Autowired
@@ -31,6 +52,16 @@ public class BookingService {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private BookingMetrics bookingMetrics;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Transactional
     public BookingResponseDTO createBooking(Long tripId, BookingRequestDTO request, User passenger) {
         Trip trip = tripService.getTripById(tripId);
 
@@ -41,7 +72,7 @@ public class BookingService {
 
         // Validate that passenger is not the driver
         if (trip.getDriver().getId().equals(passenger.getId())) {
-            throw new BadRequestException("Driver cannot book their own trip");
+            throw new BadRequestException(Constants.ERROR_DRIVER_OWN_TRIP);
         }
 
         // Validate that passenger doesn't already have a booking for this trip
@@ -50,25 +81,123 @@ public class BookingService {
             throw new BadRequestException(Constants.ERROR_BOOKING_ALREADY_EXISTS);
         }
 
-        // Validate available seats
+        // Early rejection only; seats are claimed atomically when the driver confirms
         if (request.getSeatsRequested() > trip.getRemainingSeats()) {
             throw new BadRequestException(Constants.ERROR_INSUFFICIENT_SEATS);
         }
 
+        Booking booking = buildBooking(trip, passenger, request.getSeatsRequested());
+
+        Booking savedBooking = bookingRepository.save(booking);
+        bookingMetrics.bookingCreated();
+        statusChanged(savedBooking);
+        return convertToResponseDTO(savedBooking);
+    }
+
+    /**
+     * A booking request waiting in the intake queue of its trip.
+     */
+    public record IntakeRequest(Long passengerId, int seatsRequested) {
+    }
+
+    /**
+     * Outcome of one intake request: the created booking, or the error the direct path would have thrown.
+     */
+    public record IntakeResult(BookingResponseDTO booking, RuntimeException error) {
+    }
+
+    /**
+     * Creates the bookings of one trip in a single transaction, applying the same checks as
+     * createBooking to each request: one trip load, one duplicate lookup for the whole batch,
+     * one user load and one batched insert. A request that fails its checks gets its own error
+     * and does not affect the others; results are returned in request order.
+     */
+    @Transactional
+    public List<IntakeResult> createBookings(Long tripId, List<IntakeRequest> requests) {
+        Trip trip = tripService.getTripById(tripId);
+
+        Set<Long> passengerIds = requests.stream().map(IntakeRequest::passengerId).collect(Collectors.toSet());
+        // Passengers already booked on the trip, plus those accepted earlier in this batch
+        Set<Long> booked = new HashSet<>(bookingRepository.findPassengerIdsWithBooking(tripId, passengerIds));
+        Map<Long, User> passengers = userService.getUsersById(passengerIds);
+        // Early rejection only, as in createBooking; pending bookings do not claim seats
+        int remainingSeats = trip.getRemainingSeats();
+
+        IntakeResult[] results = new IntakeResult[requests.size()];
+        List<Booking> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            IntakeRequest request = requests.get(i);
+            User passenger = passengers.get(request.passengerId());
+            RuntimeException error = null;
+            if (trip.getStatus() != Trip.Status.ACTIVE) {
+                error = new BadRequestException(Constants.ERROR_TRIP_NOT_ACTIVE);
+            } else if (passenger == null) {
+                error = new ResourceNotFoundException(Constants.ERROR_USER_NOT_FOUND);
+            } else if (trip.getDriver().getId().equals(request.passengerId())) {
+                error = new BadRequestException(Constants.ERROR_DRIVER_OWN_TRIP);
+            } else if (!booked.add(request.passengerId())) {
+                error = new BadRequestException(Constants.ERROR_BOOKING_ALREADY_EXISTS);
+            } else if (request.seatsRequested() > remainingSeats) {
+                booked.remove(request.passengerId());
+                error = new BadRequestException(Constants.ERROR_INSUFFICIENT_SEATS);
+            }
+
+            if (error != null) {
+                results[i] = new IntakeResult(null, error);
+            } else {
+                Booking booking = buildBooking(trip, passenger, request.seatsRequested());
+                // The loaded user, not a reference, so building the response does not query per booking
+                booking.setPassenger(passenger);
+                accepted.add(booking);
+                acceptedIndexes.add(i);
+            }
+        }
+
+        bookingRepository.insertAll(accepted);
+        for (int i = 0; i < accepted.size(); i++) {
+            results[acceptedIndexes.get(i)] = new IntakeResult(convertToResponseDTO(accepted.get(i)), null);
+            bookingMetrics.bookingCreated();
+            statusChanged(accepted.get(i));
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Creates an already confirmed booking for seats that were held by the passenger.
+     * The caller must have moved the seats from held to confirmed in the same transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public BookingResponseDTO createConfirmedBooking(Trip trip, User passenger, int seats) {
+        if (bookingRepository.findByTripIdAndPassengerId(trip.getId(), passenger.getId()).isPresent()) {
+            throw new BadRequestException(Constants.ERROR_BOOKING_ALREADY_EXISTS);
+        }
+
+        Booking booking = buildBooking(trip, passenger, seats);
+        booking.confirm();
+
+        Booking savedBooking = bookingRepository.save(booking);
+        bookingMetrics.bookingCreated();
+        bookingMetrics.bookingsConfirmed(1, seats);
+        recordOutbox(DomainEventType.BOOKING_CONFIRMED, savedBooking, Booking.Status.CONFIRMED);
+        statusChanged(savedBooking);
+        return convertToResponseDTO(savedBooking);
+    }
+
+    private Booking buildBooking(Trip trip, User passenger, int seats) {
         // Calculate total price
-        BigDecimal totalPrice = trip.getPricePerSeat().multiply(BigDecimal.valueOf(request.getSeatsRequested()));
+        BigDecimal totalPrice = trip.getPricePerSeat().multiply(BigDecimal.valueOf(seats));
 
         Booking booking = new Booking();
         booking.setTrip(trip);
-        booking.setPassenger(passenger);
-        booking.setSeatsRequested(request.getSeatsRequested());
+        booking.setPassenger(userService.getUserReference(passenger.getId()));
+        booking.setSeatsRequested(seats);
         booking.setTotalPrice(totalPrice);
         booking.setStatus(Booking.Status.PENDING);
-
-        Booking savedBooking = bookingRepository.save(booking);
-        return convertToResponseDTO(savedBooking);
+        return booking;
     }
 
+    @Transactional
     public BookingResponseDTO confirmBooking(Long bookingId, User driver) {
         Booking booking = getBookingById(bookingId);
 
@@ -79,19 +208,28 @@ public class BookingService {
 
         // Validate booking is pending
         if (booking.getStatus() != Booking.Status.PENDING) {
-            throw new BadRequestException("Booking is not pending");
+            throw new BadRequestException(Constants.ERROR_BOOKING_NOT_PENDING);
         }
 
-        // Check if there are still available seats
-        if (booking.getSeatsRequested() > booking.getTrip().getRemainingSeats()) {
+        // Claim the booking first so two confirmations of the same booking cannot both reserve seats
+        if (bookingRepository.transitionStatus(bookingId, Booking.Status.PENDING, Booking.Status.CONFIRMED) == 0) {
+            throw new BadRequestException(Constants.ERROR_BOOKING_NOT_PENDING);
+        }
+
+        // Reserve seats with one conditional update; rolls back the status change when the trip is full
+        if (!tripService.reserveSeats(booking.getTrip().getId(), booking.getSeatsRequested())) {
             throw new BadRequestException(Constants.ERROR_INSUFFICIENT_SEATS);
         }
 
         booking.confirm();
         Booking savedBooking = bookingRepository.save(booking);
+        bookingMetrics.bookingsConfirmed(1, booking.getSeatsRequested());
+        recordOutbox(DomainEventType.BOOKING_CONFIRMED, savedBooking, Booking.Status.CONFIRMED);
+        statusChanged(savedBooking);
         return convertToResponseDTO(savedBooking);
     }
 
+    @Transactional
     public BookingResponseDTO rejectBooking(Long bookingId, User driver) {
         Booking booking = getBookingById(bookingId);
 
@@ -102,14 +240,118 @@ public class BookingService {
 
         // Validate booking is pending
         if (booking.getStatus() != Booking.Status.PENDING) {
-            throw new BadRequestException("Booking is not pending");
+            throw new BadRequestException(Constants.ERROR_BOOKING_NOT_PENDING);
+        }
+
+        // Guard against a concurrent confirmation of the same booking
+        if (bookingRepository.transitionStatus(bookingId, Booking.Status.PENDING, Booking.Status.REJECTED) == 0) {
+            throw new BadRequestException(Constants.ERROR_BOOKING_NOT_PENDING);
         }
 
         booking.reject();
         Booking savedBooking = bookingRepository.save(booking);
+        bookingMetrics.bookingsRejected(1);
+        recordOutbox(DomainEventType.BOOKING_REJECTED, savedBooking, Booking.Status.REJECTED);
+        statusChanged(savedBooking);
         return convertToResponseDTO(savedBooking);
     }
 
+    /**
+     * Applies a driver's accept/reject decisions for several bookings of one trip.
+     * All accepted seats are claimed with a single guarded update and the status changes
+     * are written with one statement per decision type, all in the same transaction.
+     */
+    @Transactional
+    public List<BookingDecisionResultDTO> decideBookings(Long tripId, List<BookingDecisionDTO> decisions, User driver) {
+        Trip trip = tripService.getTripById(tripId);
+
+        // Only the trip driver can decide on bookings
+        if (!trip.getDriver().getId().equals(driver.getId())) {
+            throw new UnauthorizedException("Only the trip driver can confirm bookings");
+        }
+
+        Set<Long> requestedIds = decisions.stream()
+                .map(BookingDecisionDTO::getBookingId)
+                .collect(Collectors.toSet());
+        Map<Long, Booking> bookings = bookingRepository.findByTripIdAndIdIn(tripId, requestedIds).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+
+        // Validate each decision in request order; accepted seats are budgeted against one availability read
+        BookingDecisionResultDTO[] results = new BookingDecisionResultDTO[decisions.size()];
+        List<Integer> acceptIndexes = new ArrayList<>();
+        List<Long> acceptIds = new ArrayList<>();
+        List<Long> rejectIds = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        int remainingSeats = trip.getStatus() == Trip.Status.ACTIVE ? trip.getRemainingSeats() : 0;
+        int acceptedSeats = 0;
+
+        for (int i = 0; i < decisions.size(); i++) {
+            BookingDecisionDTO decision = decisions.get(i);
+            Long bookingId = decision.getBookingId();
+            String action = decision.getDecision().name();
+            Booking booking = bookings.get(bookingId);
+
+            if (!seen.add(bookingId)) {
+                results[i] = BookingDecisionResultDTO.failure(bookingId, action, null, Constants.ERROR_DUPLICATE_DECISION);
+            } else if (booking == null) {
+                results[i] = BookingDecisionResultDTO.failure(bookingId, action, null, Constants.ERROR_BOOKING_NOT_FOUND);
+            } else if (!booking.isPending()) {
+                results[i] = BookingDecisionResultDTO.failure(bookingId, action, booking.getStatus().name(),
+                        Constants.ERROR_BOOKING_NOT_PENDING);
+            } else if (decision.getDecision() == BookingDecisionDTO.Decision.REJECT) {
+                rejectIds.add(bookingId);
+                results[i] = BookingDecisionResultDTO.success(bookingId, action, Booking.Status.REJECTED.name());
+            } else if (acceptedSeats + booking.getSeatsRequested() > remainingSeats) {
+                results[i] = BookingDecisionResultDTO.failure(bookingId, action, Booking.Status.PENDING.name(),
+                        trip.getStatus() == Trip.Status.ACTIVE
+                                ? Constants.ERROR_INSUFFICIENT_SEATS : Constants.ERROR_TRIP_NOT_ACTIVE);
+            } else {
+                acceptedSeats += booking.getSeatsRequested();
+                acceptIndexes.add(i);
+                acceptIds.add(bookingId);
+                results[i] = BookingDecisionResultDTO.success(bookingId, action, Booking.Status.CONFIRMED.name());
+            }
+        }
+
+        // Lock order is booking rows, then the trip row, as in confirmBooking and cancelBooking, so a
+        // single decision racing this batch waits instead of deadlocking. Keep it when adding writes here.
+        // A booking that left PENDING after it was read would make the seat count wrong, so retry the whole batch
+        if (!acceptIds.isEmpty() && bookingRepository.transitionPendingBookings(
+                acceptIds, Booking.Status.CONFIRMED, LocalDateTime.now()) != acceptIds.size()) {
+            throw new ConflictException(Constants.ERROR_BOOKINGS_CHANGED_CONCURRENTLY);
+        }
+        if (!rejectIds.isEmpty() && bookingRepository.transitionPendingBookings(
+                rejectIds, Booking.Status.REJECTED, null) != rejectIds.size()) {
+            throw new ConflictException(Constants.ERROR_BOOKINGS_CHANGED_CONCURRENTLY);
+        }
+
+        // One seat check for the whole batch; if another request took seats meanwhile, no accept goes
+        // through and the accepted bookings, still locked by this transaction, go back to PENDING
+        if (acceptedSeats > 0 && !tripService.reserveSeats(tripId, acceptedSeats)) {
+            bookingRepository.revertToPending(acceptIds);
+            for (int index : acceptIndexes) {
+                BookingDecisionDTO decision = decisions.get(index);
+                results[index] = BookingDecisionResultDTO.failure(decision.getBookingId(), decision.getDecision().name(),
+                        Booking.Status.PENDING.name(), Constants.ERROR_INSUFFICIENT_SEATS);
+            }
+            acceptIds.clear();
+        }
+
+        if (!acceptIds.isEmpty()) {
+            bookingMetrics.bookingsConfirmed(acceptIds.size(), acceptedSeats);
+        }
+        if (!rejectIds.isEmpty()) {
+            bookingMetrics.bookingsRejected(rejectIds.size());
+        }
+        // The bulk updates bypass the loaded entities, so the new status is given explicitly
+        acceptIds.forEach(id -> recordOutbox(DomainEventType.BOOKING_CONFIRMED, bookings.get(id), Booking.Status.CONFIRMED));
+        rejectIds.forEach(id -> recordOutbox(DomainEventType.BOOKING_REJECTED, bookings.get(id), Booking.Status.REJECTED));
+        acceptIds.forEach(id -> statusChanged(bookings.get(id), Booking.Status.CONFIRMED));
+        rejectIds.forEach(id -> statusChanged(bookings.get(id), Booking.Status.REJECTED));
+        return Arrays.asList(results);
+    }
+
+    @Transactional
     public void cancelBooking(Long bookingId, User user) {
         Booking booking = getBookingById(bookingId);
 
@@ -126,8 +368,44 @@ public class BookingService {
             throw new BadRequestException("Cannot cancel this booking");
         }
 
+        // Only one concurrent cancellation wins, so confirmed seats are released exactly once
+        Booking.Status previousStatus = booking.getStatus();
+        if (bookingRepository.transitionStatus(bookingId, previousStatus, Booking.Status.CANCELLED) == 0) {
+            throw new BadRequestException("Cannot cancel this booking");
+        }
+
+        if (previousStatus == Booking.Status.CONFIRMED) {
+            tripService.releaseSeats(booking.getTrip().getId(), booking.getSeatsRequested());
+        }
+
         booking.cancel();
         bookingRepository.save(booking);
+        bookingMetrics.bookingCancelled(previousStatus == Booking.Status.CONFIRMED ? booking.getSeatsRequested() : 0);
+        recordOutbox(DomainEventType.BOOKING_CANCELLED, booking, Booking.Status.CANCELLED);
+        statusChanged(booking);
+    }
+
+    /**
+     * Moves one chunk of PENDING bookings past their deadline to EXPIRED with a single UPDATE:
+     * bookings made before the cutoff, and bookings on trips that departed or stopped being active.
+     * Returns how many bookings the chunk held; the caller repeats while chunks come back full.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int expirePendingBookings(LocalDateTime cutoff, LocalDateTime now, int limit) {
+        List<Booking> bookings = bookingRepository.findExpiredPendingForUpdate(cutoff, now, PageRequest.ofSize(limit));
+        if (bookings.isEmpty()) {
+            return 0;
+        }
+
+        // The rows are locked, so every one of them changes; a concurrent decision waits and then finds it expired
+        List<Long> bookingIds = bookings.stream().map(Booking::getId).toList();
+        bookingRepository.transitionPendingBookings(bookingIds, Booking.Status.EXPIRED, null);
+        // Initializes the trips of the chunk in one statement; the events below need each trip's driver
+        bookingRepository.findWithTripByIdIn(bookingIds);
+        bookingMetrics.bookingsExpired(bookings.size());
+        bookings.forEach(booking -> recordOutbox(DomainEventType.BOOKING_EXPIRED, booking, Booking.Status.EXPIRED));
+        bookings.forEach(booking -> statusChanged(booking, Booking.Status.EXPIRED));
+        return bookings.size();
     }
 
     public Booking getBookingById(Long id) {
@@ -135,6 +413,7 @@ public class BookingService {
                 .orElseThrow(() -> new ResourceNotFoundException(Constants.ERROR_BOOKING_NOT_FOUND));
     }
 
+    @Transactional(readOnly = true)
     public BookingResponseDTO getBookingResponseById(Long id) {
         Booking booking = getBookingById(id);
         return convertToResponseDTO(booking);
@@ -161,6 +440,29 @@ public class BookingService {
                 .collect(Collectors.toList());
     }
 
+    public CursorPageResponseDTO<BookingResponseDTO> getBookingsByTrip(Long tripId, String cursor, Integer size) {
+        int pageSize = PageCursor.pageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        PageRequest limit = PageRequest.ofSize(pageSize + 1);
+
+        List<Booking> bookings = after == null
+                ? bookingRepository.findTripBookingsPage(tripId, limit)
+                : bookingRepository.findTripBookingsPageAfter(tripId, after.getTimestamp(), after.getId(), limit);
+        return CursorPageResponseDTO.of(bookings, pageSize, this::convertToResponseDTO, this::cursorOf);
+    }
+
+    public CursorPageResponseDTO<BookingResponseDTO> getBookingsByPassenger(Long passengerId, String cursor, Integer size) {
+        int pageSize = PageCursor.pageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        PageRequest limit = PageRequest.ofSize(pageSize + 1);
+
+        List<Booking> bookings = after == null
+                ? bookingRepository.findPassengerBookingsPage(passengerId, limit)
+                : bookingRepository.findPassengerBookingsPageAfter(passengerId, after.getTimestamp(), after.getId(), limit);
+        return CursorPageResponseDTO.of(bookings, pageSize, this::convertToResponseDTO, this::cursorOf);
+    }
+
+    @Transactional(readOnly = true)
     public List<BookingResponseDTO> getPendingBookingsForDriver(User driver) {
         List<Booking> bookings = bookingRepository.findPendingBookingsForDriver(driver);
         return bookings.stream()
@@ -182,4 +484,31 @@ public class BookingService {
                 booking.getConfirmedDate()
         );
     }
+
+    private void statusChanged(Booking booking) {
+        statusChanged(booking, booking.getStatus());
+    }
+
+    private void statusChanged(Booking booking, Booking.Status status) {
+        Trip trip = booking.getTrip();
+        eventPublisher.publishEvent(new BookingStatusChangedEvent(
+                booking.getId(), trip.getId(), booking.getPassenger().getId(), trip.getDriver().getId(), status));
+    }
+
+    // Runs after the guarded status update, so the booking row is locked before the event takes its id
+    private void recordOutbox(DomainEventType type, Booking booking, Booking.Status status) {
+        Trip trip = booking.getTrip();
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("bookingId", booking.getId());
+        payload.put("tripId", trip.getId());
+        payload.put("passengerId", booking.getPassenger().getId());
+        payload.put("driverId", trip.getDriver().getId());
+        payload.put("seats", booking.getSeatsRequested());
+        payload.put("status", status.name());
+        outboxService.record(type, booking.getId(), payload);
+    }
+
+    private String cursorOf(Booking booking) {
+        return PageCursor.encode(booking.getBookingDate(), booking.getId());
+    }
 }
\ No newline at end of file
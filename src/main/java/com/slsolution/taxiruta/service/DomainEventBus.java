@@ -0,0 +1,61 @@
+package com.slsolution.taxiruta.service;
+
+import com.slsolution.taxiruta.event.DomainEvent;
+import com.slsolution.taxiruta.event.DomainEventSubscriber;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-process fan-out of outbox events to their subscribers.
+ * Subscriber beans are registered at startup; tests and local tools can add more at runtime.
+ * A delivery succeeds only when every accepting subscriber handled the event; the first
+ * failure is rethrown so the relay retries the event.
+ */
+@Service
+public class DomainEventBus {
+
+    @Autowired
+    private ObjectProvider<DomainEventSubscriber> subscriberBeans;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final List<DomainEventSubscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    @PostConstruct
+    public void init() {
+        subscriberBeans.orderedStream().forEach(subscribers::add);
+    }
+
+    public void subscribe(DomainEventSubscriber subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    public void unsubscribe(DomainEventSubscriber subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    public void publish(DomainEvent event) {
+        for (DomainEventSubscriber subscriber : subscribers) {
+            if (subscriber.accepts(event)) {
+                Timer.builder("taxiruta.outbox.subscriber")
+                        .description("Time outbox subscribers spent handling an event")
+                        .tag("subscriber", nameOf(subscriber))
+                        .register(meterRegistry)
+                        .record(() -> subscriber.onEvent(event));
+            }
+        }
+    }
+
+    private static String nameOf(DomainEventSubscriber subscriber) {
+        String name = subscriber.getClass().getSimpleName();
+        return name.isEmpty() ? subscriber.getClass().getName() : name;
+    }
+}
@@ -0,0 +1,245 @@
+package com.slsolution.taxiruta.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.slsolution.taxiruta.config.WebSocketConfig;
+import com.slsolution.taxiruta.dto.response.BookingResponseDTO;
+import com.slsolution.taxiruta.dto.response.DriverSocketMessageDTO;
+import com.slsolution.taxiruta.event.BookingStatusChangedEvent;
+import com.slsolution.taxiruta.model.User;
+import com.slsolution.taxiruta.util.StripedExecutor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PingMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes booking changes on a driver's trips to that driver's open WebSocket sessions.
+ * A session first receives the driver's pending bookings, then one message per booking that is
+ * created, confirmed, rejected or cancelled, so the driver no longer polls for requests.
+ *
+ * Every session is wrapped in a ConcurrentWebSocketSessionDecorator: a slow consumer gets its
+ * messages buffered up to buffer-size-limit, and a session whose send blocks longer than
+ * send-time-limit-ms or whose buffer overflows is closed; the client reconnects and gets a fresh
+ * snapshot. Writes happen on a small dispatch pool, never on the thread that committed the change,
+ * and all writes for one driver go through the same lane so they arrive in commit order.
+ * A periodic ping keeps idle connections open through proxies, and sessions are closed once the
+ * token they were opened with expires or is revoked. Revocation is also checked before every
+ * command, so a logged-out token cannot accept or reject bookings until the next ping.
+ */
+@Service
+public class DriverBookingChannel {
+
+    private static final Logger log = LoggerFactory.getLogger(DriverBookingChannel.class);
+
+    private static final String DECORATED_SESSION_ATTRIBUTE = "decoratedSession";
+    private static final String DRIVER_ID_ATTRIBUTE = "driverId";
+    private static final CloseStatus TOKEN_EXPIRED = CloseStatus.POLICY_VIOLATION.withReason("Token expired");
+    private static final CloseStatus TOKEN_REVOKED = CloseStatus.POLICY_VIOLATION.withReason("Token revoked");
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${websocket.driver.send-time-limit-ms:5000}")
+    private int sendTimeLimitMillis;
+
+    @Value("${websocket.driver.buffer-size-limit:65536}")
+    private int bufferSizeLimit;
+
+    @Value("${websocket.driver.max-message-size:8192}")
+    private int maxMessageSize;
+
+    @Value("${websocket.driver.dispatch-threads:2}")
+    private int dispatchThreads;
+
+    @Value("${websocket.driver.dispatch-queue-capacity:10000}")
+    private int dispatchQueueCapacity;
+
+    private final Map<Long, Set<WebSocketSession>> driverSessions = new ConcurrentHashMap<>();
+    private final AtomicInteger sessionCount = new AtomicInteger();
+
+    private StripedExecutor dispatcher;
+
+    @PostConstruct
+    public void init() {
+        dispatcher = new StripedExecutor("driver-channel-", dispatchThreads, dispatchQueueCapacity);
+
+        Gauge.builder("taxiruta.ws.driver.sessions", sessionCount, AtomicInteger::get)
+                .description("Open driver WebSocket sessions")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        driverSessions.values().forEach(sessions -> sessions.forEach(session -> close(session, CloseStatus.GOING_AWAY)));
+    }
+
+    /**
+     * Registers a newly opened session of the given driver and sends it the driver's pending bookings.
+     */
+    public void register(WebSocketSession session, User driver) {
+        session.setTextMessageSizeLimit(maxMessageSize);
+        session.setBinaryMessageSizeLimit(maxMessageSize);
+        WebSocketSession decorated = new ConcurrentWebSocketSessionDecorator(session, sendTimeLimitMillis, bufferSizeLimit);
+        session.getAttributes().put(DECORATED_SESSION_ATTRIBUTE, decorated);
+        session.getAttributes().put(DRIVER_ID_ATTRIBUTE, driver.getId());
+
+        driverSessions.compute(driver.getId(), (id, sessions) -> {
+            Set<WebSocketSession> updated = sessions != null ? sessions : ConcurrentHashMap.newKeySet();
+            updated.add(decorated);
+            return updated;
+        });
+        sessionCount.incrementAndGet();
+
+        dispatcher.execute(driver.getId(), () -> send(decorated,
+                DriverSocketMessageDTO.snapshot(bookingService.getPendingBookingsForDriver(driver))));
+    }
+
+    public void unregister(WebSocketSession session) {
+        Object decorated = session.getAttributes().remove(DECORATED_SESSION_ATTRIBUTE);
+        Long driverId = (Long) session.getAttributes().get(DRIVER_ID_ATTRIBUTE);
+        if (decorated == null || driverId == null) {
+            return;
+        }
+        sessionCount.decrementAndGet();
+        driverSessions.computeIfPresent(driverId, (id, sessions) -> {
+            sessions.remove(decorated);
+            return sessions.isEmpty() ? null : sessions;
+        });
+    }
+
+    /**
+     * Replies on the session a message arrived on, through the same backpressure as pushed events.
+     */
+    public void reply(WebSocketSession session, DriverSocketMessageDTO message) {
+        Object decorated = session.getAttributes().get(DECORATED_SESSION_ATTRIBUTE);
+        if (decorated instanceof WebSocketSession decoratedSession) {
+            send(decoratedSession, message);
+        }
+    }
+
+    public int getSessionCount() {
+        return sessionCount.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        if (!driverSessions.containsKey(event.driverId())) {
+            return;
+        }
+        dispatcher.execute(event.driverId(), () -> {
+            Set<WebSocketSession> sessions = driverSessions.get(event.driverId());
+            if (sessions == null) {
+                return;
+            }
+            try {
+                // Loaded once for all of the driver's sessions, with the status as of now
+                BookingResponseDTO booking = bookingService.getBookingResponseById(event.bookingId());
+                TextMessage message = serialize(DriverSocketMessageDTO.booking(booking));
+                sessions.forEach(session -> send(session, message));
+            } catch (RuntimeException e) {
+                log.warn("Failed to push booking {} to driver {}", event.bookingId(), event.driverId(), e);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${websocket.driver.ping-interval-ms:30000}",
+            initialDelayString = "${websocket.driver.ping-interval-ms:30000}")
+    public void ping() {
+        Instant now = Instant.now();
+        driverSessions.forEach((driverId, sessions) -> dispatcher.execute(driverId, () -> sessions.forEach(session -> {
+            Object expiration = session.getAttributes().get(WebSocketConfig.TOKEN_EXPIRATION_ATTRIBUTE);
+            if (expiration instanceof Instant expiresAt && expiresAt.isBefore(now)) {
+                close(session, TOKEN_EXPIRED);
+            } else if (!closeIfRevoked(session)) {
+                send(session, new PingMessage());
+            }
+        })));
+    }
+
+    /**
+     * Closes the session with POLICY_VIOLATION when the token it was opened with has been revoked.
+     * Returns whether it did; the check is in memory, so it is cheap enough for every command.
+     */
+    public boolean closeIfRevoked(WebSocketSession session) {
+        Map<String, Object> attributes = session.getAttributes();
+        boolean revoked = tokenRevocationService.isRevoked(
+                (String) attributes.get(WebSocketConfig.TOKEN_ID_ATTRIBUTE),
+                (Long) attributes.get(WebSocketConfig.TOKEN_USER_ID_ATTRIBUTE),
+                (Date) attributes.get(WebSocketConfig.TOKEN_ISSUED_AT_ATTRIBUTE));
+        if (revoked) {
+            log.debug("Closing driver session {}: token revoked", session.getId());
+            close(session, TOKEN_REVOKED);
+        }
+        return revoked;
+    }
+
+    private void send(WebSocketSession session, DriverSocketMessageDTO message) {
+        send(session, serialize(message));
+    }
+
+    private void send(WebSocketSession session, WebSocketMessage<?> message) {
+        if (!session.isOpen()) {
+            return;
+        }
+        try {
+            session.sendMessage(message);
+        } catch (SessionLimitExceededException e) {
+            // Slow consumer: drop the session rather than buffer without bound
+            log.debug("Closing driver session {}: {}", session.getId(), e.getMessage());
+            close(session, e.getStatus());
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Closing driver session {} after a failed send: {}", session.getId(), e.getMessage());
+            close(session, CloseStatus.SESSION_NOT_RELIABLE);
+        }
+    }
+
+    private TextMessage serialize(DriverSocketMessageDTO message) {
+        try {
+            return new TextMessage(objectMapper.writeValueAsString(message));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize driver message " + message.getType(), e);
+        }
+    }
+
+    // Unregistration follows from afterConnectionClosed on the handler
+    private void close(WebSocketSession session, CloseStatus status) {
+        try {
+            session.close(status);
+        } catch (IOException e) {
+            log.debug("Failed to close driver session {}", session.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.slsolution.taxiruta.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.slsolution.taxiruta.exception.BadRequestException;
+import com.slsolution.taxiruta.model.Booking;
+import com.slsolution.taxiruta.model.Trip;
+import com.slsolution.taxiruta.repository.BookingRepository;
+import com.slsolution.taxiruta.repository.TripRepository;
+import com.slsolution.taxiruta.util.Constants;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes trips and bookings as newline-delimited JSON straight from a database cursor.
+ * Rows are mapped and written one at a time and the persistence context is cleared every
+ * fetch-size rows, so memory use does not grow with the size of the export.
+ */
+@Service
+public class ExportService {
+
+    private static final LocalDateTime DEFAULT_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TripService tripService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public void validateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            throw new BadRequestException(Constants.ERROR_INVALID_EXPORT_RANGE);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportTrips(LocalDateTime startDate, LocalDateTime endDate, OutputStream out) throws IOException {
+        try (Stream<Trip> trips = tripRepository.streamTripsBetweenDates(startOrDefault(startDate), endOrDefault(endDate))) {
+            writeLines(trips, tripService::convertToResponseDTO, out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportBookings(LocalDateTime startDate, LocalDateTime endDate, OutputStream out) throws IOException {
+        try (Stream<Booking> bookings = bookingRepository.streamBookingsBetweenDates(startOrDefault(startDate), endOrDefault(endDate))) {
+            writeLines(bookings, bookingService::convertToResponseDTO, out);
+        }
+    }
+
+    private <E> void writeLines(Stream<E> rows, Function<E, ?> mapper, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writer();
+        BufferedOutputStream buffered = new BufferedOutputStream(out);
+        long written = 0;
+
+        for (E row : (Iterable<E>) rows::iterator) {
+            buffered.write(writer.writeValueAsBytes(mapper.apply(row)));
+            buffered.write('\n');
+            written++;
+
+            // Push the first line out right away so the client sees the response start
+            if (written == 1) {
+                buffered.flush();
+            }
+            // Drop already written entities; the cursor keeps its position
+            if (written % Constants.EXPORT_FETCH_SIZE == 0) {
+                entityManager.clear();
+            }
+        }
+        buffered.flush();
+    }
+
+    private LocalDateTime startOrDefault(LocalDateTime startDate) {
+        return startDate != null ? startDate : DEFAULT_START;
+    }
+
+    private LocalDateTime endOrDefault(LocalDateTime endDate) {
+        return endDate != null ? endDate : Constants.MAX_DATE_TIME;
+    }
+}
@@ -0,0 +1,376 @@
+package com.slsolution.taxiruta.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.slsolution.taxiruta.dto.response.BookingStatusEventDTO;
+import com.slsolution.taxiruta.dto.response.SeatAvailabilityEventDTO;
+import com.slsolution.taxiruta.event.BookingStatusChangedEvent;
+import com.slsolution.taxiruta.event.TripChangedEvent;
+import com.slsolution.taxiruta.exception.BadRequestException;
+import com.slsolution.taxiruta.exception.ServiceOverloadedException;
+import com.slsolution.taxiruta.model.Trip;
+import com.slsolution.taxiruta.repository.TripRepository;
+import com.slsolution.taxiruta.util.Constants;
+import com.slsolution.taxiruta.util.StripedExecutor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fan-out of live seat availability and booking status to Server-Sent Events streams.
+ * A stream watches a few trips and receives the status changes of its own user's bookings.
+ *
+ * Idle streams cost no thread: each one is an async request plus an entry in the trip and
+ * passenger indexes. Events are taken after commit and written by a small dispatch pool, so
+ * the request that changed the data never waits on client sockets; updates of one trip, or for
+ * one passenger, always go through the same dispatch lane and so arrive in order. Every frame
+ * is serialized once and the same bytes go to all its subscribers. Seat refreshes for a trip are coalesced:
+ * while one is queued, further changes are absorbed by it, since it re-reads the trip when it
+ * runs.
+ *
+ * Like ConcurrentWebSocketSessionDecorator, each stream has a small bounded queue of frames and
+ * at most one thread writing to it: a lane that finds the stream busy leaves its frame queued
+ * and moves on, so one slow client never holds up the lanes behind it. A stream whose queue
+ * overflows, or whose current write has been blocked longer than send-time-limit-ms, is dropped
+ * and completed; the client reconnects and gets a fresh snapshot. Each stream has its own
+ * heartbeat timer, which keeps proxies from closing idle streams and detects dead clients.
+ */
+@Service
+public class LiveUpdateHub {
+
+    private static final Logger log = LoggerFactory.getLogger(LiveUpdateHub.class);
+
+    public static final String SEATS_EVENT = "seats";
+    public static final String BOOKING_EVENT = "booking";
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${live.updates.timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    @Value("${live.updates.max-connections:50000}")
+    private int maxConnections;
+
+    @Value("${live.updates.max-trips-per-connection:20}")
+    private int maxTripsPerConnection;
+
+    @Value("${live.updates.dispatch-threads:2}")
+    private int dispatchThreads;
+
+    @Value("${live.updates.dispatch-queue-capacity:10000}")
+    private int dispatchQueueCapacity;
+
+    @Value("${live.updates.stream-queue-capacity:32}")
+    private int streamQueueCapacity;
+
+    @Value("${live.updates.send-time-limit-ms:10000}")
+    private long sendTimeLimitMillis;
+
+    @Value("${live.updates.heartbeat-interval-ms:25000}")
+    private long heartbeatIntervalMillis;
+
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Set<Subscription>> tripWatchers = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Subscription>> passengerStreams = new ConcurrentHashMap<>();
+    // Trips with a seat refresh queued but not started; a change to one of them needs no new refresh
+    private final Set<Long> pendingSeatRefreshes = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    private StripedExecutor dispatcher;
+    private ScheduledThreadPoolExecutor heartbeats;
+    private Set<ResponseBodyEmitter.DataWithMediaType> heartbeatFrame;
+    private Counter seatEvents;
+    private Counter bookingEvents;
+    private Counter droppedStreams;
+
+    @PostConstruct
+    public void init() {
+        dispatcher = new StripedExecutor("live-updates-", dispatchThreads, dispatchQueueCapacity);
+        // Only schedules heartbeats and checks for blocked writes; the writes themselves run on the lanes
+        heartbeats = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "live-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeats.setRemoveOnCancelPolicy(true);
+        heartbeatFrame = SseEmitter.event().comment("ping").build();
+
+        Gauge.builder("taxiruta.live.connections", connections, AtomicInteger::get)
+                .description("Open live update streams")
+                .register(meterRegistry);
+        seatEvents = Counter.builder("taxiruta.live.events")
+                .description("Live update frames written to streams")
+                .tag("type", SEATS_EVENT)
+                .register(meterRegistry);
+        bookingEvents = Counter.builder("taxiruta.live.events")
+                .description("Live update frames written to streams")
+                .tag("type", BOOKING_EVENT)
+                .register(meterRegistry);
+        droppedStreams = Counter.builder("taxiruta.live.streams.dropped")
+                .description("Live update streams closed because their client could not keep up")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        dispatcher.shutdownNow();
+        subscriptions.forEach(subscription -> subscription.emitter.complete());
+    }
+
+    /**
+     * Opens a stream for the given user that also watches the seats of the given trips.
+     * The current seats of each watched trip are sent first.
+     */
+    public SseEmitter subscribe(Long passengerId, Set<Long> tripIds) {
+        return register(new SseEmitter(timeoutMillis), passengerId, tripIds);
+    }
+
+    SseEmitter register(SseEmitter emitter, Long passengerId, Set<Long> tripIds) {
+        if (tripIds.size() > maxTripsPerConnection) {
+            throw new BadRequestException(Constants.ERROR_TOO_MANY_WATCHED_TRIPS);
+        }
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            throw new ServiceOverloadedException(Constants.ERROR_SERVICE_OVERLOADED);
+        }
+
+        Subscription subscription = new Subscription(emitter, passengerId, Set.copyOf(tripIds));
+        subscription.heartbeat = heartbeats.scheduleWithFixedDelay(() -> heartbeat(subscription),
+                heartbeatIntervalMillis, heartbeatIntervalMillis, TimeUnit.MILLISECONDS);
+        subscriptions.add(subscription);
+        add(passengerStreams, passengerId, subscription);
+        subscription.tripIds.forEach(tripId -> add(tripWatchers, tripId, subscription));
+        emitter.onCompletion(() -> unregister(subscription));
+        emitter.onTimeout(() -> unregister(subscription));
+        emitter.onError(error -> unregister(subscription));
+
+        // On each trip's lane, so a concurrent refresh of the trip cannot be overtaken by an older snapshot
+        subscription.tripIds.forEach(tripId -> dispatcher.execute(tripId, () -> tripRepository.findById(tripId)
+                .ifPresent(trip -> send(subscription, seatFrame(trip), seatEvents))));
+        return emitter;
+    }
+
+    public int getConnectionCount() {
+        return connections.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTripChanged(TripChangedEvent event) {
+        Long tripId = event.tripId();
+        if (!tripWatchers.containsKey(tripId) || !pendingSeatRefreshes.add(tripId)) {
+            return;
+        }
+        dispatcher.execute(tripId, () -> {
+            // Cleared before the read, so a change committed after it schedules another refresh
+            pendingSeatRefreshes.remove(tripId);
+            Set<Subscription> watchers = tripWatchers.get(tripId);
+            if (watchers == null) {
+                return;
+            }
+            tripRepository.findById(tripId).ifPresent(trip -> {
+                Set<ResponseBodyEmitter.DataWithMediaType> frame = seatFrame(trip);
+                watchers.forEach(subscription -> send(subscription, frame, seatEvents));
+            });
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        Set<Subscription> streams = passengerStreams.get(event.passengerId());
+        if (streams == null) {
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = frame(BOOKING_EVENT, event.bookingId() + ":" + event.status(),
+                new BookingStatusEventDTO(event.bookingId(), event.tripId(), event.status().name()));
+        dispatcher.execute(event.passengerId(), () -> streams.forEach(subscription -> send(subscription, frame, bookingEvents)));
+    }
+
+    // Runs on the heartbeat thread, which never writes, so it still notices a write blocked on a lane
+    private void heartbeat(Subscription subscription) {
+        if (isSendBlocked(subscription)) {
+            drop(subscription, "send blocked for more than " + sendTimeLimitMillis + " ms");
+            return;
+        }
+        dispatcher.execute(subscription.passengerId, () -> send(subscription, heartbeatFrame, null));
+    }
+
+    private Set<ResponseBodyEmitter.DataWithMediaType> seatFrame(Trip trip) {
+        return frame(SEATS_EVENT, String.valueOf(trip.getId()), new SeatAvailabilityEventDTO(
+                trip.getId(), trip.getAvailableSeats(), trip.getRemainingSeats(), trip.getStatus().name()));
+    }
+
+    private Set<ResponseBodyEmitter.DataWithMediaType> frame(String name, String id, Object payload) {
+        try {
+            return SseEmitter.event()
+                    .name(name)
+                    .id(id)
+                    .data(objectMapper.writeValueAsString(payload), MediaType.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize live update " + name, e);
+        }
+    }
+
+    private void send(Subscription subscription, Set<ResponseBodyEmitter.DataWithMediaType> frame, Counter counter) {
+        if (subscription.closed.get()) {
+            return;
+        }
+        if (subscription.queued.incrementAndGet() > streamQueueCapacity) {
+            drop(subscription, "more than " + streamQueueCapacity + " frames queued");
+            return;
+        }
+        if (isSendBlocked(subscription)) {
+            drop(subscription, "send blocked for more than " + sendTimeLimitMillis + " ms");
+            return;
+        }
+        subscription.pending.add(new Frame(frame, counter));
+        flush(subscription);
+    }
+
+    // Whoever gets the lock writes everything queued; a thread that does not get it leaves its
+    // frame to the writer, which checks for more work again after releasing the lock
+    private void flush(Subscription subscription) {
+        while (subscription.hasWork() && subscription.writeLock.tryLock()) {
+            try {
+                writePending(subscription);
+            } finally {
+                subscription.writeLock.unlock();
+            }
+        }
+    }
+
+    private void writePending(Subscription subscription) {
+        Frame frame;
+        while (!subscription.closed.get() && (frame = subscription.pending.poll()) != null) {
+            subscription.sendStartedNanos = System.nanoTime();
+            try {
+                subscription.emitter.send(frame.data());
+            } catch (IOException | IllegalStateException e) {
+                // The client went away; the container completes the async request, here we only stop writing to it
+                log.debug("Dropping live update stream of user {}: {}", subscription.passengerId, e.getMessage());
+                unregister(subscription);
+                return;
+            } finally {
+                subscription.sendStartedNanos = 0;
+                subscription.queued.decrementAndGet();
+            }
+            if (frame.counter() != null) {
+                frame.counter().increment();
+            }
+        }
+        // Dropped while this thread was writing, or by a thread that could not take the lock
+        if (subscription.closed.get() && subscription.completed.compareAndSet(false, true)) {
+            subscription.pending.clear();
+            subscription.emitter.complete();
+        }
+    }
+
+    private boolean isSendBlocked(Subscription subscription) {
+        long started = subscription.sendStartedNanos;
+        return started != 0 && System.nanoTime() - started > TimeUnit.MILLISECONDS.toNanos(sendTimeLimitMillis);
+    }
+
+    // Stops writing to a stream the client cannot keep up with and completes it once no write is in progress
+    private void drop(Subscription subscription, String reason) {
+        if (deregister(subscription)) {
+            log.debug("Dropping slow live update stream of user {}: {}", subscription.passengerId, reason);
+            droppedStreams.increment();
+            flush(subscription);
+        }
+    }
+
+    // The emitter is already done, or the container completes it: only stop writing to it
+    private void unregister(Subscription subscription) {
+        subscription.completed.set(true);
+        deregister(subscription);
+    }
+
+    private boolean deregister(Subscription subscription) {
+        if (!subscription.closed.compareAndSet(false, true)) {
+            return false;
+        }
+        subscription.heartbeat.cancel(false);
+        subscriptions.remove(subscription);
+        connections.decrementAndGet();
+        remove(passengerStreams, subscription.passengerId, subscription);
+        subscription.tripIds.forEach(tripId -> remove(tripWatchers, tripId, subscription));
+        return true;
+    }
+
+    // Index updates are atomic per key, so an emptied set is never dropped while another stream joins it
+    private static void add(Map<Long, Set<Subscription>> index, Long key, Subscription subscription) {
+        index.compute(key, (id, streams) -> {
+            Set<Subscription> updated = streams != null ? streams : ConcurrentHashMap.newKeySet();
+            updated.add(subscription);
+            return updated;
+        });
+    }
+
+    private static void remove(Map<Long, Set<Subscription>> index, Long key, Subscription subscription) {
+        index.computeIfPresent(key, (id, streams) -> {
+            streams.remove(subscription);
+            return streams.isEmpty() ? null : streams;
+        });
+    }
+
+    private record Frame(Set<ResponseBodyEmitter.DataWithMediaType> data, Counter counter) {
+    }
+
+    private static final class Subscription {
+
+        final SseEmitter emitter;
+        final Long passengerId;
+        final Set<Long> tripIds;
+        final AtomicBoolean closed = new AtomicBoolean();
+        final AtomicBoolean completed = new AtomicBoolean();
+        final Queue<Frame> pending = new ConcurrentLinkedQueue<>();
+        // Frames accepted but not yet written, including the one being written
+        final AtomicInteger queued = new AtomicInteger();
+        final ReentrantLock writeLock = new ReentrantLock();
+        // When the write in progress started, 0 while none is
+        volatile long sendStartedNanos;
+        volatile ScheduledFuture<?> heartbeat;
+
+        Subscription(SseEmitter emitter, Long passengerId, Set<Long> tripIds) {
+            this.emitter = emitter;
+            this.passengerId = passengerId;
+            this.tripIds = tripIds;
+        }
+
+        boolean hasWork() {
+            return closed.get() ? !completed.get() : !pending.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.slsolution.taxiruta.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.slsolution.taxiruta.event.DomainEvent;
+import com.slsolution.taxiruta.model.OutboxEvent;
+import com.slsolution.taxiruta.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers outbox events to the in-process DomainEventBus.
+ * Runs on one thread, woken after every commit that wrote an event and otherwise every
+ * poll-interval-ms. Each run takes the oldest pending events in batches of batch-size under
+ * row locks, delivers them in id order, and marks the delivered ones in one update in the same
+ * transaction, so an event is marked only after its subscribers ran (at-least-once) and a relay
+ * on another node waits for the batch instead of overtaking it.
+ *
+ * When a subscriber fails, the event stays pending and later events of the same aggregate are
+ * held back until it is delivered, keeping per-aggregate order; other aggregates carry on. The
+ * retry waits an exponential backoff with jitter, from backoff-initial-ms up to backoff-max-ms,
+ * and the aggregate is not read at all until then. After max-attempts the event is marked FAILED
+ * and its aggregate moves on.
+ */
+@Service
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private DomainEventBus domainEventBus;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${outbox.relay.enabled:true}")
+    private boolean enabled;
+
+    @Value("${outbox.relay.batch-size:100}")
+    private int batchSize;
+
+    @Value("${outbox.relay.poll-interval-ms:1000}")
+    private long pollIntervalMillis;
+
+    @Value("${outbox.relay.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${outbox.relay.backoff-initial-ms:1000}")
+    private long backoffInitialMillis;
+
+    @Value("${outbox.relay.backoff-max-ms:300000}")
+    private long backoffMaxMillis;
+
+    @Value("${outbox.retention-days:7}")
+    private int retentionDays;
+
+    private final AtomicBoolean runRequested = new AtomicBoolean();
+    // Creation time of the oldest event still pending at the last run, 0 when none was
+    private final AtomicLong oldestPendingMillis = new AtomicLong();
+
+    private ScheduledExecutorService relayExecutor;
+    private TransactionTemplate transactionTemplate;
+    private TransactionTemplate subscriberTemplate;
+    private Counter published;
+    private Counter retried;
+    private Counter failed;
+    private Timer lag;
+    private Timer batchTime;
+    private DistributionSummary batchSizes;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        // Subscribers run outside the relay transaction: their own transactional work, and its
+        // failures, must not mark the batch for rollback
+        subscriberTemplate = new TransactionTemplate(transactionManager);
+        subscriberTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_NOT_SUPPORTED);
+        published = outcomeCounter("published");
+        retried = outcomeCounter("retried");
+        failed = outcomeCounter("failed");
+        lag = Timer.builder("taxiruta.outbox.lag")
+                .description("Time from an outbox event's commit to its delivery to subscribers")
+                .register(meterRegistry);
+        batchTime = Timer.builder("taxiruta.outbox.relay.batch")
+                .description("Time spent relaying one batch of outbox events")
+                .register(meterRegistry);
+        batchSizes = DistributionSummary.builder("taxiruta.outbox.relay.batch.size")
+                .description("Outbox events read per relay batch")
+                .register(meterRegistry);
+        Gauge.builder("taxiruta.outbox.pending.age", oldestPendingMillis,
+                        oldest -> oldest.get() == 0 ? 0 : (System.currentTimeMillis() - oldest.get()) / 1000.0)
+                .description("Age in seconds of the oldest outbox event still pending at the last relay run")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+
+        if (!enabled) {
+            log.info("Outbox relay disabled on this node");
+            return;
+        }
+        relayExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        relayExecutor.scheduleWithFixedDelay(this::drain, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (relayExecutor != null) {
+            relayExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Requests a run soon; requests arriving while one is queued share it.
+     */
+    public void wakeUp() {
+        if (relayExecutor != null && runRequested.compareAndSet(false, true)) {
+            relayExecutor.execute(this::drain);
+        }
+    }
+
+    /**
+     * Relays until no full batch is left, or a full batch delivered nothing because every event
+     * in it failed. Runs on the relay thread; tests may call it directly.
+     */
+    public void drain() {
+        runRequested.set(false);
+        try {
+            BatchResult result;
+            do {
+                result = relayBatch();
+            } while (result.read() == batchSize && result.delivered() > 0);
+        } catch (RuntimeException e) {
+            // Nothing was marked for the failed batch; the next run reads it again
+            log.warn("Outbox relay run failed", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.cleanup-interval-ms:3600000}",
+            initialDelayString = "${outbox.cleanup-interval-ms:3600000}")
+    public void purgePublished() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        Integer deleted = transactionTemplate.execute(status -> outboxEventRepository.deletePublishedBefore(cutoff));
+        if (deleted != null && deleted > 0) {
+            log.debug("Purged {} published outbox events older than {} days", deleted, retentionDays);
+        }
+    }
+
+    private BatchResult relayBatch() {
+        BatchResult result = transactionTemplate.execute(status -> batchTime.record(() -> {
+            List<OutboxEvent> batch = outboxEventRepository.findPendingForUpdate(LocalDateTime.now(),
+                    PageRequest.ofSize(batchSize));
+            batchSizes.record(batch.size());
+            oldestPendingMillis.set(batch.isEmpty() ? 0 : toEpochMillis(batch.get(0).getCreatedAt()));
+
+            List<Long> delivered = new ArrayList<>();
+            Set<String> heldBack = new HashSet<>();
+            LocalDateTime now = LocalDateTime.now();
+            for (OutboxEvent event : batch) {
+                String aggregate = event.getAggregateType() + ":" + event.getAggregateId();
+                if (heldBack.contains(aggregate)) {
+                    continue;
+                }
+                try {
+                    DomainEvent domainEvent = toDomainEvent(event);
+                    subscriberTemplate.executeWithoutResult(status -> domainEventBus.publish(domainEvent));
+                    delivered.add(event.getId());
+                    lag.record(Duration.between(event.getCreatedAt(), LocalDateTime.now()));
+                } catch (RuntimeException e) {
+                    handleFailure(event, e);
+                    if (event.getStatus() == OutboxEvent.Status.PENDING) {
+                        heldBack.add(aggregate);
+                    }
+                }
+            }
+
+            if (!delivered.isEmpty()) {
+                outboxEventRepository.markPublished(delivered, now);
+                published.increment(delivered.size());
+            }
+            return new BatchResult(batch.size(), delivered.size());
+        }));
+        return result != null ? result : new BatchResult(0, 0);
+    }
+
+    // The entity is managed, so the new attempt count and retry time are written when the batch commits
+    private void handleFailure(OutboxEvent event, RuntimeException e) {
+        event.setAttempts(event.getAttempts() + 1);
+        String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        event.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        if (event.getAttempts() >= maxAttempts) {
+            event.setStatus(OutboxEvent.Status.FAILED);
+            failed.increment();
+            log.error("Outbox event {} ({} {}) failed {} times, giving up", event.getId(), event.getEventType(),
+                    event.getAggregateId(), event.getAttempts(), e);
+        } else {
+            long backoffMillis = backoffMillis(event.getAttempts());
+            event.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(backoffMillis)));
+            retried.increment();
+            log.warn("Outbox event {} ({} {}) failed, will retry in {} ms: {}", event.getId(), event.getEventType(),
+                    event.getAggregateId(), backoffMillis, e.getMessage());
+        }
+    }
+
+    // Doubles per attempt up to the cap, then keeps a random half of it so relays on several
+    // nodes retrying the same failure spread out
+    private long backoffMillis(int attempts) {
+        long backoff = Math.min(backoffInitialMillis << Math.min(attempts - 1, 30), backoffMaxMillis);
+        long half = backoff / 2;
+        return half + ThreadLocalRandom.current().nextLong(backoff - half + 1);
+    }
+
+    private DomainEvent toDomainEvent(OutboxEvent event) {
+        try {
+            return new DomainEvent(event.getId(), event.getAggregateType(), event.getAggregateId(),
+                    event.getEventType(), objectMapper.readTree(event.getPayload()), event.getCreatedAt());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable payload", e);
+        }
+    }
+
+    private Counter outcomeCounter(String outcome) {
+        return Counter.builder("taxiruta.outbox.events")
+                .description("Outbox events by relay outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record BatchResult(int read, int delivered) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.slsolution.taxiruta.service;
+
+import com.slsolution.taxiruta.repository.UserRepository;
+import com.slsolution.taxiruta.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter of registered emails used to screen signups.
+ * A miss means the email is certainly new, so registration goes straight to the insert;
+ * a hit is confirmed with an exists query before any password is hashed. The unique
+ * constraint on users.email stays the source of truth, so an email missing from this
+ * filter (registered on another node, or during the initial load) only costs a failed insert.
+ */
+@Service
+public class RegisteredEmailFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RegisteredEmailFilter.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${auth.email-filter.expected-users:1000000}")
+    private int expectedUsers;
+
+    @Value("${auth.email-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+
+    @PostConstruct
+    public void init() {
+        filter = BloomFilter.create(expectedUsers, falsePositiveRate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        long userCount = userRepository.count();
+        // Leave room to grow so the false positive rate holds as users sign up
+        int capacity = (int) Math.min(Integer.MAX_VALUE, Math.max(expectedUsers, 2 * userCount));
+        BloomFilter loaded = BloomFilter.create(capacity, falsePositiveRate);
+        try (Stream<String> emails = userRepository.streamAllEmails()) {
+            emails.forEach(loaded::put);
+        }
+        filter = loaded;
+        log.info("Registered email filter loaded with {} users", userCount);
+    }
+
+    public boolean mightBeRegistered(String email) {
+        return filter.mightContain(email);
+    }
+
+    public void add(String email) {
+        filter.put(email);
+    }
+}
@@ -0,0 +1,266 @@
+package com.slsolution.taxiruta.service;
+
+import com.slsolution.taxiruta.dto.response.BookingResponseDTO;
+import com.slsolution.taxiruta.dto.response.SeatHoldResponseDTO;
+import com.slsolution.taxiruta.exception.BadRequestException;
+import com.slsolution.taxiruta.exception.ResourceNotFoundException;
+import com.slsolution.taxiruta.model.SeatHold;
+import com.slsolution.taxiruta.model.Trip;
+import com.slsolution.taxiruta.model.User;
+import com.slsolution.taxiruta.repository.BookingRepository;
+import com.slsolution.taxiruta.repository.SeatHoldRepository;
+import com.slsolution.taxiruta.util.Constants;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Short-lived seat holds for the booking flow.
+ * A hold claims seats on the trip counter for a limited time; confirming it turns the
+ * held seats into a confirmed booking, otherwise the seats are released when it expires.
+ * Active holds are tracked in memory per trip and expire through a DelayQueue, so no
+ * periodic table scan is needed; the seat_holds table only backs recovery after a restart.
+ */
+@Service
+public class SeatHoldService {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatHoldService.class);
+
+    @Autowired
+    private SeatHoldRepository seatHoldRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TripService tripService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${booking.holds.ttl-seconds:600}")
+    private long holdTtlSeconds;
+
+    // Holds grouped by trip; ConcurrentHashMap.compute locks per key, so each trip is its own stripe
+    private final ConcurrentHashMap<Long, Map<String, HeldSeats>> holdsByTrip = new ConcurrentHashMap<>();
+    private final DelayQueue<HeldSeats> expiryQueue = new DelayQueue<>();
+    private Thread expiryThread;
+
+    @Transactional
+    public SeatHoldResponseDTO placeHold(Long tripId, int seats, User passenger) {
+        Trip trip = tripService.getTripById(tripId);
+
+        // Validate that trip is active
+        if (trip.getStatus() != Trip.Status.ACTIVE) {
+            throw new BadRequestException(Constants.ERROR_TRIP_NOT_ACTIVE);
+        }
+
+        // Validate that passenger is not the driver
+        if (trip.getDriver().getId().equals(passenger.getId())) {
+            throw new BadRequestException("Driver cannot book their own trip");
+        }
+
+        // A hold could never be confirmed if the passenger already booked this trip
+        if (bookingRepository.findByTripIdAndPassengerId(tripId, passenger.getId()).isPresent()) {
+            throw new BadRequestException(Constants.ERROR_BOOKING_ALREADY_EXISTS);
+        }
+
+        if (!tripService.holdSeats(tripId, seats)) {
+            throw new BadRequestException(Constants.ERROR_INSUFFICIENT_SEATS);
+        }
+
+        SeatHold hold = SeatHold.builder()
+                .id(UUID.randomUUID().toString())
+                .trip(trip)
+                .passenger(userService.getUserReference(passenger.getId()))
+                .seats(seats)
+                .expiresAt(LocalDateTime.now().plusSeconds(holdTtlSeconds))
+                .build();
+
+        try {
+            seatHoldRepository.saveAndFlush(hold);
+        } catch (DataIntegrityViolationException e) {
+            // Unique (trip_id, passenger_id): one active hold per passenger and trip
+            throw new BadRequestException(Constants.ERROR_HOLD_ALREADY_EXISTS);
+        }
+
+        HeldSeats heldSeats = new HeldSeats(hold.getId(), tripId, seats, hold.getExpiresAt());
+        afterCommit(() -> register(heldSeats));
+
+        return new SeatHoldResponseDTO(hold.getId(), tripId, seats, hold.getExpiresAt());
+    }
+
+    @Transactional
+    public BookingResponseDTO confirmHold(Long tripId, String holdId, User passenger) {
+        SeatHold hold = getActiveHold(tripId, holdId, passenger);
+        Trip trip = tripService.getTripById(tripId);
+
+        if (trip.getStatus() != Trip.Status.ACTIVE) {
+            throw new BadRequestException(Constants.ERROR_TRIP_NOT_ACTIVE);
+        }
+
+        // Whoever deletes the row owns the hold; a concurrent expiry or confirmation loses
+        if (seatHoldRepository.deleteHold(holdId) == 0
+                || !tripService.confirmHeldSeats(tripId, hold.getSeats())) {
+            throw new ResourceNotFoundException(Constants.ERROR_HOLD_NOT_FOUND);
+        }
+
+        BookingResponseDTO booking = bookingService.createConfirmedBooking(trip, passenger, hold.getSeats());
+        afterCommit(() -> unregister(tripId, holdId));
+        return booking;
+    }
+
+    @Transactional
+    public void releaseHold(Long tripId, String holdId, User passenger) {
+        SeatHold hold = getActiveHold(tripId, holdId, passenger);
+
+        if (seatHoldRepository.deleteHold(holdId) == 1) {
+            tripService.releaseHeldSeats(tripId, hold.getSeats());
+        }
+        afterCommit(() -> unregister(tripId, holdId));
+    }
+
+    public int getActiveHoldCount(Long tripId) {
+        Map<String, HeldSeats> holds = holdsByTrip.get(tripId);
+        return holds == null ? 0 : holds.size();
+    }
+
+    /**
+     * Reloads holds persisted before a restart and starts the expiry thread.
+     * Holds that expired while the application was down are released right away.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        List<SeatHold> persistedHolds = seatHoldRepository.findAll();
+        for (SeatHold hold : persistedHolds) {
+            register(new HeldSeats(hold.getId(), hold.getTrip().getId(), hold.getSeats(), hold.getExpiresAt()));
+        }
+        if (!persistedHolds.isEmpty()) {
+            log.info("Recovered {} seat holds", persistedHolds.size());
+        }
+
+        expiryThread = new Thread(this::runExpiryLoop, "seat-hold-expiry");
+        expiryThread.setDaemon(true);
+        expiryThread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (expiryThread != null) {
+            expiryThread.interrupt();
+        }
+    }
+
+    /**
+     * Safety net for holds registered on another node that went down before expiring them.
+     * Runs rarely and only reads rows through the expires_at index.
+     */
+    @Scheduled(fixedDelayString = "${booking.holds.sweep-interval-ms:300000}",
+               initialDelayString = "${booking.holds.sweep-interval-ms:300000}")
+    public void sweepExpiredHolds() {
+        for (SeatHold hold : seatHoldRepository.findExpired(LocalDateTime.now())) {
+            expire(new HeldSeats(hold.getId(), hold.getTrip().getId(), hold.getSeats(), hold.getExpiresAt()));
+        }
+    }
+
+    private SeatHold getActiveHold(Long tripId, String holdId, User passenger) {
+        return seatHoldRepository.findById(holdId)
+                .filter(hold -> hold.getTrip().getId().equals(tripId))
+                .filter(hold -> hold.getPassenger().getId().equals(passenger.getId()))
+                .filter(hold -> !hold.isExpired())
+                .orElseThrow(() -> new ResourceNotFoundException(Constants.ERROR_HOLD_NOT_FOUND));
+    }
+
+    private void runExpiryLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                expire(expiryQueue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                // The periodic sweep retries holds that could not be expired here
+                log.warn("Failed to expire seat hold", e);
+            }
+        }
+    }
+
+    private void expire(HeldSeats heldSeats) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            if (seatHoldRepository.deleteHold(heldSeats.holdId()) == 1) {
+                tripService.releaseHeldSeats(heldSeats.tripId(), heldSeats.seats());
+                log.debug("Seat hold {} on trip {} expired", heldSeats.holdId(), heldSeats.tripId());
+            }
+        });
+        unregister(heldSeats.tripId(), heldSeats.holdId());
+    }
+
+    private void register(HeldSeats heldSeats) {
+        holdsByTrip.compute(heldSeats.tripId(), (tripId, holds) -> {
+            Map<String, HeldSeats> tripHolds = holds != null ? holds : new HashMap<>();
+            tripHolds.put(heldSeats.holdId(), heldSeats);
+            return tripHolds;
+        });
+        expiryQueue.put(heldSeats);
+    }
+
+    private void unregister(Long tripId, String holdId) {
+        holdsByTrip.computeIfPresent(tripId, (id, holds) -> {
+            holds.remove(holdId);
+            return holds.isEmpty() ? null : holds;
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * In-memory view of one hold, ordered in the DelayQueue by its expiry time.
+     */
+    private record HeldSeats(String holdId, Long tripId, int seats, LocalDateTime expiresAt) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Duration.between(LocalDateTime.now(), expiresAt));
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return expiresAt.compareTo(((HeldSeats) other).expiresAt);
+        }
+    }
+}
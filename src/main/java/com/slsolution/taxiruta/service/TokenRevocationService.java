@@ -0,0 +1,251 @@
+package com.slsolution.taxiruta.service;
+
+import com.slsolution.taxiruta.exception.ResourceNotFoundException;
+import com.slsolution.taxiruta.model.RevokedToken;
+import com.slsolution.taxiruta.model.User;
+import com.slsolution.taxiruta.model.UserTokenRevocation;
+import com.slsolution.taxiruta.repository.RevokedTokenRepository;
+import com.slsolution.taxiruta.repository.UserRepository;
+import com.slsolution.taxiruta.repository.UserTokenRevocationRepository;
+import com.slsolution.taxiruta.util.BloomFilter;
+import com.slsolution.taxiruta.util.Constants;
+import com.slsolution.taxiruta.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revocation of JWTs before they expire.
+ * Logout revokes a single token by its jti; an admin can revoke every token of a user, which
+ * rejects all tokens issued before that moment. Both live in the database and are mirrored in
+ * memory: revoked jtis behind a Bloom filter plus an exact map, and per-user cutoffs in a map
+ * that is normally empty. Checking a token that was not revoked is a Bloom filter miss and
+ * never touches the database. Revocations made on other nodes are picked up by the periodic
+ * sync, which also drops entries whose tokens have expired and rebuilds the filter.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private UserTokenRevocationRepository userTokenRevocationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${jwt.expiration}")
+    private long jwtExpiration;
+
+    @Value("${auth.revocation.expected-tokens:100000}")
+    private int expectedTokens;
+
+    @Value("${auth.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    // Replaced wholesale by sync(); writers hold the service lock, readers never lock
+    private volatile Denylist denylist;
+
+    @PostConstruct
+    public void init() {
+        denylist = new Denylist(BloomFilter.create(expectedTokens, falsePositiveRate));
+    }
+
+    /**
+     * Whether the token was revoked by logout or by a revoke-all for its user.
+     */
+    public boolean isRevoked(Claims claims) {
+        Denylist current = denylist;
+        if (current.containsToken(claims.getId())) {
+            return true;
+        }
+        if (current.revokedBefore.isEmpty()) {
+            return false;
+        }
+        return current.revokesIssuedBefore(claims.get(JwtUtil.CLAIM_USER_ID, Long.class), claims.getIssuedAt());
+    }
+
+    /**
+     * Same check for a token that is no longer at hand, such as the one a WebSocket session was opened with.
+     */
+    public boolean isRevoked(String jti, Long userId, Date issuedAt) {
+        Denylist current = denylist;
+        return current.containsToken(jti) || current.revokesIssuedBefore(userId, issuedAt);
+    }
+
+    /**
+     * Revokes a single token. Logging out twice with the same token is a no-op.
+     */
+    @Transactional
+    public void revoke(Claims claims) {
+        String jti = claims.getId();
+        if (jti == null) {
+            // Tokens issued before jti existed cannot be told apart, so revoke all of the user's tokens
+            revokeAllForUser(resolveUserId(claims));
+            return;
+        }
+        if (revokedTokenRepository.existsById(jti)) {
+            return;
+        }
+
+        revokedTokenRepository.save(RevokedToken.builder()
+                .jti(jti)
+                .userId(resolveUserId(claims))
+                .expiresAt(LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault()))
+                .build());
+
+        long expiresAtMillis = claims.getExpiration().getTime();
+        afterCommit(() -> addToken(jti, expiresAtMillis));
+    }
+
+    /**
+     * Revokes every token issued to the user up to now. Tokens issued afterwards stay valid.
+     */
+    @Transactional
+    public void revokeAllForUser(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException(Constants.ERROR_USER_NOT_FOUND);
+        }
+
+        LocalDateTime revokedBefore = LocalDateTime.now();
+        userTokenRevocationRepository.save(new UserTokenRevocation(userId, revokedBefore));
+
+        long cutoff = toMillis(revokedBefore);
+        afterCommit(() -> addCutoff(userId, cutoff));
+    }
+
+    /**
+     * Reloads the denylist from the database and drops revocations whose tokens have expired.
+     * Local revocations not yet visible to the reload are carried over from the current denylist.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${auth.revocation.sync-interval-ms:30000}",
+               initialDelayString = "${auth.revocation.sync-interval-ms:30000}")
+    @Transactional
+    public void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        // A cutoff older than the token lifetime covers only tokens that have already expired
+        LocalDateTime oldestLiveIssue = now.minusNanos(jwtExpiration * 1_000_000);
+        revokedTokenRepository.deleteExpired(now);
+        userTokenRevocationRepository.deleteOlderThan(oldestLiveIssue);
+
+        List<RevokedToken> revokedTokens = revokedTokenRepository.findUnexpired(now);
+        List<UserTokenRevocation> revocations = userTokenRevocationRepository.findNewerThan(oldestLiveIssue);
+
+        long nowMillis = toMillis(now);
+        long oldestLiveIssueMillis = toMillis(oldestLiveIssue);
+        synchronized (this) {
+            Denylist current = denylist;
+            // Size for the larger of the configured and actual count so the false positive rate holds
+            int capacity = Math.max(expectedTokens, 2 * (revokedTokens.size() + current.tokens.size()));
+            Denylist rebuilt = new Denylist(BloomFilter.create(capacity, falsePositiveRate));
+
+            for (RevokedToken token : revokedTokens) {
+                rebuilt.addToken(token.getJti(), toMillis(token.getExpiresAt()));
+            }
+            for (UserTokenRevocation revocation : revocations) {
+                rebuilt.addCutoff(revocation.getUserId(), toMillis(revocation.getRevokedBefore()));
+            }
+            current.tokens.forEach((jti, expiresAt) -> {
+                if (expiresAt > nowMillis) {
+                    rebuilt.addToken(jti, expiresAt);
+                }
+            });
+            current.revokedBefore.forEach((userId, cutoff) -> {
+                if (cutoff > oldestLiveIssueMillis) {
+                    rebuilt.addCutoff(userId, cutoff);
+                }
+            });
+
+            denylist = rebuilt;
+        }
+        log.debug("Token denylist synced: {} revoked tokens, {} revoked users",
+                revokedTokens.size(), revocations.size());
+    }
+
+    private synchronized void addToken(String jti, long expiresAt) {
+        denylist.addToken(jti, expiresAt);
+    }
+
+    private synchronized void addCutoff(Long userId, long cutoff) {
+        denylist.addCutoff(userId, cutoff);
+    }
+
+    private Long resolveUserId(Claims claims) {
+        Long userId = claims.get(JwtUtil.CLAIM_USER_ID, Long.class);
+        if (userId != null) {
+            return userId;
+        }
+        return userRepository.findByEmail(claims.getSubject())
+                .map(User::getId)
+                .orElseThrow(() -> new ResourceNotFoundException(Constants.ERROR_USER_NOT_FOUND));
+    }
+
+    private void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * In-memory mirror of the revocation tables.
+     * Revoked jtis map to their token expiry and per-user cutoffs to epoch millis.
+     */
+    private static final class Denylist {
+
+        private final BloomFilter filter;
+        private final Map<String, Long> tokens = new ConcurrentHashMap<>();
+        private final Map<Long, Long> revokedBefore = new ConcurrentHashMap<>();
+
+        private Denylist(BloomFilter filter) {
+            this.filter = filter;
+        }
+
+        private void addToken(String jti, long expiresAt) {
+            // Exact entry first, so a filter hit always finds it
+            tokens.put(jti, expiresAt);
+            filter.put(jti);
+        }
+
+        private void addCutoff(Long userId, long cutoff) {
+            revokedBefore.merge(userId, cutoff, Math::max);
+        }
+
+        private boolean containsToken(String jti) {
+            return jti != null && filter.mightContain(jti) && tokens.containsKey(jti);
+        }
+
+        // iat has second precision, so a token issued in the same second as the revocation is rejected too
+        private boolean revokesIssuedBefore(Long userId, Date issuedAt) {
+            Long cutoff = userId != null ? revokedBefore.get(userId) : null;
+            return cutoff != null && (issuedAt == null || issuedAt.getTime() <= cutoff);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.slsolution.taxiruta.service;
+
+import com.slsolution.taxiruta.event.TripChangedEvent;
+import com.slsolution.taxiruta.util.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Evicts cached trip data once a change to the trip has committed.
+ * Trip detail entries are evicted by id. Active-trip pages can contain any trip, so a change
+ * moves the listing generation forward: new requests build new keys, and pages loaded from
+ * pre-commit data stay under keys nobody asks for until they are cleared or expire.
+ * Eviction is local to this node; TripChangeFeed evicts here what other nodes changed.
+ */
+@Service
+public class TripCacheInvalidator {
+
+    private static final Logger log = LoggerFactory.getLogger(TripCacheInvalidator.class);
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTripChanged(TripChangedEvent event) {
+        evict(List.of(event.tripId()));
+    }
+
+    /**
+     * Drops cached data of the given trips. Also called by TripChangeFeed for changes committed on
+     * other nodes, which never raise a local event here.
+     */
+    public void evict(Collection<Long> tripIds) {
+        try {
+            generation.incrementAndGet();
+            Cache trips = cacheManager.getCache(Constants.TRIP_CACHE);
+            if (trips != null) {
+                tripIds.forEach(trips::evict);
+            }
+            Cache activeTrips = cacheManager.getCache(Constants.ACTIVE_TRIPS_CACHE);
+            if (activeTrips != null) {
+                activeTrips.clear();
+            }
+        } catch (RuntimeException e) {
+            // Never fail the committed request; the cache TTL bounds how long an entry can linger
+            log.warn("Failed to evict cached trips {}", tripIds, e);
+        }
+    }
+}
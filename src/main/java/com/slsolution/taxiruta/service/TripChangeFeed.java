@@ -0,0 +1,97 @@
+package com.slsolution.taxiruta.service;
+
+import com.slsolution.taxiruta.repository.TripRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Brings changes committed on other nodes into this node's trip caches and route index.
+ *
+ * Every poll reads the trips whose updated_at moved past the newest one seen, minus a lookback
+ * that covers transactions still running when the previous poll read: updated_at is the start
+ * time of the changing transaction, so a long one commits with a time older than the watermark.
+ * Each (trip, updated_at) pair is acted on once, so the overlap costs nothing but the read.
+ * Changed trips are evicted from the caches and re-read into the route index.
+ *
+ * A node also sees its own changes here, one poll after it already handled them locally; that
+ * second eviction and refresh is harmless. Another node's change reaches this node within one poll
+ * interval; one whose transaction ran longer than the lookback is left to the cache TTL and the
+ * periodic index reload.
+ */
+@Service
+public class TripChangeFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(TripChangeFeed.class);
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    @Autowired
+    private TripCacheInvalidator tripCacheInvalidator;
+
+    @Autowired
+    private TripService tripService;
+
+    @Value("${trips.change-feed.enabled:true}")
+    private boolean enabled;
+
+    @Value("${trips.change-feed.lookback-ms:30000}")
+    private long lookbackMillis;
+
+    // Only touched by the scheduler thread, one poll at a time
+    private LocalDateTime watermark;
+    private final Map<Long, LocalDateTime> seen = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("Trip change feed disabled on this node");
+            return;
+        }
+        // Changes older than startup are already in the freshly loaded index and the empty caches
+        watermark = tripRepository.findLastUpdatedAt().orElse(LocalDateTime.now());
+    }
+
+    @Scheduled(fixedDelayString = "${trips.change-feed.poll-interval-ms:2000}")
+    public void poll() {
+        if (watermark == null) {
+            return;
+        }
+        try {
+            LocalDateTime since = watermark.minus(Duration.ofMillis(lookbackMillis));
+            List<Long> changed = new ArrayList<>();
+            for (TripRepository.TripChange change : tripRepository.findChangedSince(since)) {
+                LocalDateTime previous = seen.put(change.getId(), change.getUpdatedAt());
+                if (previous == null || change.getUpdatedAt().isAfter(previous)) {
+                    changed.add(change.getId());
+                }
+                if (change.getUpdatedAt().isAfter(watermark)) {
+                    watermark = change.getUpdatedAt();
+                }
+            }
+            seen.values().removeIf(updatedAt -> updatedAt.isBefore(since));
+
+            if (!changed.isEmpty()) {
+                tripCacheInvalidator.evict(changed);
+                changed.forEach(tripService::scheduleRouteIndexRefresh);
+                log.debug("Trip change feed picked up {} changed trips", changed.size());
+            }
+        } catch (RuntimeException e) {
+            // Nothing is lost unless polls keep failing for longer than the lookback
+            log.warn("Failed to poll for changed trips", e);
+        }
+    }
+}
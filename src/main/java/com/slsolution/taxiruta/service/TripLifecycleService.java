@@ -0,0 +1,235 @@
+package com.slsolution.taxiruta.service;
+
+import com.slsolution.taxiruta.event.BookingStatusChangedEvent;
+import com.slsolution.taxiruta.event.TripScheduledEvent;
+import com.slsolution.taxiruta.model.Booking;
+import com.slsolution.taxiruta.repository.BookingRepository;
+import com.slsolution.taxiruta.repository.TripRepository;
+import com.slsolution.taxiruta.util.HashedWheelTimer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntSupplier;
+
+/**
+ * Completes trips once they depart and expires PENDING bookings nobody decided on in time.
+ *
+ * Deadlines due within the next two refill intervals sit in a hashed timer wheel, so a trip is
+ * completed within one tick of its departure without polling the database. A firing deadline
+ * does not touch its own trip or booking: it requests a sweep, which completes every departed
+ * trip and expires every overdue booking in chunks, each chunk one locking read and one
+ * set-based UPDATE in its own transaction. Deadlines that share a tick share one timer, and
+ * sweeps requested while one is queued share it.
+ *
+ * The wheel is only a wake-up: every refill interval the sweep also runs on its own and reloads
+ * the upcoming deadlines, which covers trips and bookings created on other nodes, timers lost on
+ * restart and departures moved later. Sweeps on several nodes skip each other's locked rows and
+ * only change rows still ACTIVE or PENDING, so running them everywhere is safe.
+ */
+@Service
+public class TripLifecycleService {
+
+    private static final Logger log = LoggerFactory.getLogger(TripLifecycleService.class);
+
+    @Autowired
+    private TripService tripService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${lifecycle.enabled:true}")
+    private boolean enabled;
+
+    @Value("${lifecycle.bookings.pending-ttl-minutes:1440}")
+    private long pendingTtlMinutes;
+
+    @Value("${lifecycle.sweep.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${lifecycle.refill-interval-ms:300000}")
+    private long refillIntervalMillis;
+
+    @Value("${lifecycle.wheel.tick-ms:1000}")
+    private long tickMillis;
+
+    @Value("${lifecycle.wheel.size:512}")
+    private int wheelSize;
+
+    // Ticks that already have a timer, so deadlines sharing a tick schedule it once
+    private final Set<Long> scheduledTicks = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean sweepRequested = new AtomicBoolean();
+
+    private TransactionTemplate transactionTemplate;
+    private HashedWheelTimer wheel;
+    private ExecutorService sweeper;
+    private Timer sweepTime;
+    private Counter tripsCompleted;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        sweepTime = Timer.builder("taxiruta.lifecycle.sweep")
+                .description("Time spent completing departed trips and expiring stale bookings")
+                .register(meterRegistry);
+        tripsCompleted = Counter.builder("taxiruta.lifecycle.trips.completed")
+                .description("Departed trips marked COMPLETED")
+                .register(meterRegistry);
+        Gauge.builder("taxiruta.lifecycle.timers", scheduledTicks, Set::size)
+                .description("Deadline ticks waiting in the lifecycle timer wheel")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("Trip lifecycle engine disabled on this node");
+            return;
+        }
+        wheel = new HashedWheelTimer("lifecycle-wheel", tickMillis, TimeUnit.MILLISECONDS, wheelSize);
+        sweeper = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "lifecycle-sweep");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refill();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (wheel != null) {
+            wheel.stop();
+            sweeper.shutdownNow();
+        }
+    }
+
+    /**
+     * Catches up on overdue work and loads the deadlines due before the next refill into the wheel.
+     */
+    @Scheduled(fixedDelayString = "${lifecycle.refill-interval-ms:300000}",
+            initialDelayString = "${lifecycle.refill-interval-ms:300000}")
+    public void refill() {
+        if (wheel == null) {
+            return;
+        }
+        requestSweep();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime horizon = horizon(now);
+            Duration ttl = Duration.ofMinutes(pendingTtlMinutes);
+            tripRepository.findDepartureTimesBetween(now, horizon).forEach(this::schedule);
+            bookingRepository.findPendingBookingDatesBetween(now.minus(ttl), horizon.minus(ttl))
+                    .forEach(bookingDate -> schedule(bookingDate.plus(ttl)));
+        } catch (RuntimeException e) {
+            // The next refill loads them again; until then the periodic sweep still runs
+            log.warn("Failed to load upcoming lifecycle deadlines", e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTripScheduled(TripScheduledEvent event) {
+        schedule(event.departureTime());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        if (event.status() == Booking.Status.PENDING) {
+            schedule(LocalDateTime.now().plusMinutes(pendingTtlMinutes));
+        }
+    }
+
+    /**
+     * Completes departed trips, then expires overdue bookings, including the pending bookings of
+     * the trips just completed. Runs on the sweep thread; tests may call it directly.
+     */
+    public void sweep() {
+        sweepRequested.set(false);
+        LocalDateTime now = LocalDateTime.now();
+        sweepTime.record(() -> {
+            try {
+                int completed = inChunks(() -> tripService.completeDepartedTrips(now, chunkSize));
+                int expired = inChunks(() -> bookingService.expirePendingBookings(
+                        now.minusMinutes(pendingTtlMinutes), now, chunkSize));
+                tripsCompleted.increment(completed);
+                if (completed > 0 || expired > 0) {
+                    log.debug("Lifecycle sweep completed {} trips and expired {} bookings", completed, expired);
+                }
+            } catch (RuntimeException e) {
+                // Chunks already committed stay done; the rest is picked up by the next sweep
+                log.warn("Lifecycle sweep failed", e);
+            }
+        });
+    }
+
+    private void schedule(LocalDateTime deadline) {
+        if (wheel == null || deadline.isAfter(horizon(LocalDateTime.now()))) {
+            return;
+        }
+        long deadlineMillis = deadline.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        // Rounded up to the next tick, so the sweep never runs before the deadline it was set for
+        long tick = Math.floorDiv(deadlineMillis, tickMillis) + 1;
+        if (scheduledTicks.add(tick)) {
+            wheel.newTimeout(() -> {
+                scheduledTicks.remove(tick);
+                requestSweep();
+            }, tick * tickMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void requestSweep() {
+        if (sweeper != null && sweepRequested.compareAndSet(false, true)) {
+            sweeper.execute(this::sweep);
+        }
+    }
+
+    private LocalDateTime horizon(LocalDateTime now) {
+        return now.plus(Duration.ofMillis(2 * refillIntervalMillis));
+    }
+
+    // Each chunk commits on its own, so locks are held briefly and a failure loses at most one chunk
+    private int inChunks(IntSupplier chunk) {
+        int total = 0;
+        int read;
+        do {
+            Integer chunkRead = transactionTemplate.execute(status -> chunk.getAsInt());
+            read = chunkRead != null ? chunkRead : 0;
+            total += read;
+        } while (read == chunkSize);
+        return total;
+    }
+}
@@ -0,0 +1,389 @@
+package com.slsolution.taxiruta.service;
+
+import com.slsolution.taxiruta.dto.response.TripResponseDTO;
+import com.slsolution.taxiruta.model.Trip;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * In-memory index of ACTIVE future trips used to answer trip search without a database round trip.
+ * Place names are interned to int ids, and each origin/destination pair is packed into a single
+ * long route key that maps to its trips sorted by departure time. Search filters place names by
+ * substring first (there are far fewer places than trips), then binary-searches the departure
+ * window on each matching route.
+ * Routes are copy-on-write per key: a write replaces the sorted array of the one or two routes it
+ * touches, so it costs the size of those routes, not of the index. Writes to different trips run in
+ * parallel; writes to the same trip are serialized by its entry in the trip-to-route map. Reads take
+ * no lock and see every route array whole, but not all routes from the same instant: a trip moving
+ * between routes is briefly in neither, never in both. Indexed DTOs are shared between callers and
+ * must be treated as read-only.
+ */
+@Service
+public class TripRouteIndex {
+
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+    private static final Comparator<Entry> BY_DEPARTURE =
+            Comparator.comparing(Entry::departureTime).thenComparingLong(Entry::tripId);
+
+    @Value("${trips.index.enabled:true}")
+    private boolean enabled;
+
+    // Writes share the read side; a reload takes the write side only to start recording and to swap in
+    // its result, so no write can fall between the two. A lock rather than synchronized, so virtual
+    // threads waiting on it do not pin their carrier
+    private final ReentrantReadWriteLock reloadLock = new ReentrantReadWriteLock();
+
+    private volatile Index index = new Index();
+    private volatile boolean ready;
+
+    // Changes applied while a full reload is reading the database, replayed on top of its result;
+    // an empty Optional is a removal
+    private volatile Map<Long, Optional<TripResponseDTO>> pendingChanges;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    public int size() {
+        return index.routeByTrip.size();
+    }
+
+    /**
+     * Rebuilds the index from a full load of active trips.
+     * Changes applied while the loader runs are recorded and replayed on top of the loaded index,
+     * so a trip updated mid-reload never goes back to its older state.
+     */
+    public void reload(Supplier<Collection<TripResponseDTO>> loader) {
+        withReloadLock(() -> pendingChanges = new ConcurrentHashMap<>());
+        Collection<TripResponseDTO> trips;
+        try {
+            trips = loader.get();
+        } catch (RuntimeException e) {
+            withReloadLock(() -> pendingChanges = null);
+            throw e;
+        }
+        Index loaded = Index.of(trips, LocalDateTime.now());
+        withReloadLock(() -> {
+            pendingChanges.forEach((tripId, trip) -> loaded.apply(tripId, trip.orElse(null), null));
+            pendingChanges = null;
+            index = loaded;
+            ready = true;
+        });
+    }
+
+    /**
+     * Adds or refreshes a trip; trips that are no longer active or have departed are removed.
+     */
+    public void upsert(TripResponseDTO trip) {
+        write(trip.getId(), trip);
+    }
+
+    public void remove(Long tripId) {
+        write(tripId, null);
+    }
+
+    /**
+     * Drops trips whose departure time has passed.
+     */
+    public int pruneDeparted(LocalDateTime now) {
+        Lock lock = reloadLock.readLock();
+        lock.lock();
+        try {
+            Index current = index;
+            int removed = 0;
+            for (Entry[] entries : current.routes.values()) {
+                int departed = firstAfter(entries, now);
+                for (int i = 0; i < departed; i++) {
+                    if (current.removeIfDeparted(entries[i].tripId(), now)) {
+                        removed++;
+                    }
+                }
+            }
+            return removed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Same filters as the database search: case-insensitive substring match on origin and
+     * destination, departure inside [windowStart, windowEnd) and after now.
+     */
+    public List<TripResponseDTO> search(String origin, String destination,
+                                        LocalDateTime windowStart, LocalDateTime windowEnd, LocalDateTime now) {
+        Index current = index;
+        BitSet originMatches = current.places.matching(origin);
+        BitSet destinationMatches = current.places.matching(destination);
+        LocalDateTime lowerBound = windowStart.isAfter(now) ? windowStart : now;
+
+        List<Entry> matches = new ArrayList<>();
+        for (Map.Entry<Long, Entry[]> route : current.routes.entrySet()) {
+            long routeKey = route.getKey();
+            if ((originMatches != null && !originMatches.get(originId(routeKey)))
+                    || (destinationMatches != null && !destinationMatches.get(destinationId(routeKey)))) {
+                continue;
+            }
+            Entry[] entries = route.getValue();
+            for (int i = firstAtOrAfter(entries, lowerBound); i < entries.length; i++) {
+                Entry entry = entries[i];
+                if (!entry.departureTime().isBefore(windowEnd)) {
+                    break;
+                }
+                if (entry.departureTime().isAfter(now)) {
+                    matches.add(entry);
+                }
+            }
+        }
+
+        matches.sort(BY_DEPARTURE);
+        List<TripResponseDTO> result = new ArrayList<>(matches.size());
+        for (Entry entry : matches) {
+            result.add(entry.trip());
+        }
+        return result;
+    }
+
+    private void write(Long tripId, TripResponseDTO trip) {
+        Lock lock = reloadLock.readLock();
+        lock.lock();
+        try {
+            index.apply(tripId, trip, pendingChanges);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void withReloadLock(Runnable action) {
+        Lock lock = reloadLock.writeLock();
+        lock.lock();
+        try {
+            action.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static boolean isSearchable(TripResponseDTO trip, LocalDateTime now) {
+        return Trip.Status.ACTIVE.name().equals(trip.getStatus()) && trip.getDepartureTime().isAfter(now);
+    }
+
+    // Index of the first entry departing strictly after the given time
+    private static int firstAfter(Entry[] entries, LocalDateTime time) {
+        int low = 0;
+        int high = entries.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (entries[mid].departureTime().isAfter(time)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    // Index of the first entry departing at or after the given time
+    private static int firstAtOrAfter(Entry[] entries, LocalDateTime time) {
+        int low = 0;
+        int high = entries.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (entries[mid].departureTime().isBefore(time)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int originId(long routeKey) {
+        return (int) (routeKey >>> 32);
+    }
+
+    private static int destinationId(long routeKey) {
+        return (int) routeKey;
+    }
+
+    private static String normalize(String place) {
+        return place.toLowerCase(Locale.ROOT);
+    }
+
+    private static Entry[] without(Entry[] entries, long tripId) {
+        for (int i = 0; i < entries.length; i++) {
+            if (entries[i].tripId() == tripId) {
+                Entry[] updated = new Entry[entries.length - 1];
+                System.arraycopy(entries, 0, updated, 0, i);
+                System.arraycopy(entries, i + 1, updated, i, entries.length - i - 1);
+                return updated;
+            }
+        }
+        return entries;
+    }
+
+    private static Entry[] with(Entry[] entries, Entry entry) {
+        int insertAt = -Arrays.binarySearch(entries, entry, BY_DEPARTURE) - 1;
+        Entry[] updated = new Entry[entries.length + 1];
+        System.arraycopy(entries, 0, updated, 0, insertAt);
+        updated[insertAt] = entry;
+        System.arraycopy(entries, insertAt, updated, insertAt + 1, entries.length - insertAt);
+        return updated;
+    }
+
+    /**
+     * Routes, the route of every indexed trip and the place dictionary.
+     * A reload builds a new one and swaps it in; everything else changes it in place.
+     */
+    private static final class Index {
+
+        // Route arrays are never mutated once stored, only replaced
+        private final Map<Long, Entry[]> routes = new ConcurrentHashMap<>();
+        private final Map<Long, Long> routeByTrip = new ConcurrentHashMap<>();
+        private final Places places = new Places();
+
+        static Index of(Collection<TripResponseDTO> trips, LocalDateTime now) {
+            Index loaded = new Index();
+            Map<Long, List<Entry>> grouped = new HashMap<>();
+            for (TripResponseDTO trip : trips) {
+                if (isSearchable(trip, now)) {
+                    long routeKey = loaded.routeKey(trip.getOrigin(), trip.getDestination());
+                    grouped.computeIfAbsent(routeKey, key -> new ArrayList<>()).add(new Entry(trip));
+                    loaded.routeByTrip.put(trip.getId(), routeKey);
+                }
+            }
+            grouped.forEach((routeKey, entries) -> {
+                Entry[] sorted = entries.toArray(NO_ENTRIES);
+                Arrays.sort(sorted, BY_DEPARTURE);
+                loaded.routes.put(routeKey, sorted);
+            });
+            return loaded;
+        }
+
+        // Runs inside the trip's map entry, so writes to one trip apply, and are recorded, in one order.
+        // Route updates nest inside it and never the other way round, so the two maps cannot deadlock
+        void apply(Long tripId, TripResponseDTO trip, Map<Long, Optional<TripResponseDTO>> pending) {
+            routeByTrip.compute(tripId, (id, previousRoute) -> {
+                if (pending != null) {
+                    pending.put(id, Optional.ofNullable(trip));
+                }
+                if (previousRoute != null) {
+                    routes.computeIfPresent(previousRoute, (key, entries) -> nonEmpty(without(entries, id)));
+                }
+                if (trip == null || !isSearchable(trip, LocalDateTime.now())) {
+                    return null;
+                }
+                long routeKey = routeKey(trip.getOrigin(), trip.getDestination());
+                Entry entry = new Entry(trip);
+                routes.compute(routeKey, (key, entries) -> with(entries != null ? entries : NO_ENTRIES, entry));
+                return routeKey;
+            });
+        }
+
+        // Removes the trip only if its indexed departure is still not after now
+        boolean removeIfDeparted(long tripId, LocalDateTime now) {
+            boolean[] removed = new boolean[1];
+            routeByTrip.computeIfPresent(tripId, (id, routeKey) -> {
+                routes.computeIfPresent(routeKey, (key, entries) -> {
+                    for (Entry entry : entries) {
+                        if (entry.tripId() == tripId && !entry.departureTime().isAfter(now)) {
+                            removed[0] = true;
+                            return nonEmpty(without(entries, tripId));
+                        }
+                    }
+                    return entries;
+                });
+                return removed[0] ? null : routeKey;
+            });
+            return removed[0];
+        }
+
+        long routeKey(String origin, String destination) {
+            return ((long) places.idOf(origin) << 32) | (places.idOf(destination) & 0xFFFFFFFFL);
+        }
+
+        // An empty route is removed from the map rather than kept as an empty array
+        private static Entry[] nonEmpty(Entry[] entries) {
+            return entries.length == 0 ? null : entries;
+        }
+    }
+
+    /**
+     * Dictionary of normalized place names. Ids are dense so matches fit in a BitSet.
+     * Names are appended under a lock and never changed; a search reads the names array it finds,
+     * and a route whose place id is past its end was added after the search started and is skipped.
+     */
+    private static final class Places {
+
+        private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+        private final ReentrantLock appendLock = new ReentrantLock();
+        private volatile String[] names = new String[0];
+
+        // Returns null when there is no filter, i.e. every place matches
+        BitSet matching(String term) {
+            if (term == null) {
+                return null;
+            }
+            String needle = normalize(term);
+            String[] known = names;
+            BitSet matches = new BitSet(known.length);
+            for (int id = 0; id < known.length; id++) {
+                if (known[id].contains(needle)) {
+                    matches.set(id);
+                }
+            }
+            return matches;
+        }
+
+        int idOf(String place) {
+            String normalized = normalize(place);
+            Integer id = ids.get(normalized);
+            if (id != null) {
+                return id;
+            }
+            appendLock.lock();
+            try {
+                id = ids.get(normalized);
+                if (id != null) {
+                    return id;
+                }
+                // The name is published before its id, so any route using the id can find its name
+                int newId = names.length;
+                String[] appended = Arrays.copyOf(names, newId + 1);
+                appended[newId] = normalized;
+                names = appended;
+                ids.put(normalized, newId);
+                return newId;
+            } finally {
+                appendLock.unlock();
+            }
+        }
+    }
+
+    private record Entry(long tripId, LocalDateTime departureTime, TripResponseDTO trip) {
+
+        Entry(TripResponseDTO trip) {
+            this(trip.getId(), trip.getDepartureTime(), trip);
+        }
+    }
+}
\ No newline at end of file
@@ -1,8 +1,12 @@
 package com.slsolution.taxiruta.service;
 
 import com.slsolution.taxiruta.dto.request.TripRequestDTO;
+import com.slsolution.taxiruta.dto.response.CursorPageResponseDTO;
 import com.slsolution.taxiruta.dto.response.TripResponseDTO;
 import com.slsolution.taxiruta.dto.response.UserResponseDTO;
+import com.slsolution.taxiruta.event.DomainEventType;
+import com.slsolution.taxiruta.event.TripChangedEvent;
+import com.slsolution.taxiruta.event.TripScheduledEvent;
 import com.slsolution.taxiruta.exception.BadRequestException;
 import com.slsolution.taxiruta.exception.ResourceNotFoundException;
 import com.slsolution.taxiruta.exception.UnauthorizedException;
@@ -10,22 +14,89 @@ import com.slsolution.taxiruta.model.Trip;
 import com.slsolution.taxiruta.model.User;
 import com.slsolution.taxiruta.repository.TripRepository;
 import com.slsolution.taxiruta.util.Constants;
+import com.slsolution.taxiruta.util.PageCursor;
+import com.slsolution.taxiruta.util.StripedExecutor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "taxiruta.service", description = "Time spent in service methods")
 public class TripService {
 
+    private static final Logger log = LoggerFactory.getLogger(TripService.class);
+
     @Autowired
     private TripRepository tripRepository;
 
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private TripRouteIndex tripRouteIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${trips.index.refresh-threads:2}")
+    private int refreshThreads;
+
+    @Value("${trips.index.refresh-queue-capacity:10000}")
+    private int refreshQueueCapacity;
+
+    // Trips with a route index refresh queued; a burst of changes to one trip costs one read
+    private final Set<Long> refreshQueued = ConcurrentHashMap.newKeySet();
+
+    private StripedExecutor refreshExecutor;
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    public void init() {
+        refreshExecutor = new StripedExecutor("route-index-refresh-", refreshThreads, refreshQueueCapacity);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    @Transactional
     public TripResponseDTO createTrip(TripRequestDTO request, User driver) {
         // Validate that user is a driver
         if (driver.getRole() != User.Role.DRIVER) {
@@ -38,7 +109,7 @@ public class TripService {
         }
 
         Trip trip = new Trip();
-        trip.setDriver(driver);
+        trip.setDriver(userService.getUserReference(driver.getId()));
         trip.setOrigin(request.getOrigin());
         trip.setDestination(request.getDestination());
         trip.setDepartureTime(request.getDepartureTime());
@@ -48,9 +119,12 @@ public class TripService {
         trip.setStatus(Trip.Status.ACTIVE);
 
         Trip savedTrip = tripRepository.save(trip);
+        eventPublisher.publishEvent(new TripChangedEvent(savedTrip.getId()));
+        eventPublisher.publishEvent(new TripScheduledEvent(savedTrip.getId(), savedTrip.getDepartureTime()));
         return convertToResponseDTO(savedTrip);
     }
 
+    @Transactional
     public TripResponseDTO updateTrip(Long tripId, TripRequestDTO request, User user) {
         Trip trip = getTripById(tripId);
 
@@ -69,17 +143,30 @@ public class TripService {
             throw new BadRequestException("Departure time must be in the future");
         }
 
+        // Seats already confirmed to passengers cannot be taken away; checked atomically
+        // against the current counter so a concurrent confirmation cannot slip in between
+        if (!request.getAvailableSeats().equals(trip.getAvailableSeats())) {
+            if (tripRepository.updateAvailableSeats(tripId, request.getAvailableSeats()) == 0) {
+                throw new BadRequestException(Constants.ERROR_SEATS_BELOW_CONFIRMED);
+            }
+            // The bulk update bypassed this entity; reload it so the response carries the committed
+            // seat counters, including confirmations and holds made since it was read
+            entityManager.refresh(trip);
+        }
+
         trip.setOrigin(request.getOrigin());
         trip.setDestination(request.getDestination());
         trip.setDepartureTime(request.getDepartureTime());
-        trip.setAvailableSeats(request.getAvailableSeats());
         trip.setPricePerSeat(request.getPricePerSeat());
         trip.setDescription(request.getDescription());
 
         Trip updatedTrip = tripRepository.save(trip);
+        eventPublisher.publishEvent(new TripChangedEvent(tripId));
+        eventPublisher.publishEvent(new TripScheduledEvent(tripId, updatedTrip.getDepartureTime()));
         return convertToResponseDTO(updatedTrip);
     }
 
+    @Transactional
     public void cancelTrip(Long tripId, User user) {
         Trip trip = getTripById(tripId);
 
@@ -95,6 +182,57 @@ public class TripService {
 
         trip.setStatus(Trip.Status.CANCELLED);
         tripRepository.save(trip);
+        recordOutbox(DomainEventType.TRIP_CANCELLED, trip, Trip.Status.CANCELLED);
+        eventPublisher.publishEvent(new TripChangedEvent(tripId));
+    }
+
+    /**
+     * Marks one chunk of departed ACTIVE trips COMPLETED with a single UPDATE.
+     * Returns how many trips the chunk held; the caller repeats while chunks come back full.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int completeDepartedTrips(LocalDateTime now, int limit) {
+        List<Trip> trips = tripRepository.findDepartedForUpdate(now, PageRequest.ofSize(limit));
+        if (trips.isEmpty()) {
+            return 0;
+        }
+
+        // The rows are locked, so every one of them changes
+        tripRepository.completeTrips(trips.stream().map(Trip::getId).toList());
+        for (Trip trip : trips) {
+            recordOutbox(DomainEventType.TRIP_COMPLETED, trip, Trip.Status.COMPLETED);
+            eventPublisher.publishEvent(new TripChangedEvent(trip.getId()));
+        }
+        return trips.size();
+    }
+
+    /**
+     * Claims seats on a trip with a single conditional UPDATE.
+     * Must run inside the caller's transaction so a later failure releases the claim.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean reserveSeats(Long tripId, int seats) {
+        return seatsChanged(tripId, tripRepository.reserveSeats(tripId, seats));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void releaseSeats(Long tripId, int seats) {
+        seatsChanged(tripId, tripRepository.releaseSeats(tripId, seats));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean holdSeats(Long tripId, int seats) {
+        return seatsChanged(tripId, tripRepository.holdSeats(tripId, seats));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void releaseHeldSeats(Long tripId, int seats) {
+        seatsChanged(tripId, tripRepository.releaseHeldSeats(tripId, seats));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean confirmHeldSeats(Long tripId, int seats) {
+        return seatsChanged(tripId, tripRepository.confirmHeldSeats(tripId, seats));
     }
 
     public Trip getTripById(Long id) {
@@ -102,6 +240,9 @@ public class TripService {
                 .orElseThrow(() -> new ResourceNotFoundException(Constants.ERROR_TRIP_NOT_FOUND));
     }
 
+    // sync: the load runs inside the cache's per-key compute, so an eviction issued while it is
+    // in flight waits for it and then removes it instead of letting a pre-commit read survive
+    @Cacheable(cacheNames = Constants.TRIP_CACHE, key = "#id", sync = true)
     public TripResponseDTO getTripResponseById(Long id) {
         Trip trip = getTripById(id);
         return convertToResponseDTO(trip);
@@ -121,9 +262,41 @@ public class TripService {
                 .collect(Collectors.toList());
     }
 
+    // Pages are keyed by the listing generation, which moves forward on every trip change
+    @Cacheable(cacheNames = Constants.ACTIVE_TRIPS_CACHE,
+               key = "@tripCacheInvalidator.generation + ':' + #cursor + ':' + #size", sync = true)
+    public CursorPageResponseDTO<TripResponseDTO> getActiveTrips(String cursor, Integer size) {
+        int pageSize = PageCursor.pageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        PageRequest limit = PageRequest.ofSize(pageSize + 1);
+
+        List<Trip> trips = after == null
+                ? tripRepository.findActiveTripsPage(LocalDateTime.now(), limit)
+                : tripRepository.findActiveTripsPageAfter(LocalDateTime.now(), after.getTimestamp(), after.getId(), limit);
+        return CursorPageResponseDTO.of(trips, pageSize, this::convertToResponseDTO, this::cursorOf);
+    }
+
     public List<TripResponseDTO> searchTrips(String origin, String destination, LocalDateTime departureDate) {
-        List<Trip> trips = tripRepository.findTripsWithFilters(
-                LocalDateTime.now(), origin, destination, departureDate);
+        LocalDateTime now = LocalDateTime.now();
+        // A departure date narrows the search to that calendar day; without one any future trip matches
+        LocalDateTime windowStart = departureDate != null ? departureDate.toLocalDate().atStartOfDay() : now;
+        LocalDateTime windowEnd = departureDate != null ? windowStart.plusDays(1) : Constants.MAX_DATE_TIME;
+
+        // LIKE wildcards in the terms only mean something to the database, so those searches skip the index
+        if (tripRouteIndex.isReady() && !hasLikeWildcards(origin) && !hasLikeWildcards(destination)) {
+            return tripRouteIndex.search(origin, destination, windowStart, windowEnd, now);
+        }
+
+        List<Trip> trips;
+        if (origin != null && destination != null) {
+            trips = tripRepository.searchActiveTripsByRoute(now, windowStart, windowEnd, origin, destination);
+        } else if (origin != null) {
+            trips = tripRepository.searchActiveTripsByOrigin(now, windowStart, windowEnd, origin);
+        } else if (destination != null) {
+            trips = tripRepository.searchActiveTripsByDestination(now, windowStart, windowEnd, destination);
+        } else {
+            trips = tripRepository.searchActiveTrips(now, windowStart, windowEnd);
+        }
         return trips.stream()
                 .map(this::convertToResponseDTO)
                 .collect(Collectors.toList());
@@ -136,6 +309,17 @@ public class TripService {
                 .collect(Collectors.toList());
     }
 
+    public CursorPageResponseDTO<TripResponseDTO> getDriverTrips(Long driverId, String cursor, Integer size) {
+        int pageSize = PageCursor.pageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        PageRequest limit = PageRequest.ofSize(pageSize + 1);
+
+        List<Trip> trips = after == null
+                ? tripRepository.findDriverTripsPage(driverId, limit)
+                : tripRepository.findDriverTripsPageAfter(driverId, after.getTimestamp(), after.getId(), limit);
+        return CursorPageResponseDTO.of(trips, pageSize, this::convertToResponseDTO, this::cursorOf);
+    }
+
     public List<TripResponseDTO> getActiveTripsForDriver(User driver) {
         List<Trip> trips = tripRepository.findActiveTripsForDriver(driver, LocalDateTime.now());
         return trips.stream()
@@ -160,4 +344,85 @@ public class TripService {
                 trip.getCreatedAt()
         );
     }
+
+    /**
+     * Loads active trips into the route index at startup and reloads them periodically.
+     * Changes made on other application instances arrive through TripChangeFeed within one poll
+     * interval; the reload catches whatever the feed missed within trips.index.reload-interval-ms.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${trips.index.reload-interval-ms:600000}",
+               initialDelayString = "${trips.index.reload-interval-ms:600000}")
+    @Transactional(readOnly = true)
+    public void reloadRouteIndex() {
+        if (!tripRouteIndex.isEnabled()) {
+            return;
+        }
+        tripRouteIndex.reload(() -> tripRepository.findActiveTrips(LocalDateTime.now()).stream()
+                .map(this::convertToResponseDTO)
+                .collect(Collectors.toList()));
+        log.info("Trip route index loaded with {} active trips", tripRouteIndex.size());
+    }
+
+    @Scheduled(fixedDelayString = "${trips.index.prune-interval-ms:60000}")
+    public void pruneRouteIndex() {
+        if (tripRouteIndex.isReady()) {
+            tripRouteIndex.pruneDeparted(LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Queues a re-read of a changed trip into the route index once its transaction has committed.
+     * The read runs on the refresh executor, so the committing request thread never waits for a
+     * second pooled connection while it still holds its own.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTripChanged(TripChangedEvent event) {
+        scheduleRouteIndexRefresh(event.tripId());
+    }
+
+    public void scheduleRouteIndexRefresh(Long tripId) {
+        if (tripRouteIndex.isEnabled() && refreshQueued.add(tripId)) {
+            refreshExecutor.execute(tripId, () -> refreshRouteIndex(tripId));
+        }
+    }
+
+    private void refreshRouteIndex(Long tripId) {
+        // Cleared before the read, so a change committed while it runs queues one more refresh
+        refreshQueued.remove(tripId);
+        try {
+            // A new transaction reads the committed seat counters, not a stale persistence context
+            readOnlyTransaction.executeWithoutResult(status -> tripRepository.findWithDriverById(tripId).ifPresentOrElse(
+                    trip -> tripRouteIndex.upsert(convertToResponseDTO(trip)),
+                    () -> tripRouteIndex.remove(tripId)));
+        } catch (RuntimeException e) {
+            // The change is already committed; the next periodic reload brings the index back in line
+            log.warn("Failed to refresh trip {} in the route index", tripId, e);
+        }
+    }
+
+    private boolean seatsChanged(Long tripId, int updatedRows) {
+        if (updatedRows == 0) {
+            return false;
+        }
+        eventPublisher.publishEvent(new TripChangedEvent(tripId));
+        return true;
+    }
+
+    private static boolean hasLikeWildcards(String term) {
+        return term != null && (term.indexOf('%') >= 0 || term.indexOf('_') >= 0);
+    }
+
+    private String cursorOf(Trip trip) {
+        return PageCursor.encode(trip.getDepartureTime(), trip.getId());
+    }
+
+    // The status is given explicitly, since bulk updates bypass the loaded entity
+    private void recordOutbox(DomainEventType type, Trip trip, Trip.Status status) {
+        outboxService.record(type, trip.getId(), Map.of(
+                "tripId", trip.getId(),
+                "driverId", trip.getDriver().getId(),
+                "status", status.name(),
+                "confirmedSeats", trip.getConfirmedSeats()));
+    }
 }
\ No newline at end of file
@@ -1,17 +1,24 @@
 package com.slsolution.taxiruta.service;
 
+import com.slsolution.taxiruta.dto.response.CursorPageResponseDTO;
 import com.slsolution.taxiruta.dto.response.UserResponseDTO;
 import com.slsolution.taxiruta.exception.ResourceNotFoundException;
 import com.slsolution.taxiruta.model.User;
 import com.slsolution.taxiruta.repository.UserRepository;
 import com.slsolution.taxiruta.util.Constants;
+import com.slsolution.taxiruta.util.PageCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,6 +39,30 @@ public class UserService implements UserDetailsService {
                 .orElseThrow(() -> new ResourceNotFoundException(Constants.ERROR_USER_NOT_FOUND));
     }
 
+    /**
+     * Reference to a user row for use in associations; fields are only loaded if read.
+     * Lets services link the lightweight JWT principal without fetching the user.
+     */
+    public User getUserReference(Long id) {
+        return userRepository.getReferenceById(id);
+    }
+
+    /**
+     * Loads several users with one query, keyed by id; unknown ids are left out.
+     */
+    public Map<Long, User> getUsersById(Collection<Long> ids) {
+        return userRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+    }
+
+    /**
+     * Grants the ADMIN role to the registered users with the given emails; returns how many changed.
+     */
+    @Transactional
+    public int grantAdminRole(Collection<String> emails) {
+        return userRepository.updateRoleByEmailIn(emails, User.Role.ADMIN);
+    }
+
     public User getUserByEmail(String email) {
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException(Constants.ERROR_USER_NOT_FOUND));
@@ -44,6 +75,16 @@ public class UserService implements UserDetailsService {
                 .collect(Collectors.toList());
     }
 
+    public CursorPageResponseDTO<UserResponseDTO> getAllUsers(String cursor, Integer size) {
+        int pageSize = PageCursor.pageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+
+        List<User> users = userRepository.findPageAfter(
+                after == null ? 0L : after.getId(), PageRequest.ofSize(pageSize + 1));
+        return CursorPageResponseDTO.of(users, pageSize, this::convertToResponseDTO,
+                user -> PageCursor.encode(user.getId()));
+    }
+
     public UserResponseDTO getUserResponseById(Long id) {
         User user = getUserById(id);
         return convertToResponseDTO(user);
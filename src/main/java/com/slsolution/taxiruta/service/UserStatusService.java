@@ -0,0 +1,48 @@
+package com.slsolution.taxiruta.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.slsolution.taxiruta.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Short-lived cache of each user's active flag.
+ * JWT principals are built from token claims, so this is the only per-user state checked on
+ * authenticated requests: a deactivated user is locked out once their entry expires, at most
+ * auth.user-status.ttl-seconds later, instead of when their token expires.
+ */
+@Service
+public class UserStatusService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${auth.user-status.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${auth.user-status.max-size:100000}")
+    private long maxSize;
+
+    private Cache<Long, Boolean> activeByUserId;
+
+    @PostConstruct
+    public void init() {
+        activeByUserId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public boolean isActive(Long userId) {
+        return activeByUserId.get(userId, id -> userRepository.findActiveFlagById(id).orElse(false));
+    }
+
+    public void evict(Long userId) {
+        activeByUserId.invalidate(userId);
+    }
+}
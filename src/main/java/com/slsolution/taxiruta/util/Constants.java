@@ -1,5 +1,7 @@
 package com.slsolution.taxiruta.util;
 
+import java.time.LocalDateTime;
+
 public class Constants {
 
     // API Endpoints
@@ -16,10 +18,19 @@ public class Constants {
     // Default Values
     public static final int DEFAULT_PAGE_SIZE = 20;
     public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_BATCH_SIZE = 100;
+    public static final int EXPORT_FETCH_SIZE = 500;
+    // Upper bound for open-ended date ranges; Postgres timestamps cannot hold LocalDateTime.MAX
+    public static final LocalDateTime MAX_DATE_TIME = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    // Cache Names
+    public static final String TRIP_CACHE = "trips";
+    public static final String ACTIVE_TRIPS_CACHE = "activeTrips";
 
     // User Roles
     public static final String ROLE_DRIVER = "DRIVER";
     public static final String ROLE_PASSENGER = "PASSENGER";
+    public static final String ROLE_ADMIN = "ADMIN";
 
     // Trip Status
     public static final String TRIP_STATUS_ACTIVE = "ACTIVE";
@@ -40,14 +51,31 @@ public class Constants {
     public static final String ERROR_USERNAME_ALREADY_EXISTS = "Username already exists";
     public static final String ERROR_EMAIL_ALREADY_EXISTS = "Email already exists";
     public static final String ERROR_INSUFFICIENT_SEATS = "Not enough seats available";
+    public static final String ERROR_SEATS_BELOW_CONFIRMED = "Available seats cannot be lower than seats already confirmed";
     public static final String ERROR_UNAUTHORIZED_ACCESS = "Unauthorized access";
     public static final String ERROR_INVALID_ROLE = "Invalid role";
+    public static final String ERROR_INVALID_TOKEN = "Invalid or expired token";
+    public static final String ERROR_SERVICE_OVERLOADED = "Service is busy, please retry shortly";
     public static final String ERROR_TRIP_NOT_ACTIVE = "Trip is not active";
     public static final String ERROR_BOOKING_ALREADY_EXISTS = "Booking already exists for this trip";
+    public static final String ERROR_DRIVER_OWN_TRIP = "Driver cannot book their own trip";
+    public static final String ERROR_BOOKING_NOT_PENDING = "Booking is not pending";
+    public static final String ERROR_BOOKINGS_CHANGED_CONCURRENTLY = "Some bookings were modified concurrently, please retry";
+    public static final String ERROR_DUPLICATE_DECISION = "Duplicate decision for this booking";
+    public static final String ERROR_INVALID_CURSOR = "Invalid pagination cursor";
+    public static final String ERROR_INVALID_PAGE_SIZE = "Page size must be positive";
+    public static final String ERROR_INVALID_EXPORT_RANGE = "Export start date must not be after end date";
+    public static final String ERROR_HOLD_NOT_FOUND = "Seat hold not found or expired";
+    public static final String ERROR_HOLD_ALREADY_EXISTS = "Seat hold already exists for this trip";
+    public static final String ERROR_TOO_MANY_WATCHED_TRIPS = "Too many trips watched in one live stream";
+    public static final String ERROR_INVALID_SOCKET_MESSAGE = "Invalid message";
+    public static final String ERROR_SOCKET_COMMAND_FAILED = "Command could not be processed, please retry";
 
     // Success Messages
     public static final String SUCCESS_USER_REGISTERED = "User registered successfully";
     public static final String SUCCESS_LOGIN = "Login successful";
+    public static final String SUCCESS_LOGOUT = "Logout successful";
+    public static final String SUCCESS_TOKENS_REVOKED = "User tokens revoked successfully";
     public static final String SUCCESS_TRIP_CREATED = "Trip created successfully";
     public static final String SUCCESS_TRIP_UPDATED = "Trip updated successfully";
     public static final String SUCCESS_TRIP_CANCELLED = "Trip cancelled successfully";
@@ -56,6 +84,10 @@ public class Constants {
     public static final String SUCCESS_BOOKING_CONFIRMED = "Booking confirmed successfully";
     public static final String SUCCESS_BOOKING_REJECTED = "Booking rejected successfully";
     public static final String SUCCESS_BOOKING_CANCELLED = "Booking cancelled successfully";
+    public static final String SUCCESS_BOOKING_DECISIONS_PROCESSED = "Booking decisions processed successfully";
+    public static final String SUCCESS_HOLD_CREATED = "Seats held successfully";
+    public static final String SUCCESS_HOLD_CONFIRMED = "Seat hold confirmed successfully";
+    public static final String SUCCESS_HOLD_RELEASED = "Seat hold released successfully";
 
     // Private constructor to prevent instantiation
     private Constants() {
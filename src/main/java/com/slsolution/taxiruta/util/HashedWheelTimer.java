@@ -0,0 +1,159 @@
+package com.slsolution.taxiruta.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hashed timing wheel: a ring of buckets, one per tick, advanced by a single thread.
+ * A timeout goes into the bucket of the tick it expires on, with the number of full turns
+ * left, so scheduling and cancelling are O(1) however many timeouts are pending, and each tick
+ * only visits its own bucket. Timeouts fire on the tick after their deadline, never before it,
+ * so the precision is one tick. Tasks run on the wheel thread and must be short: hand real work
+ * off to another executor.
+ */
+public final class HashedWheelTimer {
+
+    private static final Logger log = LoggerFactory.getLogger(HashedWheelTimer.class);
+
+    private final long tickNanos;
+    private final ArrayDeque<Timeout>[] wheel;
+    private final int mask;
+    private final Queue<Timeout> added = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final long startNanos;
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    @SuppressWarnings("unchecked")
+    public HashedWheelTimer(String threadName, long tickDuration, TimeUnit unit, int ticksPerWheel) {
+        if (tickDuration <= 0 || ticksPerWheel <= 0) {
+            throw new IllegalArgumentException("Invalid timer wheel sizing");
+        }
+        // Rounded up to a power of two so the bucket index is a mask
+        int buckets = Integer.highestOneBit(ticksPerWheel - 1) << 1;
+        this.wheel = new ArrayDeque[Math.max(buckets, 1)];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new ArrayDeque<>();
+        }
+        this.mask = wheel.length - 1;
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.startNanos = System.nanoTime();
+        this.worker = new Thread(this::run, threadName);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Runs the task once, on the first tick at or after the given delay.
+     */
+    public Timeout newTimeout(Runnable task, long delay, TimeUnit unit) {
+        if (!running) {
+            throw new IllegalStateException("Timer stopped");
+        }
+        Timeout timeout = new Timeout(task, System.nanoTime() - startNanos + Math.max(unit.toNanos(delay), 0));
+        pending.incrementAndGet();
+        added.add(timeout);
+        return timeout;
+    }
+
+    public int pendingTimeouts() {
+        return pending.get();
+    }
+
+    public void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    private void run() {
+        long tick = 0;
+        while (running) {
+            long sleepNanos = (tick + 1) * tickNanos - (System.nanoTime() - startNanos);
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            transferAdded(tick);
+            expire(wheel[(int) (tick & mask)]);
+            tick++;
+        }
+    }
+
+    // New timeouts are placed by the wheel thread only, so buckets need no locking
+    private void transferAdded(long tick) {
+        Timeout timeout;
+        while ((timeout = added.poll()) != null) {
+            if (timeout.state.get() == Timeout.CANCELLED) {
+                continue;
+            }
+            long expiryTick = timeout.deadlineNanos / tickNanos;
+            timeout.remainingRounds = (expiryTick - tick) / wheel.length;
+            // A deadline already behind the wheel fires on this tick
+            wheel[(int) (Math.max(expiryTick, tick) & mask)].add(timeout);
+        }
+    }
+
+    private void expire(ArrayDeque<Timeout> bucket) {
+        for (int i = bucket.size(); i > 0; i--) {
+            Timeout timeout = bucket.poll();
+            if (timeout.state.get() == Timeout.CANCELLED) {
+                continue;
+            }
+            if (timeout.remainingRounds > 0) {
+                timeout.remainingRounds--;
+                bucket.add(timeout);
+                continue;
+            }
+            if (timeout.state.compareAndSet(Timeout.WAITING, Timeout.FIRED)) {
+                pending.decrementAndGet();
+                try {
+                    timeout.task.run();
+                } catch (RuntimeException e) {
+                    log.warn("Timer task failed", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Handle of a scheduled task; cancelling is a flag, the entry is dropped when its bucket comes up.
+     */
+    public final class Timeout {
+
+        private static final int WAITING = 0;
+        private static final int CANCELLED = 1;
+        private static final int FIRED = 2;
+
+        private final Runnable task;
+        private final long deadlineNanos;
+        // Firing and cancelling race on this one field, so exactly one of them wins
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        private long remainingRounds;
+
+        private Timeout(Runnable task, long deadlineNanos) {
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /**
+         * Returns false when the task already ran or was cancelled before.
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(WAITING, CANCELLED)) {
+                return false;
+            }
+            pending.decrementAndGet();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.slsolution.taxiruta.util;
+
+import com.slsolution.taxiruta.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset pagination cursor.
+ * Encodes the sort key of the last row of a page (a timestamp plus the row id as tie-breaker)
+ * so the next page can continue with "WHERE (sort_key, id) > (cursor)" instead of an OFFSET.
+ */
+public final class PageCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime timestamp;
+    private final Long id;
+
+    private PageCursor(LocalDateTime timestamp, Long id) {
+        this.timestamp = timestamp;
+        this.id = id;
+    }
+
+    public static String encode(LocalDateTime timestamp, Long id) {
+        String raw = (timestamp != null ? timestamp.toString() : "") + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String encode(Long id) {
+        return encode(null, id);
+    }
+
+    /**
+     * Decodes a cursor token; returns null for the first page.
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            String timestampPart = raw.substring(0, separator);
+            LocalDateTime timestamp = timestampPart.isEmpty() ? null : LocalDateTime.parse(timestampPart);
+            return new PageCursor(timestamp, Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BadRequestException(Constants.ERROR_INVALID_CURSOR);
+        }
+    }
+
+    /**
+     * Applies the default page size and caps it at MAX_PAGE_SIZE.
+     */
+    public static int pageSize(Integer requested) {
+        if (requested == null) {
+            return Constants.DEFAULT_PAGE_SIZE;
+        }
+        if (requested < 1) {
+            throw new BadRequestException(Constants.ERROR_INVALID_PAGE_SIZE);
+        }
+        return Math.min(requested, Constants.MAX_PAGE_SIZE);
+    }
+
+    public LocalDateTime getTimestamp() {
+        if (timestamp == null) {
+            throw new BadRequestException(Constants.ERROR_INVALID_CURSOR);
+        }
+        return timestamp;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,47 @@
+package com.slsolution.taxiruta.util;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed set of single-threaded lanes; tasks with the same key always run on the same lane,
+ * in submission order. Used to push updates to clients so two changes of the same trip or
+ * user are never written out of order, while different keys still run in parallel.
+ * Each lane queues at most queueCapacity tasks; beyond that the submitting thread runs the
+ * task itself, which slows producers down instead of dropping updates; only such an
+ * overflowing task may run ahead of the ones already queued for its key.
+ */
+public final class StripedExecutor {
+
+    private final ThreadPoolExecutor[] lanes;
+
+    public StripedExecutor(String threadNamePrefix, int lanes, int queueCapacity) {
+        if (lanes <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Invalid striped executor sizing");
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.lanes = new ThreadPoolExecutor[lanes];
+        for (int i = 0; i < lanes; i++) {
+            this.lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, threadNamePrefix + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+    }
+
+    public void execute(Object key, Runnable task) {
+        lanes[Math.floorMod(key.hashCode(), lanes.length)].execute(task);
+    }
+
+    public void shutdownNow() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+-- V10__Add_outbox_next_attempt_at.sql
+
+-- A failed event is retried with exponential backoff: the relay skips it, and the later events
+-- of its aggregate, until next_attempt_at. NULL means due now
+ALTER TABLE outbox_events ADD COLUMN next_attempt_at TIMESTAMP;
+
+-- The relay checks each pending event for an earlier pending event of its aggregate that is
+-- still backing off
+CREATE INDEX idx_outbox_events_pending_aggregate ON outbox_events(aggregate_type, aggregate_id, id)
+    WHERE status = 'PENDING';
@@ -0,0 +1,6 @@
+-- V11__Add_admin_role.sql
+
+-- Administrators run exports and revoke other users' tokens. The role cannot be chosen at
+-- registration; it is granted to the emails listed in auth.admin-emails at startup
+ALTER TABLE users DROP CONSTRAINT IF EXISTS users_role_check;
+ALTER TABLE users ADD CONSTRAINT users_role_check CHECK (role IN ('DRIVER', 'PASSENGER', 'ADMIN'));
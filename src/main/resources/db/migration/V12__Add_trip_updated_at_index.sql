@@ -0,0 +1,5 @@
+-- V12__Add_trip_updated_at_index.sql
+
+-- Every node polls for trips changed since its last poll, to drop cached copies and refresh its
+-- route index; the index keeps that poll a short range scan
+CREATE INDEX idx_trips_updated_at ON trips(updated_at);
@@ -0,0 +1,14 @@
+-- V3__Add_trip_confirmed_seats.sql
+
+-- Persisted counter of confirmed seats so remaining seats can be read without loading bookings
+ALTER TABLE trips ADD COLUMN confirmed_seats INTEGER NOT NULL DEFAULT 0;
+
+-- Backfill from existing confirmed bookings (sum of seats, not count of bookings)
+UPDATE trips t
+SET confirmed_seats = COALESCE((
+    SELECT SUM(b.seats_requested)
+    FROM bookings b
+    WHERE b.trip_id = t.id AND b.status = 'CONFIRMED'
+), 0);
+
+ALTER TABLE trips ADD CONSTRAINT chk_trips_confirmed_seats CHECK (confirmed_seats >= 0);
@@ -0,0 +1,20 @@
+-- V4__Create_seat_holds_table.sql
+
+-- Seats claimed by unexpired holds, counted against capacity like confirmed seats
+ALTER TABLE trips ADD COLUMN held_seats INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE trips ADD CONSTRAINT chk_trips_held_seats CHECK (held_seats >= 0);
+
+-- Durable copy of the in-memory hold registry, used to recover holds after a restart
+CREATE TABLE seat_holds (
+    id VARCHAR(36) PRIMARY KEY,
+    trip_id BIGINT NOT NULL,
+    passenger_id BIGINT NOT NULL,
+    seats INTEGER NOT NULL CHECK (seats > 0),
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (trip_id) REFERENCES trips(id),
+    FOREIGN KEY (passenger_id) REFERENCES users(id),
+    UNIQUE(trip_id, passenger_id)
+);
+
+CREATE INDEX idx_seat_holds_expires_at ON seat_holds(expires_at);
@@ -0,0 +1,8 @@
+-- V5__Add_keyset_pagination_indexes.sql
+
+-- Composite indexes matching the (sort key, id) order used by cursor pagination,
+-- so each page is an index range scan instead of a sort over the whole result
+CREATE INDEX idx_trips_active_departure ON trips(departure_time, id) WHERE status = 'ACTIVE';
+CREATE INDEX idx_trips_driver_departure ON trips(driver_id, departure_time, id);
+CREATE INDEX idx_bookings_trip_date ON bookings(trip_id, booking_date, id);
+CREATE INDEX idx_bookings_passenger_date ON bookings(passenger_id, booking_date, id);
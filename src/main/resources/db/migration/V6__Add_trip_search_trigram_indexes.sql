@@ -0,0 +1,10 @@
+-- V6__Add_trip_search_trigram_indexes.sql
+
+-- Trip search matches LOWER(origin/destination) LIKE '%term%'; B-tree indexes cannot serve a
+-- leading wildcard, so search used to scan the whole table. Trigram GIN indexes on the same
+-- lower() expressions serve substring LIKE directly. They only cover ACTIVE trips, the only
+-- rows search ever returns.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_trips_origin_trgm ON trips USING gin (LOWER(origin) gin_trgm_ops) WHERE status = 'ACTIVE';
+CREATE INDEX idx_trips_destination_trgm ON trips USING gin (LOWER(destination) gin_trgm_ops) WHERE status = 'ACTIVE';
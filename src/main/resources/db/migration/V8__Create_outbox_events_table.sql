@@ -0,0 +1,20 @@
+-- V8__Create_outbox_events_table.sql
+
+-- Domain events written in the same transaction as the state change they describe and
+-- relayed to in-process subscribers in id order; delivered rows are kept for a retention period
+CREATE TABLE outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    aggregate_type VARCHAR(20) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    payload TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(500),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    published_at TIMESTAMP
+);
+
+-- The relay only ever scans the undelivered head of the table
+CREATE INDEX idx_outbox_events_pending ON outbox_events(id) WHERE status = 'PENDING';
+CREATE INDEX idx_outbox_events_published_at ON outbox_events(published_at);
@@ -0,0 +1,12 @@
+-- V9__Add_booking_expired_status.sql
+
+-- PENDING bookings that nobody decided on before their deadline, or before the trip left,
+-- now move to EXPIRED instead of staying pending forever
+ALTER TABLE bookings DROP CONSTRAINT IF EXISTS bookings_status_check;
+ALTER TABLE bookings ADD CONSTRAINT bookings_status_check
+    CHECK (status IN ('PENDING', 'CONFIRMED', 'REJECTED', 'CANCELLED', 'EXPIRED'));
+
+-- The expiry sweep and the wheel refill read pending bookings by booking date; the index only
+-- covers PENDING rows, which the sweep keeps few. Departed trips are found through
+-- idx_trips_active_departure (V5).
+CREATE INDEX idx_bookings_pending_date ON bookings(booking_date, id) WHERE status = 'PENDING';
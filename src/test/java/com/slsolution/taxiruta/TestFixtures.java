@@ -0,0 +1,42 @@
+package com.slsolution.taxiruta;
+
+import com.slsolution.taxiruta.model.User;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Shared test data helpers.
+ * Every Spring test runs against the one in-memory database of the test profile and clears it after each test.
+ */
+public final class TestFixtures {
+
+    // Children before parents, so no foreign key blocks a delete
+    private static final List<String> TABLES = List.of(
+            "outbox_events",
+            "seat_holds",
+            "bookings",
+            "trips",
+            "revoked_tokens",
+            "user_token_revocations",
+            "users");
+
+    private TestFixtures() {
+    }
+
+    public static User newUser(String email, User.Role role) {
+        return User.builder()
+                .firstName("Test")
+                .lastName("User")
+                .email(email)
+                .password("encodedPassword")
+                .phone("3001234567")
+                .role(role)
+                .isActive(true)
+                .build();
+    }
+
+    public static void clearDatabase(JdbcTemplate jdbcTemplate) {
+        TABLES.forEach(table -> jdbcTemplate.execute("DELETE FROM " + table));
+    }
+}
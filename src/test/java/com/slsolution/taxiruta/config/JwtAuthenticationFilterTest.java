@@ -0,0 +1,129 @@
+package com.slsolution.taxiruta.config;
+
+import com.slsolution.taxiruta.model.User;
+import com.slsolution.taxiruta.service.TokenRevocationService;
+import com.slsolution.taxiruta.service.UserService;
+import com.slsolution.taxiruta.service.UserStatusService;
+import com.slsolution.taxiruta.util.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JwtAuthenticationFilter Tests")
+class JwtAuthenticationFilterTest {
+
+    @Spy
+    private JwtUtil jwtUtil = new JwtUtil();
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private UserStatusService userStatusService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @InjectMocks
+    private JwtAuthenticationFilter filter;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jwtUtil, "secretKey", "testSecretKeyForJWTWhichShouldBeAtLeast256BitsLongForTestingPurposes");
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpiration", 86400000L);
+        ReflectionTestUtils.setField(jwtUtil, "claimsCacheMaxSize", 100L);
+        jwtUtil.init();
+
+        user = User.builder()
+                .id(7L)
+                .firstName("Carlos")
+                .lastName("Rodriguez")
+                .email("carlos.rodriguez@example.com")
+                .password("encodedPassword")
+                .phone("3009876543")
+                .role(User.Role.DRIVER)
+                .isActive(true)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should authenticate from token claims without loading the user")
+    void shouldBuildPrincipalFromClaims() throws Exception {
+        // Given
+        when(userStatusService.isActive(7L)).thenReturn(true);
+
+        // When
+        filter.doFilter(requestWithToken(jwtUtil.generateToken(user)), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(authentication).isNotNull();
+        User principal = (User) authentication.getPrincipal();
+        assertThat(principal.getId()).isEqualTo(7L);
+        assertThat(principal.getEmail()).isEqualTo("carlos.rodriguez@example.com");
+        assertThat(principal.getRole()).isEqualTo(User.Role.DRIVER);
+        assertThat(authentication.getAuthorities()).extracting("authority").containsExactly("ROLE_DRIVER");
+        verify(userService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    @DisplayName("Should not authenticate a user that has been deactivated since the token was issued")
+    void shouldRejectDeactivatedUser() throws Exception {
+        // Given
+        when(userStatusService.isActive(7L)).thenReturn(false);
+
+        // When
+        filter.doFilter(requestWithToken(jwtUtil.generateToken(user)), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should not authenticate a revoked token")
+    void shouldRejectRevokedToken() throws Exception {
+        // Given
+        when(tokenRevocationService.isRevoked(any())).thenReturn(true);
+
+        // When
+        filter.doFilter(requestWithToken(jwtUtil.generateToken(user)), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verify(userStatusService, never()).isActive(anyLong());
+    }
+
+    private MockHttpServletRequest requestWithToken(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/profile");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
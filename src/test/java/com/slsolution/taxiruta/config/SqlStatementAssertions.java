@@ -0,0 +1,54 @@
+package com.slsolution.taxiruta.config;
+
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test helpers to bound the SQL statements an endpoint or a service call runs.
+ * The MockMvc matchers read the debug headers of SqlStatementStatsFilter, so they need
+ * sql.stats.response-header=true (set in the test profile).
+ */
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    /**
+     * Fails when the request ran more than max SQL statements
+     */
+    public static ResultMatcher maxStatements(int max) {
+        return result -> assertThat(statementCount(result))
+                .as("SQL statements for %s %s", result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                .isLessThanOrEqualTo(max);
+    }
+
+    /**
+     * Number of SQL statements the request ran
+     */
+    public static int statementCount(MvcResult result) {
+        String header = result.getResponse().getHeader(SqlStatementStatsFilter.STATEMENT_COUNT_HEADER);
+        assertThat(header)
+                .as("%s header; is sql.stats.response-header enabled?", SqlStatementStatsFilter.STATEMENT_COUNT_HEADER)
+                .isNotNull();
+        return Integer.parseInt(header);
+    }
+
+    /**
+     * Runs the call on the current thread and fails when it ran more than max SQL statements
+     */
+    public static <T> T assertMaxStatements(int max, Supplier<T> call) {
+        SqlStatementStats stats = SqlStatementStats.begin();
+        T result;
+        try {
+            result = call.get();
+        } finally {
+            SqlStatementStats.end();
+        }
+        assertThat(stats.getStatementCount()).as("SQL statements").isLessThanOrEqualTo(max);
+        return result;
+    }
+}
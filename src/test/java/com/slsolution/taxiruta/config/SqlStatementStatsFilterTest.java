@@ -0,0 +1,164 @@
+package com.slsolution.taxiruta.config;
+
+import com.slsolution.taxiruta.model.Trip;
+import com.slsolution.taxiruta.model.User;
+import com.slsolution.taxiruta.repository.TripRepository;
+import com.slsolution.taxiruta.repository.UserRepository;
+import com.slsolution.taxiruta.service.TripService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.slsolution.taxiruta.TestFixtures.clearDatabase;
+import static com.slsolution.taxiruta.config.SqlStatementAssertions.assertMaxStatements;
+import static com.slsolution.taxiruta.config.SqlStatementAssertions.maxStatements;
+import static com.slsolution.taxiruta.config.SqlStatementAssertions.statementCount;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("SqlStatementStatsFilter Tests")
+class SqlStatementStatsFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SqlStatementStatsFilter sqlStatementStatsFilter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TripService tripService;
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<User> drivers = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        clearDatabase(jdbcTemplate);
+        drivers.clear();
+    }
+
+    @Test
+    @DisplayName("Should run as many statements for many trips as for a few")
+    void activeTripsStatementsShouldNotGrowWithRows() throws Exception {
+        // Given
+        createTrips(2);
+        MvcResult few = mockMvc.perform(get("/api/trips"))
+                .andExpect(status().isOk())
+                .andReturn();
+        int baseline = statementCount(few);
+        createTrips(10);
+
+        // When & Then
+        mockMvc.perform(get("/api/trips"))
+                .andExpect(status().isOk())
+                .andExpect(maxStatements(baseline));
+    }
+
+    @Test
+    @DisplayName("Should record statements per endpoint in metrics")
+    void shouldRecordStatementMetrics() throws Exception {
+        // Given
+        createTrips(1);
+
+        // When
+        mockMvc.perform(get("/api/trips")).andExpect(status().isOk());
+
+        // Then
+        DistributionSummary statements = meterRegistry.find("taxiruta.http.sql.statements")
+                .tag("uri", "/api/trips")
+                .summary();
+        assertThat(statements).isNotNull();
+        assertThat(statements.count()).isPositive();
+        assertThat(statements.totalAmount()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should flag a request that runs the same statement once per row")
+    void shouldFlagRepeatedStatement() throws Exception {
+        // Given
+        createTrips(6);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        double before = repeatedCount();
+
+        // When: one lookup per driver, the shape of an N+1 load
+        sqlStatementStatsFilter.doFilter(new MockHttpServletRequest("GET", "/n-plus-one"), response,
+                (request, servletResponse) -> drivers.forEach(driver -> userRepository.findById(driver.getId())));
+
+        // Then
+        assertThat(Integer.parseInt(response.getHeader(SqlStatementStatsFilter.STATEMENT_COUNT_HEADER)))
+                .isGreaterThanOrEqualTo(6);
+        assertThat(repeatedCount()).isEqualTo(before + 1);
+    }
+
+    @Test
+    @DisplayName("Should bound the statements of a service call")
+    void shouldBoundServiceCallStatements() {
+        // Given
+        createTrips(5);
+
+        // When & Then
+        assertThat(assertMaxStatements(1, () -> tripService.getActiveTrips())).hasSize(5);
+    }
+
+    private double repeatedCount() {
+        Counter counter = meterRegistry.find("taxiruta.http.sql.repeated").tag("uri", "UNKNOWN").counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private void createTrips(int count) {
+        for (int i = 0; i < count; i++) {
+            // A different driver per trip so a lazy driver load would show up once per row
+            User driver = userRepository.save(User.builder()
+                    .firstName("Test")
+                    .lastName("Driver")
+                    .email("driver" + drivers.size() + "@example.com")
+                    .password("encodedPassword")
+                    .phone("3001234567")
+                    .role(User.Role.DRIVER)
+                    .isActive(true)
+                    .build());
+            drivers.add(driver);
+            tripRepository.save(Trip.builder()
+                    .driver(driver)
+                    .origin("Bogota")
+                    .destination("Tunja")
+                    .departureTime(LocalDateTime.now().plusDays(1).plusMinutes(drivers.size()))
+                    .availableSeats(4)
+                    .pricePerSeat(new BigDecimal("30000.00"))
+                    .status(Trip.Status.ACTIVE)
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.slsolution.taxiruta.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.slsolution.taxiruta.config.WebSocketConfig;
+import com.slsolution.taxiruta.dto.request.BookingRequestDTO;
+import com.slsolution.taxiruta.dto.response.BookingResponseDTO;
+import com.slsolution.taxiruta.model.Trip;
+import com.slsolution.taxiruta.model.User;
+import com.slsolution.taxiruta.repository.BookingRepository;
+import com.slsolution.taxiruta.repository.TripRepository;
+import com.slsolution.taxiruta.repository.UserRepository;
+import com.slsolution.taxiruta.service.BookingService;
+import com.slsolution.taxiruta.service.TokenRevocationService;
+import com.slsolution.taxiruta.util.Constants;
+import com.slsolution.taxiruta.util.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static com.slsolution.taxiruta.TestFixtures.clearDatabase;
+import static com.slsolution.taxiruta.TestFixtures.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for the driver WebSocket channel over a real connection.
+ * Passengers book through BookingService, so pushes follow the same events as HTTP requests.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@DisplayName("DriverBookingSocketHandler Tests")
+class DriverBookingSocketHandlerTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User driver;
+    private User passenger;
+    private Trip trip;
+    private WebSocketSession session;
+
+    @BeforeEach
+    void setUp() {
+        driver = userRepository.save(newUser("driver@example.com", User.Role.DRIVER));
+        passenger = userRepository.save(newUser("passenger@example.com", User.Role.PASSENGER));
+        trip = tripRepository.save(Trip.builder()
+                .driver(driver)
+                .origin("Bogota")
+                .destination("Girardot")
+                .departureTime(LocalDateTime.now().plusDays(1))
+                .availableSeats(4)
+                .pricePerSeat(new BigDecimal("35000.00"))
+                .status(Trip.Status.ACTIVE)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (session != null && session.isOpen()) {
+            session.close();
+        }
+        clearDatabase(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should push pending and new bookings to the driver and accept one over the same connection")
+    void shouldPushBookingsAndAcceptOverSocket() throws Exception {
+        // Given
+        BookingResponseDTO existing = bookingService.createBooking(trip.getId(), new BookingRequestDTO(1), passenger);
+        RecordingHandler client = new RecordingHandler();
+        session = connect(driver, client);
+        JsonNode snapshot = client.next("snapshot");
+        assertThat(snapshot.get("bookings")).hasSize(1);
+        assertThat(snapshot.get("bookings").get(0).get("id").asLong()).isEqualTo(existing.getId());
+
+        // When
+        User other = userRepository.save(newUser("other@example.com", User.Role.PASSENGER));
+        BookingResponseDTO created = bookingService.createBooking(trip.getId(), new BookingRequestDTO(2), other);
+        JsonNode pushed = client.next("booking");
+        session.sendMessage(new TextMessage(
+                "{\"type\":\"ACCEPT\",\"bookingId\":" + created.getId() + ",\"requestId\":\"r1\"}"));
+        JsonNode result = client.next("result");
+
+        // Then
+        assertThat(pushed.get("booking").get("id").asLong()).isEqualTo(created.getId());
+        assertThat(pushed.get("booking").get("status").asText()).isEqualTo("PENDING");
+        assertThat(result.get("requestId").asText()).isEqualTo("r1");
+        assertThat(result.get("booking").get("status").asText()).isEqualTo("CONFIRMED");
+        assertThat(tripRepository.findById(trip.getId())).hasValueSatisfying(
+                updated -> assertThat(updated.getRemainingSeats()).isEqualTo(2));
+    }
+
+    @Test
+    @DisplayName("Should answer invalid and unauthorized commands with an error for that request")
+    void shouldReplyWithErrors() throws Exception {
+        // Given
+        User otherDriver = userRepository.save(newUser("driver2@example.com", User.Role.DRIVER));
+        BookingResponseDTO booking = bookingService.createBooking(trip.getId(), new BookingRequestDTO(1), passenger);
+        RecordingHandler client = new RecordingHandler();
+        session = connect(otherDriver, client);
+        client.next("snapshot");
+
+        // When
+        session.sendMessage(new TextMessage("not json"));
+        JsonNode invalid = client.next("error");
+        session.sendMessage(new TextMessage(
+                "{\"type\":\"REJECT\",\"bookingId\":" + booking.getId() + ",\"requestId\":\"r2\"}"));
+        JsonNode unauthorized = client.next("error");
+
+        // Then
+        assertThat(invalid.get("error").asText()).isEqualTo(Constants.ERROR_INVALID_SOCKET_MESSAGE);
+        assertThat(unauthorized.get("requestId").asText()).isEqualTo("r2");
+        assertThat(bookingRepository.findById(booking.getId())).hasValueSatisfying(
+                stored -> assertThat(stored.isPending()).isTrue());
+    }
+
+    @Test
+    @DisplayName("Should close the session without running the command once its token is revoked")
+    void shouldCloseSessionOfRevokedToken() throws Exception {
+        // Given
+        BookingResponseDTO booking = bookingService.createBooking(trip.getId(), new BookingRequestDTO(1), passenger);
+        String token = jwtUtil.generateToken(driver);
+        RecordingHandler client = new RecordingHandler();
+        session = connect(token, client);
+        client.next("snapshot");
+
+        // When
+        tokenRevocationService.revoke(jwtUtil.verifyToken(token));
+        session.sendMessage(new TextMessage(
+                "{\"type\":\"ACCEPT\",\"bookingId\":" + booking.getId() + ",\"requestId\":\"r3\"}"));
+
+        // Then
+        CloseStatus status = client.closed.get(5, TimeUnit.SECONDS);
+        assertThat(status.getCode()).isEqualTo(CloseStatus.POLICY_VIOLATION.getCode());
+        assertThat(bookingRepository.findById(booking.getId())).hasValueSatisfying(
+                stored -> assertThat(stored.isPending()).isTrue());
+    }
+
+    @Test
+    @DisplayName("Should refuse the handshake without a token or for a passenger")
+    void shouldRejectNonDriverHandshake() {
+        // When & Then
+        assertThatThrownBy(() -> connect(passenger, new RecordingHandler()))
+                .isInstanceOf(ExecutionException.class);
+        assertThatThrownBy(() -> new StandardWebSocketClient()
+                .execute(new RecordingHandler(), new WebSocketHttpHeaders(), uri())
+                .get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class);
+    }
+
+    private WebSocketSession connect(User user, RecordingHandler handler) throws Exception {
+        return connect(jwtUtil.generateToken(user), handler);
+    }
+
+    private WebSocketSession connect(String token, RecordingHandler handler) throws Exception {
+        WebSocketHttpHeaders headers = new WebSocketHttpHeaders();
+        headers.setBearerAuth(token);
+        return new StandardWebSocketClient().execute(handler, headers, uri()).get(5, TimeUnit.SECONDS);
+    }
+
+    private URI uri() {
+        return URI.create("ws://localhost:" + port + WebSocketConfig.DRIVER_BOOKINGS_PATH);
+    }
+
+    private class RecordingHandler extends TextWebSocketHandler {
+
+        private final BlockingQueue<JsonNode> messages = new LinkedBlockingQueue<>();
+        private final CompletableFuture<CloseStatus> closed = new CompletableFuture<>();
+
+        @Override
+        protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+            messages.add(objectMapper.readTree(message.getPayload()));
+        }
+
+        @Override
+        public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+            closed.complete(status);
+        }
+
+        // Next message of the given type; pushes of other types may interleave with replies
+        JsonNode next(String type) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (System.nanoTime() < deadline) {
+                JsonNode message = messages.poll(100, TimeUnit.MILLISECONDS);
+                if (message != null && type.equals(message.get("type").asText())) {
+                    return message;
+                }
+            }
+            throw new AssertionError("No " + type + " message received");
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.slsolution.taxiruta.event;
+
+import com.slsolution.taxiruta.model.OutboxEvent;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for an outbox consumer: records every delivered event and can be told to fail
+ * the next deliveries of an aggregate, to exercise retries without an external broker.
+ */
+public class RecordingDomainEventSubscriber implements DomainEventSubscriber {
+
+    private final List<DomainEvent> events = new CopyOnWriteArrayList<>();
+    private final Map<String, AtomicInteger> failuresByAggregate = new ConcurrentHashMap<>();
+
+    @Override
+    public void onEvent(DomainEvent event) {
+        AtomicInteger failures = failuresByAggregate.get(key(event.aggregateType(), event.aggregateId()));
+        if (failures != null && failures.getAndUpdate(left -> Math.max(left - 1, 0)) > 0) {
+            throw new IllegalStateException("Simulated failure for " + event.eventType() + " " + event.aggregateId());
+        }
+        events.add(event);
+    }
+
+    /**
+     * Makes the next {@code times} deliveries of events of the given aggregate throw.
+     */
+    public void failNext(OutboxEvent.AggregateType aggregateType, Long aggregateId, int times) {
+        failuresByAggregate.put(key(aggregateType, aggregateId), new AtomicInteger(times));
+    }
+
+    public List<DomainEvent> getEvents() {
+        return List.copyOf(events);
+    }
+
+    public List<String> eventTypesOf(OutboxEvent.AggregateType aggregateType, Long aggregateId) {
+        return events.stream()
+                .filter(event -> event.aggregateType() == aggregateType && event.aggregateId().equals(aggregateId))
+                .map(DomainEvent::eventType)
+                .toList();
+    }
+
+    public void clear() {
+        events.clear();
+        failuresByAggregate.clear();
+    }
+
+    private static String key(OutboxEvent.AggregateType aggregateType, Long aggregateId) {
+        return aggregateType + ":" + aggregateId;
+    }
+}
@@ -0,0 +1,187 @@
+package com.slsolution.taxiruta.service;
+
+import com.slsolution.taxiruta.dto.request.BookingRequestDTO;
+import com.slsolution.taxiruta.dto.response.BookingResponseDTO;
+import com.slsolution.taxiruta.exception.BadRequestException;
+import com.slsolution.taxiruta.exception.ResourceNotFoundException;
+import com.slsolution.taxiruta.model.Booking;
+import com.slsolution.taxiruta.model.Trip;
+import com.slsolution.taxiruta.model.User;
+import com.slsolution.taxiruta.repository.BookingRepository;
+import com.slsolution.taxiruta.repository.TripRepository;
+import com.slsolution.taxiruta.repository.UserRepository;
+import com.slsolution.taxiruta.util.Constants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.slsolution.taxiruta.TestFixtures.clearDatabase;
+import static com.slsolution.taxiruta.TestFixtures.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for the group-commit booking intake.
+ * Submits bursts of bookings for one trip from many threads against H2 with batching enabled
+ * and checks that every caller gets the result the direct path would have given it.
+ */
+@SpringBootTest(properties = {
+        "booking.intake.batching.enabled=true",
+        "booking.intake.max-wait-ms=20",
+        "booking.intake.max-batch-size=8"
+})
+@ActiveProfiles("test")
+@DisplayName("BookingIntakeQueue Tests")
+class BookingIntakeQueueTest {
+
+    private static final int THREADS = 24;
+
+    @Autowired
+    private BookingIntakeQueue bookingIntakeQueue;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User driver;
+    private Trip trip;
+
+    @BeforeEach
+    void setUp() {
+        driver = userRepository.save(newUser("driver@example.com", User.Role.DRIVER));
+        trip = tripRepository.save(Trip.builder()
+                .driver(driver)
+                .origin("Bogota")
+                .destination("Girardot")
+                .departureTime(LocalDateTime.now().plusDays(1))
+                .availableSeats(4)
+                .pricePerSeat(new BigDecimal("35000.00"))
+                .status(Trip.Status.ACTIVE)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        clearDatabase(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should create one booking per caller when many passengers book a trip at once")
+    void shouldCreateEveryBookingOfBurst() throws Exception {
+        // Given
+        List<User> passengers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            passengers.add(userRepository.save(newUser("passenger" + i + "@example.com", User.Role.PASSENGER)));
+        }
+
+        // When
+        List<BookingResponseDTO> bookings = new ArrayList<>();
+        AtomicInteger failures = new AtomicInteger();
+        runConcurrently(passengers, 1, bookings, failures);
+
+        // Then
+        assertThat(failures.get()).isZero();
+        assertThat(bookings).hasSize(THREADS);
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < THREADS; i++) {
+            assertThat(ids.add(bookings.get(i).getId())).isTrue();
+        }
+        List<Booking> stored = bookingRepository.findByTripId(trip.getId());
+        assertThat(stored).hasSize(THREADS);
+        assertThat(stored).allMatch(booking -> booking.getStatus() == Booking.Status.PENDING);
+        assertThat(stored).allMatch(booking -> booking.getTotalPrice().compareTo(new BigDecimal("35000.00")) == 0);
+    }
+
+    @Test
+    @DisplayName("Should reject the second booking of a passenger queued in the same batch")
+    void shouldRejectDuplicateWithinBatch() throws Exception {
+        // Given
+        User passenger = userRepository.save(newUser("twice@example.com", User.Role.PASSENGER));
+        List<User> sameTwice = List.of(passenger, passenger);
+
+        // When
+        List<BookingResponseDTO> bookings = new ArrayList<>();
+        AtomicInteger failures = new AtomicInteger();
+        runConcurrently(sameTwice, 1, bookings, failures);
+
+        // Then
+        assertThat(bookings).hasSize(1);
+        assertThat(failures.get()).isEqualTo(1);
+        assertThat(bookingRepository.findByTripId(trip.getId())).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should fail only the requests that fail their own checks")
+    void shouldReportIndividualErrors() {
+        // Given
+        User passenger = userRepository.save(newUser("seats@example.com", User.Role.PASSENGER));
+
+        // When & Then
+        assertThatThrownBy(() -> bookingIntakeQueue.createBooking(trip.getId(), new BookingRequestDTO(5), passenger))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage(Constants.ERROR_INSUFFICIENT_SEATS);
+        assertThatThrownBy(() -> bookingIntakeQueue.createBooking(trip.getId(), new BookingRequestDTO(1), driver))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage(Constants.ERROR_DRIVER_OWN_TRIP);
+        assertThatThrownBy(() -> bookingIntakeQueue.createBooking(-1L, new BookingRequestDTO(1), passenger))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage(Constants.ERROR_TRIP_NOT_FOUND);
+        assertThat(bookingIntakeQueue.createBooking(trip.getId(), new BookingRequestDTO(2), passenger).getSeatsRequested())
+                .isEqualTo(2);
+    }
+
+    private void runConcurrently(List<User> passengers, int seats, List<BookingResponseDTO> bookings,
+                                 AtomicInteger failures) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(passengers.size());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<BookingResponseDTO>> futures = new ArrayList<>();
+        for (User passenger : passengers) {
+            Callable<BookingResponseDTO> task = () -> {
+                start.await();
+                try {
+                    return bookingIntakeQueue.createBooking(trip.getId(), new BookingRequestDTO(seats), passenger);
+                } catch (BadRequestException e) {
+                    assertThat(e.getMessage()).isEqualTo(Constants.ERROR_BOOKING_ALREADY_EXISTS);
+                    failures.incrementAndGet();
+                    return null;
+                }
+            };
+            futures.add(executor.submit(task));
+        }
+        start.countDown();
+        for (Future<BookingResponseDTO> future : futures) {
+            BookingResponseDTO booking = future.get(30, TimeUnit.SECONDS);
+            if (booking != null) {
+                bookings.add(booking);
+            }
+        }
+        executor.shutdown();
+    }
+}
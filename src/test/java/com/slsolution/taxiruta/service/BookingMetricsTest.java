@@ -0,0 +1,86 @@
+package com.slsolution.taxiruta.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BookingMetrics Tests")
+class BookingMetricsTest {
+
+    private MeterRegistry meterRegistry;
+    private BookingMetrics bookingMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        bookingMetrics = new BookingMetrics();
+        ReflectionTestUtils.setField(bookingMetrics, "meterRegistry", meterRegistry);
+        bookingMetrics.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should count confirmed bookings and sold seats once the transaction commits")
+    void shouldCountAfterCommit() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        bookingMetrics.bookingsConfirmed(2, 5);
+
+        // Then
+        assertThat(bookingCount("confirmed")).isZero();
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        assertThat(bookingCount("confirmed")).isEqualTo(2);
+        assertThat(meterRegistry.get("taxiruta.seats.sold").counter().count()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should not count events of a rolled back transaction")
+    void shouldNotCountRolledBack() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        bookingMetrics.bookingCreated();
+        bookingMetrics.bookingsRejected(1);
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+
+        // Then
+        assertThat(bookingCount("created")).isZero();
+        assertThat(bookingCount("rejected")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should release the seats of a cancelled confirmed booking")
+    void shouldCountReleasedSeats() {
+        // When
+        bookingMetrics.bookingCancelled(3);
+
+        // Then
+        assertThat(bookingCount("cancelled")).isEqualTo(1);
+        assertThat(meterRegistry.get("taxiruta.seats.released").counter().count()).isEqualTo(3);
+    }
+
+    private double bookingCount(String event) {
+        return meterRegistry.get("taxiruta.bookings").tag("event", event).counter().count();
+    }
+}
@@ -0,0 +1,231 @@
+package com.slsolution.taxiruta.service;
+
+import com.slsolution.taxiruta.exception.BadRequestException;
+import com.slsolution.taxiruta.model.Booking;
+import com.slsolution.taxiruta.model.Trip;
+import com.slsolution.taxiruta.model.User;
+import com.slsolution.taxiruta.repository.BookingRepository;
+import com.slsolution.taxiruta.repository.TripRepository;
+import com.slsolution.taxiruta.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.slsolution.taxiruta.TestFixtures.clearDatabase;
+import static com.slsolution.taxiruta.TestFixtures.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Concurrency tests for seat reservation in BookingService.
+ * Hammers a single trip from many threads against H2 and checks that seats are never oversold.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("BookingService Concurrency Tests")
+class BookingServiceConcurrencyTest {
+
+    private static final int THREADS = 32;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User driver;
+
+    @BeforeEach
+    void setUp() {
+        driver = userRepository.save(newUser("driver@example.com", User.Role.DRIVER));
+    }
+
+    @AfterEach
+    void tearDown() {
+        clearDatabase(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should never confirm more seats than the trip offers")
+    void shouldNotOversellWhenConfirmingConcurrently() throws Exception {
+        // Given - 5 seats and many single-seat pending bookings
+        Trip trip = tripRepository.save(newTrip(5));
+        List<Long> bookingIds = createPendingBookings(trip, THREADS, 1);
+
+        // When
+        int confirmed = confirmConcurrently(bookingIds);
+
+        // Then
+        assertSeatInvariant(trip.getId());
+        assertThat(confirmed).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should count seats, not bookings, when confirming multi-seat bookings concurrently")
+    void shouldNotOversellMultiSeatBookings() throws Exception {
+        // Given - 7 seats and pending bookings of 2 seats each
+        Trip trip = tripRepository.save(newTrip(7));
+        List<Long> bookingIds = createPendingBookings(trip, THREADS, 2);
+
+        // When
+        int confirmed = confirmConcurrently(bookingIds);
+
+        // Then - at most 3 bookings of 2 seats fit in 7 seats
+        assertSeatInvariant(trip.getId());
+        assertThat(confirmed).isEqualTo(3);
+        assertThat(tripRepository.findById(trip.getId()).orElseThrow().getConfirmedSeats()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Should reserve seats only once when the same booking is confirmed concurrently")
+    void shouldConfirmSameBookingOnlyOnce() throws Exception {
+        // Given
+        Trip trip = tripRepository.save(newTrip(10));
+        Long bookingId = createPendingBookings(trip, 1, 3).get(0);
+        List<Long> sameBooking = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            sameBooking.add(bookingId);
+        }
+
+        // When
+        int confirmed = confirmConcurrently(sameBooking);
+
+        // Then
+        assertThat(confirmed).isEqualTo(1);
+        assertSeatInvariant(trip.getId());
+        assertThat(tripRepository.findById(trip.getId()).orElseThrow().getConfirmedSeats()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should keep the seat counter consistent when confirmations and cancellations interleave")
+    void shouldKeepCounterConsistentWithConcurrentCancellations() throws Exception {
+        // Given - half of the bookings are already confirmed, the other half pending
+        Trip trip = tripRepository.save(newTrip(THREADS));
+        List<Long> toConfirm = createPendingBookings(trip, THREADS / 2, 1);
+        List<Long> toCancel = createPendingBookings(trip, THREADS / 2, 1);
+        for (Long bookingId : toCancel) {
+            bookingService.confirmBooking(bookingId, driver);
+        }
+
+        // When
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < toConfirm.size(); i++) {
+            Long confirmId = toConfirm.get(i);
+            Long cancelId = toCancel.get(i);
+            futures.add(executor.submit(() -> {
+                start.await();
+                return bookingService.confirmBooking(confirmId, driver);
+            }));
+            futures.add(executor.submit(() -> {
+                start.await();
+                bookingService.cancelBooking(cancelId, driver);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        assertSeatInvariant(trip.getId());
+        assertThat(tripRepository.findById(trip.getId()).orElseThrow().getConfirmedSeats())
+                .isEqualTo(toConfirm.size());
+    }
+
+    private int confirmConcurrently(List<Long> bookingIds) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger successes = new AtomicInteger();
+        List<Future<Void>> futures = new ArrayList<>();
+
+        for (Long bookingId : bookingIds) {
+            Callable<Void> task = () -> {
+                start.await();
+                try {
+                    bookingService.confirmBooking(bookingId, driver);
+                    successes.incrementAndGet();
+                } catch (BadRequestException e) {
+                    // Expected for the losers: trip full or booking already confirmed
+                }
+                return null;
+            };
+            futures.add(executor.submit(task));
+        }
+
+        start.countDown();
+        for (Future<Void> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        return successes.get();
+    }
+
+    private void assertSeatInvariant(Long tripId) {
+        Trip trip = tripRepository.findById(tripId).orElseThrow();
+        int confirmedSeats = bookingRepository.findByTripId(tripId).stream()
+                .filter(Booking::isConfirmed)
+                .mapToInt(Booking::getSeatsRequested)
+                .sum();
+
+        assertThat(trip.getConfirmedSeats()).isEqualTo(confirmedSeats);
+        assertThat(trip.getConfirmedSeats()).isLessThanOrEqualTo(trip.getAvailableSeats());
+    }
+
+    private List<Long> createPendingBookings(Trip trip, int count, int seatsEach) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            User passenger = userRepository.save(
+                    newUser("passenger" + System.nanoTime() + "@example.com", User.Role.PASSENGER));
+            Booking booking = Booking.builder()
+                    .trip(trip)
+                    .passenger(passenger)
+                    .seatsRequested(seatsEach)
+                    .totalPrice(trip.getPricePerSeat().multiply(BigDecimal.valueOf(seatsEach)))
+                    .status(Booking.Status.PENDING)
+                    .build();
+            ids.add(bookingRepository.save(booking).getId());
+        }
+        return ids;
+    }
+
+    private Trip newTrip(int seats) {
+        return Trip.builder()
+                .driver(driver)
+                .origin("Bogota")
+                .destination("Medellin")
+                .departureTime(LocalDateTime.now().plusDays(1))
+                .availableSeats(seats)
+                .pricePerSeat(new BigDecimal("50000.00"))
+                .status(Trip.Status.ACTIVE)
+                .build();
+    }
+}
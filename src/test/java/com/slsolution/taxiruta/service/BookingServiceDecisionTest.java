@@ -0,0 +1,160 @@
+package com.slsolution.taxiruta.service;
+
+import com.slsolution.taxiruta.dto.request.BookingDecisionDTO;
+import com.slsolution.taxiruta.dto.response.BookingDecisionResultDTO;
+import com.slsolution.taxiruta.exception.UnauthorizedException;
+import com.slsolution.taxiruta.model.Booking;
+import com.slsolution.taxiruta.model.Trip;
+import com.slsolution.taxiruta.model.User;
+import com.slsolution.taxiruta.repository.BookingRepository;
+import com.slsolution.taxiruta.repository.TripRepository;
+import com.slsolution.taxiruta.repository.UserRepository;
+import com.slsolution.taxiruta.util.Constants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.slsolution.taxiruta.TestFixtures.clearDatabase;
+import static com.slsolution.taxiruta.TestFixtures.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for the batch accept/reject flow in BookingService
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("BookingService Batch Decision Tests")
+class BookingServiceDecisionTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User driver;
+    private Trip trip;
+
+    @BeforeEach
+    void setUp() {
+        driver = userRepository.save(newUser("driver@example.com", User.Role.DRIVER));
+        trip = tripRepository.save(Trip.builder()
+                .driver(driver)
+                .origin("Cali")
+                .destination("Popayan")
+                .departureTime(LocalDateTime.now().plusDays(1))
+                .availableSeats(4)
+                .pricePerSeat(new BigDecimal("25000.00"))
+                .status(Trip.Status.ACTIVE)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        clearDatabase(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should accept and reject bookings in one call and return per-item results")
+    void shouldApplyMixedDecisions() {
+        // Given
+        Booking first = pendingBooking("p1@example.com", 2);
+        Booking second = pendingBooking("p2@example.com", 1);
+
+        // When
+        List<BookingDecisionResultDTO> results = bookingService.decideBookings(trip.getId(), List.of(
+                decision(first.getId(), BookingDecisionDTO.Decision.ACCEPT),
+                decision(second.getId(), BookingDecisionDTO.Decision.REJECT)), driver);
+
+        // Then
+        assertThat(results).extracting(BookingDecisionResultDTO::isSuccess).containsExactly(true, true);
+        assertThat(bookingRepository.findById(first.getId()).orElseThrow().getStatus()).isEqualTo(Booking.Status.CONFIRMED);
+        assertThat(bookingRepository.findById(second.getId()).orElseThrow().getStatus()).isEqualTo(Booking.Status.REJECTED);
+        assertThat(tripRepository.findById(trip.getId()).orElseThrow().getConfirmedSeats()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should accept bookings in request order until the trip is full")
+    void shouldStopAcceptingWhenSeatsRunOut() {
+        // Given - 4 seats, requests of 3 + 2 seats
+        Booking first = pendingBooking("p1@example.com", 3);
+        Booking second = pendingBooking("p2@example.com", 2);
+
+        // When
+        List<BookingDecisionResultDTO> results = bookingService.decideBookings(trip.getId(), List.of(
+                decision(first.getId(), BookingDecisionDTO.Decision.ACCEPT),
+                decision(second.getId(), BookingDecisionDTO.Decision.ACCEPT)), driver);
+
+        // Then
+        assertThat(results.get(0).isSuccess()).isTrue();
+        assertThat(results.get(1).isSuccess()).isFalse();
+        assertThat(results.get(1).getError()).isEqualTo(Constants.ERROR_INSUFFICIENT_SEATS);
+        assertThat(bookingRepository.findById(second.getId()).orElseThrow().getStatus()).isEqualTo(Booking.Status.PENDING);
+        assertThat(tripRepository.findById(trip.getId()).orElseThrow().getConfirmedSeats()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should report unknown and duplicate bookings without failing the batch")
+    void shouldReportInvalidItems() {
+        // Given
+        Booking booking = pendingBooking("p1@example.com", 1);
+
+        // When
+        List<BookingDecisionResultDTO> results = bookingService.decideBookings(trip.getId(), List.of(
+                decision(booking.getId(), BookingDecisionDTO.Decision.ACCEPT),
+                decision(booking.getId(), BookingDecisionDTO.Decision.REJECT),
+                decision(999999L, BookingDecisionDTO.Decision.ACCEPT)), driver);
+
+        // Then
+        assertThat(results).extracting(BookingDecisionResultDTO::isSuccess).containsExactly(true, false, false);
+        assertThat(results.get(1).getError()).isEqualTo(Constants.ERROR_DUPLICATE_DECISION);
+        assertThat(results.get(2).getError()).isEqualTo(Constants.ERROR_BOOKING_NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("Should reject batch decisions from a driver who does not own the trip")
+    void shouldFailForOtherDriver() {
+        // Given
+        User otherDriver = userRepository.save(newUser("other.driver@example.com", User.Role.DRIVER));
+        Booking booking = pendingBooking("p1@example.com", 1);
+
+        // When & Then
+        assertThatThrownBy(() -> bookingService.decideBookings(trip.getId(),
+                List.of(decision(booking.getId(), BookingDecisionDTO.Decision.ACCEPT)), otherDriver))
+                .isInstanceOf(UnauthorizedException.class);
+    }
+
+    private BookingDecisionDTO decision(Long bookingId, BookingDecisionDTO.Decision decision) {
+        return BookingDecisionDTO.builder().bookingId(bookingId).decision(decision).build();
+    }
+
+    private Booking pendingBooking(String passengerEmail, int seats) {
+        User passenger = userRepository.save(newUser(passengerEmail, User.Role.PASSENGER));
+        return bookingRepository.save(Booking.builder()
+                .trip(trip)
+                .passenger(passenger)
+                .seatsRequested(seats)
+                .totalPrice(trip.getPricePerSeat().multiply(BigDecimal.valueOf(seats)))
+                .status(Booking.Status.PENDING)
+                .build());
+    }
+}
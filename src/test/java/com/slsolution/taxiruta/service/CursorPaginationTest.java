@@ -0,0 +1,128 @@
+package com.slsolution.taxiruta.service;
+
+import com.slsolution.taxiruta.dto.response.CursorPageResponseDTO;
+import com.slsolution.taxiruta.dto.response.TripResponseDTO;
+import com.slsolution.taxiruta.exception.BadRequestException;
+import com.slsolution.taxiruta.model.Trip;
+import com.slsolution.taxiruta.model.User;
+import com.slsolution.taxiruta.repository.TripRepository;
+import com.slsolution.taxiruta.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.slsolution.taxiruta.TestFixtures.clearDatabase;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Cursor Pagination Tests")
+class CursorPaginationTest {
+
+    private static final int TRIPS = 12;
+
+    @Autowired
+    private TripService tripService;
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User driver;
+
+    @BeforeEach
+    void setUp() {
+        driver = userRepository.save(User.builder()
+                .firstName("Test")
+                .lastName("Driver")
+                .email("driver@example.com")
+                .password("encodedPassword")
+                .phone("3001234567")
+                .role(User.Role.DRIVER)
+                .isActive(true)
+                .build());
+
+        // Pairs of trips share a departure time so pages must break ties on id
+        LocalDateTime base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.MINUTES);
+        for (int i = 0; i < TRIPS; i++) {
+            tripRepository.save(Trip.builder()
+                    .driver(driver)
+                    .origin("Bogota")
+                    .destination("Villavicencio")
+                    .departureTime(base.plusMinutes(i / 2))
+                    .availableSeats(4)
+                    .pricePerSeat(new BigDecimal("40000.00"))
+                    .status(Trip.Status.ACTIVE)
+                    .build());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        clearDatabase(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should walk all active trips exactly once across pages")
+    void shouldWalkAllActiveTripsAcrossPages() {
+        // Given
+        List<Long> seenIds = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+
+        // When
+        CursorPageResponseDTO<TripResponseDTO> page;
+        do {
+            page = tripService.getActiveTrips(cursor, 5);
+            page.getItems().forEach(trip -> seenIds.add(trip.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (page.isHasMore());
+
+        // Then
+        assertThat(pages).isEqualTo(3);
+        assertThat(seenIds).hasSize(TRIPS).doesNotHaveDuplicates();
+        assertThat(page.getSize()).isEqualTo(2);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should page driver trips with the same cursor format")
+    void shouldPageDriverTrips() {
+        // When
+        CursorPageResponseDTO<TripResponseDTO> first = tripService.getDriverTrips(driver.getId(), null, TRIPS - 1);
+        CursorPageResponseDTO<TripResponseDTO> second = tripService.getDriverTrips(driver.getId(), first.getNextCursor(), TRIPS - 1);
+
+        // Then
+        assertThat(first.isHasMore()).isTrue();
+        assertThat(second.getItems()).hasSize(1);
+        assertThat(second.isHasMore()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject malformed cursors and invalid page sizes")
+    void shouldRejectInvalidCursorAndSize() {
+        // When & Then
+        assertThatThrownBy(() -> tripService.getActiveTrips("not-a-cursor", 5))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> tripService.getActiveTrips(null, 0))
+                .isInstanceOf(BadRequestException.class);
+    }
+}
@@ -0,0 +1,153 @@
+package com.slsolution.taxiruta.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.slsolution.taxiruta.exception.BadRequestException;
+import com.slsolution.taxiruta.model.Booking;
+import com.slsolution.taxiruta.model.Trip;
+import com.slsolution.taxiruta.model.User;
+import com.slsolution.taxiruta.repository.BookingRepository;
+import com.slsolution.taxiruta.repository.TripRepository;
+import com.slsolution.taxiruta.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.slsolution.taxiruta.TestFixtures.clearDatabase;
+import static com.slsolution.taxiruta.TestFixtures.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Export Service Tests")
+class ExportServiceTest {
+
+    private static final int TRIPS = 5;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private LocalDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        User driver = userRepository.save(newUser("driver@example.com", User.Role.DRIVER));
+        User passenger = userRepository.save(newUser("passenger@example.com", User.Role.PASSENGER));
+
+        base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        for (int i = 0; i < TRIPS; i++) {
+            Trip trip = tripRepository.save(Trip.builder()
+                    .driver(driver)
+                    .origin("Bogota")
+                    .destination("Villavicencio")
+                    .departureTime(base.plusHours(i))
+                    .availableSeats(4)
+                    .pricePerSeat(new BigDecimal("40000.00"))
+                    .status(Trip.Status.ACTIVE)
+                    .build());
+            bookingRepository.save(Booking.builder()
+                    .trip(trip)
+                    .passenger(passenger)
+                    .seatsRequested(1)
+                    .totalPrice(trip.getPricePerSeat())
+                    .status(Booking.Status.PENDING)
+                    .build());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        clearDatabase(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should write one JSON line per trip in departure order")
+    void shouldExportAllTripsAsNdjson() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        exportService.exportTrips(null, null, out);
+
+        // Then
+        List<JsonNode> lines = parseLines(out);
+        assertThat(lines).hasSize(TRIPS);
+        assertThat(lines.get(0).get("driver").get("email").asText()).isEqualTo("driver@example.com");
+        assertThat(lines).extracting(line -> line.get("departureTime").asText()).isSorted();
+    }
+
+    @Test
+    @DisplayName("Should only export trips departing inside the range")
+    void shouldFilterTripsByDateRange() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        exportService.exportTrips(base.plusHours(1), base.plusHours(3), out);
+
+        // Then
+        assertThat(parseLines(out)).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Should export bookings with their passenger")
+    void shouldExportBookingsAsNdjson() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        exportService.exportBookings(null, null, out);
+
+        // Then
+        List<JsonNode> lines = parseLines(out);
+        assertThat(lines).hasSize(TRIPS);
+        assertThat(lines.get(0).get("passenger").get("email").asText()).isEqualTo("passenger@example.com");
+    }
+
+    @Test
+    @DisplayName("Should reject a range that ends before it starts")
+    void shouldRejectInvertedRange() {
+        // When & Then
+        assertThatThrownBy(() -> exportService.validateRange(base, base.minusDays(1)))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private List<JsonNode> parseLines(ByteArrayOutputStream out) throws Exception {
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isEmpty()) {
+                lines.add(objectMapper.readTree(line));
+            }
+        }
+        return lines;
+    }
+}
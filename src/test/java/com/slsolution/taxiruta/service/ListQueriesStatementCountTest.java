@@ -0,0 +1,143 @@
+package com.slsolution.taxiruta.service;
+
+import com.slsolution.taxiruta.model.Booking;
+import com.slsolution.taxiruta.model.Trip;
+import com.slsolution.taxiruta.model.User;
+import com.slsolution.taxiruta.repository.BookingRepository;
+import com.slsolution.taxiruta.repository.TripRepository;
+import com.slsolution.taxiruta.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static com.slsolution.taxiruta.TestFixtures.clearDatabase;
+import static com.slsolution.taxiruta.TestFixtures.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that list endpoints run a constant number of SQL statements regardless of row count.
+ * Each call runs inside a transaction so any lazy association touched per row would be
+ * loaded (and counted) instead of failing with a LazyInitializationException.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@DisplayName("List Queries Statement Count Tests")
+class ListQueriesStatementCountTest {
+
+    private static final int ROWS = 12;
+
+    @Autowired
+    private TripService tripService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<User> drivers = new ArrayList<>();
+    private User passenger;
+
+    @BeforeEach
+    void setUp() {
+        passenger = userRepository.save(newUser("passenger@example.com", User.Role.PASSENGER));
+        for (int i = 0; i < ROWS; i++) {
+            // A different driver per trip so a lazy driver load would show up once per row
+            User driver = userRepository.save(newUser("driver" + i + "@example.com", User.Role.DRIVER));
+            drivers.add(driver);
+            Trip trip = tripRepository.save(Trip.builder()
+                    .driver(driver)
+                    .origin("Bogota")
+                    .destination("Villavicencio")
+                    .departureTime(LocalDateTime.now().plusDays(1).plusMinutes(i))
+                    .availableSeats(4)
+                    .pricePerSeat(new BigDecimal("40000.00"))
+                    .status(Trip.Status.ACTIVE)
+                    .build());
+            bookingRepository.save(Booking.builder()
+                    .trip(trip)
+                    .passenger(passenger)
+                    .seatsRequested(1)
+                    .totalPrice(trip.getPricePerSeat())
+                    .status(Booking.Status.PENDING)
+                    .build());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        clearDatabase(jdbcTemplate);
+        drivers.clear();
+    }
+
+    @Test
+    @DisplayName("getActiveTrips should run a single statement")
+    void activeTripsShouldRunOneStatement() {
+        assertThat(countStatements(() -> tripService.getActiveTrips())).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("searchTrips should run a single statement")
+    void searchTripsShouldRunOneStatement() {
+        assertThat(countStatements(() -> tripService.searchTrips("bogota", null, null))).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("getDriverTrips should run a single statement")
+    void driverTripsShouldRunOneStatement() {
+        assertThat(countStatements(() -> tripService.getDriverTrips(drivers.get(0).getId()))).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("getBookingsByPassenger should run a single statement")
+    void passengerBookingsShouldRunOneStatement() {
+        assertThat(countStatements(() -> bookingService.getBookingsByPassenger(passenger.getId()))).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("getPendingBookingsForDriver should run a single statement")
+    void pendingBookingsForDriverShouldRunOneStatement() {
+        assertThat(countStatements(() -> bookingService.getPendingBookingsForDriver(drivers.get(0)))).isEqualTo(1);
+    }
+
+    private long countStatements(Supplier<List<?>> call) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<?> result = new TransactionTemplate(transactionManager).execute(status -> call.get());
+
+        assertThat(result).isNotEmpty();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,247 @@
+package com.slsolution.taxiruta.service;
+
+import com.slsolution.taxiruta.dto.request.BookingRequestDTO;
+import com.slsolution.taxiruta.dto.response.BookingResponseDTO;
+import com.slsolution.taxiruta.exception.BadRequestException;
+import com.slsolution.taxiruta.model.Trip;
+import com.slsolution.taxiruta.model.User;
+import com.slsolution.taxiruta.repository.BookingRepository;
+import com.slsolution.taxiruta.repository.TripRepository;
+import com.slsolution.taxiruta.repository.UserRepository;
+import com.slsolution.taxiruta.util.Constants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static com.slsolution.taxiruta.TestFixtures.clearDatabase;
+import static com.slsolution.taxiruta.TestFixtures.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for the live update hub.
+ * Streams are recording emitters registered directly with the hub; bookings go through
+ * BookingService so events are published the way requests publish them. Heartbeats are counted
+ * apart from the other frames.
+ */
+@SpringBootTest(properties = {
+        "live.updates.max-trips-per-connection=2",
+        "live.updates.heartbeat-interval-ms=100",
+        "live.updates.send-time-limit-ms=300"
+})
+@ActiveProfiles("test")
+@DisplayName("LiveUpdateHub Tests")
+class LiveUpdateHubTest {
+
+    @Autowired
+    private LiveUpdateHub liveUpdateHub;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User driver;
+    private User passenger;
+    private Trip trip;
+
+    @BeforeEach
+    void setUp() {
+        driver = userRepository.save(newUser("driver@example.com", User.Role.DRIVER));
+        passenger = userRepository.save(newUser("passenger@example.com", User.Role.PASSENGER));
+        trip = tripRepository.save(Trip.builder()
+                .driver(driver)
+                .origin("Bogota")
+                .destination("Girardot")
+                .departureTime(LocalDateTime.now().plusDays(1))
+                .availableSeats(4)
+                .pricePerSeat(new BigDecimal("35000.00"))
+                .status(Trip.Status.ACTIVE)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        clearDatabase(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should push current seats, then booking status and seat changes as they commit")
+    void shouldPushSeatsAndBookingStatus() throws Exception {
+        // Given
+        RecordingEmitter stream = new RecordingEmitter();
+        liveUpdateHub.register(stream, passenger.getId(), Set.of(trip.getId()));
+        assertThat(stream.next()).contains("event:seats").contains("\"remainingSeats\":4");
+
+        // When
+        BookingResponseDTO booking = bookingService.createBooking(trip.getId(), new BookingRequestDTO(2), passenger);
+        String created = stream.next();
+        bookingService.confirmBooking(booking.getId(), driver);
+        String first = stream.next();
+        String second = stream.next();
+
+        // Then
+        assertThat(created).contains("event:booking").contains("\"status\":\"PENDING\"");
+        String confirmation = first + second;
+        assertThat(confirmation).contains("\"bookingId\":" + booking.getId()).contains("\"status\":\"CONFIRMED\"");
+        assertThat(confirmation).contains("event:seats").contains("\"remainingSeats\":2");
+    }
+
+    @Test
+    @DisplayName("Should not send a passenger the bookings of another passenger")
+    void shouldOnlySendOwnBookings() throws Exception {
+        // Given
+        User other = userRepository.save(newUser("other@example.com", User.Role.PASSENGER));
+        RecordingEmitter stream = new RecordingEmitter();
+        liveUpdateHub.register(stream, passenger.getId(), Set.of());
+
+        // When
+        bookingService.createBooking(trip.getId(), new BookingRequestDTO(1), other);
+        bookingService.createBooking(trip.getId(), new BookingRequestDTO(1), passenger);
+
+        // Then
+        String received = stream.next();
+        assertThat(received).contains("event:booking");
+        assertThat(stream.frames.poll(200, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(bookingRepository.findByTripIdAndPassengerId(trip.getId(), passenger.getId()))
+                .hasValueSatisfying(own -> assertThat(received).contains("\"bookingId\":" + own.getId()));
+    }
+
+    @Test
+    @DisplayName("Should drop a stream whose client went away and reject too many watched trips")
+    void shouldDropBrokenStreamsAndLimitTrips() throws Exception {
+        // Given
+        int before = liveUpdateHub.getConnectionCount();
+        RecordingEmitter stream = new RecordingEmitter();
+        stream.failing = true;
+
+        // When
+        liveUpdateHub.register(stream, passenger.getId(), Set.of(trip.getId()));
+        bookingService.createBooking(trip.getId(), new BookingRequestDTO(1), passenger);
+
+        // Then
+        long deadline = System.currentTimeMillis() + 5000;
+        while (liveUpdateHub.getConnectionCount() != before && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(liveUpdateHub.getConnectionCount()).isEqualTo(before);
+        assertThatThrownBy(() -> liveUpdateHub.register(new RecordingEmitter(), passenger.getId(), Set.of(1L, 2L, 3L)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage(Constants.ERROR_TOO_MANY_WATCHED_TRIPS);
+    }
+
+    @Test
+    @DisplayName("Should send every stream its own heartbeat")
+    void shouldSendHeartbeatPerStream() throws Exception {
+        // Given
+        RecordingEmitter first = new RecordingEmitter();
+        RecordingEmitter second = new RecordingEmitter();
+
+        // When
+        liveUpdateHub.register(first, passenger.getId(), Set.of());
+        liveUpdateHub.register(second, driver.getId(), Set.of());
+
+        // Then
+        long deadline = System.currentTimeMillis() + 5000;
+        while ((first.heartbeats.get() < 2 || second.heartbeats.get() < 2) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(first.heartbeats.get()).isGreaterThanOrEqualTo(2);
+        assertThat(second.heartbeats.get()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should drop a stream whose write stays blocked past the send time limit, then complete it")
+    void shouldDropBlockedStream() throws Exception {
+        // Given
+        int before = liveUpdateHub.getConnectionCount();
+        RecordingEmitter stream = new RecordingEmitter();
+        stream.release = new CountDownLatch(1);
+
+        try {
+            // When
+            liveUpdateHub.register(stream, passenger.getId(), Set.of(trip.getId()));
+
+            // Then
+            long deadline = System.currentTimeMillis() + 5000;
+            while (liveUpdateHub.getConnectionCount() != before && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(liveUpdateHub.getConnectionCount()).isEqualTo(before);
+            assertThat(stream.completed.getCount()).isEqualTo(1);
+        } finally {
+            stream.release.countDown();
+        }
+        assertThat(stream.completed.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        final BlockingQueue<String> frames = new LinkedBlockingQueue<>();
+        final AtomicInteger heartbeats = new AtomicInteger();
+        final CountDownLatch completed = new CountDownLatch(1);
+        volatile boolean failing;
+        // When set, every send blocks until it is counted down, like a client that stopped reading
+        volatile CountDownLatch release;
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            String frame = items.stream().map(item -> item.getData().toString()).collect(Collectors.joining());
+            if (frame.startsWith(":")) {
+                heartbeats.incrementAndGet();
+            } else {
+                frames.add(frame);
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+            super.complete();
+        }
+
+        String next() throws InterruptedException {
+            String frame = frames.poll(5, TimeUnit.SECONDS);
+            assertThat(frame).as("frame received").isNotNull();
+            return frame;
+        }
+    }
+}
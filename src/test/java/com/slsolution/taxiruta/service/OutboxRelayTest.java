@@ -0,0 +1,213 @@
+package com.slsolution.taxiruta.service;
+
+import com.slsolution.taxiruta.dto.request.BookingRequestDTO;
+import com.slsolution.taxiruta.dto.response.BookingResponseDTO;
+import com.slsolution.taxiruta.event.DomainEvent;
+import com.slsolution.taxiruta.event.DomainEventType;
+import com.slsolution.taxiruta.event.RecordingDomainEventSubscriber;
+import com.slsolution.taxiruta.exception.BadRequestException;
+import com.slsolution.taxiruta.model.OutboxEvent;
+import com.slsolution.taxiruta.model.Trip;
+import com.slsolution.taxiruta.model.User;
+import com.slsolution.taxiruta.repository.OutboxEventRepository;
+import com.slsolution.taxiruta.repository.TripRepository;
+import com.slsolution.taxiruta.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.slsolution.taxiruta.TestFixtures.clearDatabase;
+import static com.slsolution.taxiruta.TestFixtures.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for the transactional outbox.
+ * The background relay is disabled and runs are triggered with drain(), so every delivery is deterministic.
+ */
+@SpringBootTest(properties = "outbox.relay.max-attempts=3")
+@ActiveProfiles("test")
+@DisplayName("OutboxRelay Tests")
+class OutboxRelayTest {
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private DomainEventBus domainEventBus;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private TripService tripService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final RecordingDomainEventSubscriber subscriber = new RecordingDomainEventSubscriber();
+
+    private User driver;
+    private User passenger;
+    private Trip trip;
+
+    @BeforeEach
+    void setUp() {
+        domainEventBus.subscribe(subscriber);
+        driver = userRepository.save(newUser("driver@example.com", User.Role.DRIVER));
+        passenger = userRepository.save(newUser("passenger@example.com", User.Role.PASSENGER));
+        trip = tripRepository.save(Trip.builder()
+                .driver(driver)
+                .origin("Medellin")
+                .destination("Rionegro")
+                .departureTime(LocalDateTime.now().plusDays(1))
+                .availableSeats(4)
+                .pricePerSeat(new BigDecimal("20000.00"))
+                .status(Trip.Status.ACTIVE)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        domainEventBus.unsubscribe(subscriber);
+        subscriber.clear();
+        clearDatabase(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should relay booking and trip changes in commit order and mark them published")
+    void shouldRelayChangesInOrder() {
+        // Given
+        BookingResponseDTO booking = bookingService.createBooking(trip.getId(), new BookingRequestDTO(2), passenger);
+        bookingService.confirmBooking(booking.getId(), driver);
+        bookingService.cancelBooking(booking.getId(), passenger);
+        tripService.cancelTrip(trip.getId(), driver);
+
+        // When
+        outboxRelay.drain();
+
+        // Then
+        assertThat(subscriber.eventTypesOf(OutboxEvent.AggregateType.BOOKING, booking.getId())).containsExactly(
+                DomainEventType.BOOKING_CONFIRMED.name(), DomainEventType.BOOKING_CANCELLED.name());
+        assertThat(subscriber.eventTypesOf(OutboxEvent.AggregateType.TRIP, trip.getId()))
+                .containsExactly(DomainEventType.TRIP_CANCELLED.name());
+        DomainEvent confirmed = subscriber.getEvents().get(0);
+        assertThat(confirmed.payload().get("tripId").asLong()).isEqualTo(trip.getId());
+        assertThat(confirmed.payload().get("seats").asInt()).isEqualTo(2);
+        assertThat(outboxEventRepository.findAll())
+                .allSatisfy(event -> assertThat(event.getStatus()).isEqualTo(OutboxEvent.Status.PUBLISHED));
+    }
+
+    @Test
+    @DisplayName("Should write no event when the state change rolls back")
+    void shouldNotRecordRolledBackChanges() {
+        // Given
+        User other = userRepository.save(newUser("other@example.com", User.Role.PASSENGER));
+        BookingResponseDTO first = bookingService.createBooking(trip.getId(), new BookingRequestDTO(3), passenger);
+        BookingResponseDTO second = bookingService.createBooking(trip.getId(), new BookingRequestDTO(3), other);
+        bookingService.confirmBooking(first.getId(), driver);
+
+        // When
+        assertThatThrownBy(() -> bookingService.confirmBooking(second.getId(), driver))
+                .isInstanceOf(BadRequestException.class);
+
+        // Then
+        assertThat(outboxEventRepository.findByAggregateTypeAndAggregateIdOrderById(
+                OutboxEvent.AggregateType.BOOKING, second.getId())).isEmpty();
+        assertThat(outboxEventRepository.findByAggregateTypeAndAggregateIdOrderById(
+                OutboxEvent.AggregateType.BOOKING, first.getId())).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should redeliver a failed event after its backoff and hold back later events of its aggregate only")
+    void shouldRetryAndHoldBackFailedAggregate() {
+        // Given
+        User other = userRepository.save(newUser("other@example.com", User.Role.PASSENGER));
+        BookingResponseDTO failing = bookingService.createBooking(trip.getId(), new BookingRequestDTO(1), passenger);
+        BookingResponseDTO healthy = bookingService.createBooking(trip.getId(), new BookingRequestDTO(1), other);
+        bookingService.confirmBooking(failing.getId(), driver);
+        bookingService.cancelBooking(failing.getId(), passenger);
+        bookingService.rejectBooking(healthy.getId(), driver);
+        subscriber.failNext(OutboxEvent.AggregateType.BOOKING, failing.getId(), 1);
+
+        // When
+        outboxRelay.drain();
+
+        // Then
+        assertThat(subscriber.eventTypesOf(OutboxEvent.AggregateType.BOOKING, failing.getId())).isEmpty();
+        assertThat(subscriber.eventTypesOf(OutboxEvent.AggregateType.BOOKING, healthy.getId()))
+                .containsExactly(DomainEventType.BOOKING_REJECTED.name());
+        List<OutboxEvent> held = outboxEventRepository.findByAggregateTypeAndAggregateIdOrderById(
+                OutboxEvent.AggregateType.BOOKING, failing.getId());
+        assertThat(held).extracting(OutboxEvent::getStatus)
+                .containsExactly(OutboxEvent.Status.PENDING, OutboxEvent.Status.PENDING);
+        assertThat(held.get(0).getAttempts()).isEqualTo(1);
+        assertThat(held.get(0).getLastError()).contains("Simulated failure");
+        assertThat(held.get(0).getNextAttemptAt()).isAfter(LocalDateTime.now());
+
+        // When
+        outboxRelay.drain();
+
+        // Then
+        assertThat(subscriber.eventTypesOf(OutboxEvent.AggregateType.BOOKING, failing.getId())).isEmpty();
+
+        // When
+        makeRetriesDue();
+        outboxRelay.drain();
+
+        // Then
+        assertThat(subscriber.eventTypesOf(OutboxEvent.AggregateType.BOOKING, failing.getId())).containsExactly(
+                DomainEventType.BOOKING_CONFIRMED.name(), DomainEventType.BOOKING_CANCELLED.name());
+        assertThat(subscriber.eventTypesOf(OutboxEvent.AggregateType.BOOKING, healthy.getId())).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should mark an event FAILED after max-attempts and move on to the next event of its aggregate")
+    void shouldGiveUpAfterMaxAttempts() {
+        // Given
+        BookingResponseDTO booking = bookingService.createBooking(trip.getId(), new BookingRequestDTO(1), passenger);
+        bookingService.confirmBooking(booking.getId(), driver);
+        bookingService.cancelBooking(booking.getId(), passenger);
+        subscriber.failNext(OutboxEvent.AggregateType.BOOKING, booking.getId(), 3);
+
+        // When
+        for (int run = 0; run < 4; run++) {
+            makeRetriesDue();
+            outboxRelay.drain();
+        }
+
+        // Then
+        List<OutboxEvent> events = outboxEventRepository.findByAggregateTypeAndAggregateIdOrderById(
+                OutboxEvent.AggregateType.BOOKING, booking.getId());
+        assertThat(events).extracting(OutboxEvent::getStatus)
+                .containsExactly(OutboxEvent.Status.FAILED, OutboxEvent.Status.PUBLISHED);
+        assertThat(events.get(0).getAttempts()).isEqualTo(3);
+        assertThat(subscriber.eventTypesOf(OutboxEvent.AggregateType.BOOKING, booking.getId()))
+                .containsExactly(DomainEventType.BOOKING_CANCELLED.name());
+    }
+
+    // Stands in for waiting out the backoff of every failed event
+    private void makeRetriesDue() {
+        List<OutboxEvent> events = outboxEventRepository.findAll();
+        events.forEach(event -> event.setNextAttemptAt(null));
+        outboxEventRepository.saveAll(events);
+    }
+}
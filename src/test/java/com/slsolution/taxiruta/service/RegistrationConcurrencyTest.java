@@ -0,0 +1,115 @@
+package com.slsolution.taxiruta.service;
+
+import com.slsolution.taxiruta.dto.request.UserRegisterRequestDTO;
+import com.slsolution.taxiruta.exception.BadRequestException;
+import com.slsolution.taxiruta.repository.UserRepository;
+import com.slsolution.taxiruta.util.Constants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.slsolution.taxiruta.TestFixtures.clearDatabase;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Concurrency tests for registration in AuthService.
+ * Registers the same email from many threads against H2 and checks that the unique
+ * constraint, not a prior existence check, decides which registration wins.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Registration Concurrency Tests")
+class RegistrationConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        clearDatabase(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should register a contested email exactly once")
+    void shouldRegisterDuplicateEmailOnce() throws Exception {
+        // Given
+        String email = "contested" + System.nanoTime() + "@example.com";
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger successes = new AtomicInteger();
+        AtomicInteger duplicates = new AtomicInteger();
+        List<Future<Void>> futures = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    authService.register(newRequest(email));
+                    successes.incrementAndGet();
+                } catch (BadRequestException e) {
+                    assertThat(e.getMessage()).isEqualTo(Constants.ERROR_EMAIL_ALREADY_EXISTS);
+                    duplicates.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<Void> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(successes.get()).isEqualTo(1);
+        assertThat(duplicates.get()).isEqualTo(THREADS - 1);
+        assertThat(userRepository.findByEmail(email)).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should reject an email registered earlier")
+    void shouldRejectRegisteredEmail() {
+        // Given
+        String email = "taken" + System.nanoTime() + "@example.com";
+        authService.register(newRequest(email));
+
+        // When & Then
+        assertThatThrownBy(() -> authService.register(newRequest(email)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage(Constants.ERROR_EMAIL_ALREADY_EXISTS);
+        assertThat(userRepository.count()).isEqualTo(1);
+    }
+
+    private UserRegisterRequestDTO newRequest(String email) {
+        return UserRegisterRequestDTO.builder()
+                .firstName("Laura")
+                .lastName("Martinez")
+                .email(email)
+                .phone("3001112233")
+                .password("password123")
+                .role("PASSENGER")
+                .build();
+    }
+}
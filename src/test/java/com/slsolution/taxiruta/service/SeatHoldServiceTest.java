@@ -0,0 +1,150 @@
+package com.slsolution.taxiruta.service;
+
+import com.slsolution.taxiruta.dto.response.BookingResponseDTO;
+import com.slsolution.taxiruta.dto.response.SeatHoldResponseDTO;
+import com.slsolution.taxiruta.event.DomainEventType;
+import com.slsolution.taxiruta.exception.BadRequestException;
+import com.slsolution.taxiruta.exception.ResourceNotFoundException;
+import com.slsolution.taxiruta.model.OutboxEvent;
+import com.slsolution.taxiruta.model.Trip;
+import com.slsolution.taxiruta.model.User;
+import com.slsolution.taxiruta.repository.OutboxEventRepository;
+import com.slsolution.taxiruta.repository.SeatHoldRepository;
+import com.slsolution.taxiruta.repository.TripRepository;
+import com.slsolution.taxiruta.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static com.slsolution.taxiruta.TestFixtures.clearDatabase;
+import static com.slsolution.taxiruta.TestFixtures.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for SeatHoldService
+ * Covers placing, confirming, releasing and expiring seat holds against H2
+ */
+@SpringBootTest(properties = "booking.holds.ttl-seconds=1")
+@ActiveProfiles("test")
+@DisplayName("SeatHoldService Tests")
+class SeatHoldServiceTest {
+
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    @Autowired
+    private SeatHoldRepository seatHoldRepository;
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User passenger;
+    private User otherPassenger;
+    private Trip trip;
+
+    @BeforeEach
+    void setUp() {
+        User driver = userRepository.save(newUser("driver@example.com", User.Role.DRIVER));
+        passenger = userRepository.save(newUser("passenger@example.com", User.Role.PASSENGER));
+        otherPassenger = userRepository.save(newUser("other@example.com", User.Role.PASSENGER));
+        trip = tripRepository.save(Trip.builder()
+                .driver(driver)
+                .origin("Bogota")
+                .destination("Tunja")
+                .departureTime(LocalDateTime.now().plusDays(1))
+                .availableSeats(3)
+                .pricePerSeat(new BigDecimal("30000.00"))
+                .status(Trip.Status.ACTIVE)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        clearDatabase(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should count held seats against the remaining seats")
+    void shouldReserveSeatsWhileHeld() {
+        // When
+        seatHoldService.placeHold(trip.getId(), 2, passenger);
+
+        // Then
+        Trip reloaded = tripRepository.findById(trip.getId()).orElseThrow();
+        assertThat(reloaded.getHeldSeats()).isEqualTo(2);
+        assertThat(reloaded.getRemainingSeats()).isEqualTo(1);
+        assertThatThrownBy(() -> seatHoldService.placeHold(trip.getId(), 2, otherPassenger))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    @DisplayName("Should turn a hold into a confirmed booking")
+    void shouldConfirmHoldIntoBooking() {
+        // Given
+        SeatHoldResponseDTO hold = seatHoldService.placeHold(trip.getId(), 2, passenger);
+
+        // When
+        BookingResponseDTO booking = seatHoldService.confirmHold(trip.getId(), hold.getId(), passenger);
+
+        // Then
+        assertThat(booking.getStatus()).isEqualTo("CONFIRMED");
+        Trip reloaded = tripRepository.findById(trip.getId()).orElseThrow();
+        assertThat(reloaded.getHeldSeats()).isZero();
+        assertThat(reloaded.getConfirmedSeats()).isEqualTo(2);
+        assertThat(seatHoldRepository.existsById(hold.getId())).isFalse();
+        assertThat(outboxEventRepository.findByAggregateTypeAndAggregateIdOrderById(
+                OutboxEvent.AggregateType.BOOKING, booking.getId()))
+                .extracting(OutboxEvent::getEventType).containsExactly(DomainEventType.BOOKING_CONFIRMED.name());
+    }
+
+    @Test
+    @DisplayName("Should release held seats when the hold is released")
+    void shouldReleaseHold() {
+        // Given
+        SeatHoldResponseDTO hold = seatHoldService.placeHold(trip.getId(), 2, passenger);
+
+        // When
+        seatHoldService.releaseHold(trip.getId(), hold.getId(), passenger);
+
+        // Then
+        assertThat(tripRepository.findById(trip.getId()).orElseThrow().getHeldSeats()).isZero();
+        assertThatThrownBy(() -> seatHoldService.confirmHold(trip.getId(), hold.getId(), passenger))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should release held seats automatically when the hold expires")
+    void shouldExpireHold() throws InterruptedException {
+        // Given
+        SeatHoldResponseDTO hold = seatHoldService.placeHold(trip.getId(), 3, passenger);
+
+        // When - wait past the 1 second TTL
+        long deadline = System.currentTimeMillis() + 5000;
+        while (seatHoldRepository.existsById(hold.getId()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+
+        // Then
+        assertThat(seatHoldRepository.existsById(hold.getId())).isFalse();
+        assertThat(tripRepository.findById(trip.getId()).orElseThrow().getHeldSeats()).isZero();
+        assertThat(seatHoldService.getActiveHoldCount(trip.getId())).isZero();
+    }
+}
@@ -0,0 +1,162 @@
+package com.slsolution.taxiruta.service;
+
+import com.slsolution.taxiruta.model.RevokedToken;
+import com.slsolution.taxiruta.model.User;
+import com.slsolution.taxiruta.model.UserTokenRevocation;
+import com.slsolution.taxiruta.repository.RevokedTokenRepository;
+import com.slsolution.taxiruta.repository.UserRepository;
+import com.slsolution.taxiruta.repository.UserTokenRevocationRepository;
+import com.slsolution.taxiruta.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenRevocationService Tests")
+class TokenRevocationServiceTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Mock
+    private UserTokenRevocationRepository userTokenRevocationRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private TokenRevocationService tokenRevocationService;
+
+    private JwtUtil jwtUtil;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tokenRevocationService, "jwtExpiration", 86400000L);
+        ReflectionTestUtils.setField(tokenRevocationService, "expectedTokens", 1000);
+        ReflectionTestUtils.setField(tokenRevocationService, "falsePositiveRate", 0.01);
+        tokenRevocationService.init();
+
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secretKey", "testSecretKeyForJWTWhichShouldBeAtLeast256BitsLongForTestingPurposes");
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpiration", 86400000L);
+        ReflectionTestUtils.setField(jwtUtil, "claimsCacheMaxSize", 100L);
+        jwtUtil.init();
+
+        user = User.builder()
+                .id(3L)
+                .firstName("Ana")
+                .lastName("Gomez")
+                .email("ana.gomez@example.com")
+                .password("encodedPassword")
+                .phone("3005551234")
+                .role(User.Role.PASSENGER)
+                .isActive(true)
+                .build();
+
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    @DisplayName("Should reject a logged-out token and keep other tokens of the same user valid")
+    void shouldRevokeSingleToken() {
+        // Given
+        Claims loggedOut = jwtUtil.verifyToken(jwtUtil.generateToken(user));
+        Claims other = jwtUtil.verifyToken(jwtUtil.generateToken(user));
+
+        // When
+        tokenRevocationService.revoke(loggedOut);
+        commit();
+
+        // Then
+        ArgumentCaptor<RevokedToken> saved = ArgumentCaptor.forClass(RevokedToken.class);
+        verify(revokedTokenRepository).save(saved.capture());
+        assertThat(saved.getValue().getJti()).isEqualTo(loggedOut.getId());
+        assertThat(saved.getValue().getUserId()).isEqualTo(3L);
+        assertThat(tokenRevocationService.isRevoked(loggedOut)).isTrue();
+        assertThat(tokenRevocationService.isRevoked(other)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should not apply a revocation until its transaction commits")
+    void shouldRevokeOnlyAfterCommit() {
+        // Given
+        Claims claims = jwtUtil.verifyToken(jwtUtil.generateToken(user));
+
+        // When
+        tokenRevocationService.revoke(claims);
+
+        // Then
+        assertThat(tokenRevocationService.isRevoked(claims)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject every token issued to a user before revoke-all")
+    void shouldRevokeAllTokensOfUser() {
+        // Given
+        Claims first = jwtUtil.verifyToken(jwtUtil.generateToken(user));
+        Claims second = jwtUtil.verifyToken(jwtUtil.generateToken(user));
+        when(userRepository.existsById(3L)).thenReturn(true);
+
+        // When
+        tokenRevocationService.revokeAllForUser(3L);
+        commit();
+
+        // Then
+        assertThat(tokenRevocationService.isRevoked(first)).isTrue();
+        assertThat(tokenRevocationService.isRevoked(second)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should load revocations from the database and drop expired ones on sync")
+    void shouldSyncFromDatabase() {
+        // Given
+        Claims revoked = jwtUtil.verifyToken(jwtUtil.generateToken(user));
+        Claims notRevoked = jwtUtil.verifyToken(jwtUtil.generateToken(user));
+        when(revokedTokenRepository.findUnexpired(any())).thenReturn(List.of(RevokedToken.builder()
+                .jti(revoked.getId())
+                .userId(3L)
+                .expiresAt(LocalDateTime.now().plusHours(1))
+                .build()));
+        when(userTokenRevocationRepository.findNewerThan(any())).thenReturn(List.of(
+                new UserTokenRevocation(99L, LocalDateTime.now())));
+
+        // When
+        tokenRevocationService.sync();
+
+        // Then
+        verify(revokedTokenRepository).deleteExpired(any());
+        verify(userTokenRevocationRepository).deleteOlderThan(any());
+        assertThat(tokenRevocationService.isRevoked(revoked)).isTrue();
+        assertThat(tokenRevocationService.isRevoked(notRevoked)).isFalse();
+    }
+
+    private void commit() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+    }
+}
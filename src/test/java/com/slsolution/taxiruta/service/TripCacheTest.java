@@ -0,0 +1,136 @@
+package com.slsolution.taxiruta.service;
+
+import com.slsolution.taxiruta.dto.request.BookingRequestDTO;
+import com.slsolution.taxiruta.dto.response.BookingResponseDTO;
+import com.slsolution.taxiruta.dto.response.TripResponseDTO;
+import com.slsolution.taxiruta.model.Trip;
+import com.slsolution.taxiruta.model.User;
+import com.slsolution.taxiruta.repository.TripRepository;
+import com.slsolution.taxiruta.repository.UserRepository;
+import com.slsolution.taxiruta.util.Constants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static com.slsolution.taxiruta.TestFixtures.clearDatabase;
+import static com.slsolution.taxiruta.TestFixtures.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.cache.type=caffeine",
+        "spring.cache.cache-names=trips,activeTrips",
+        "spring.cache.caffeine.spec=maximumSize=100,expireAfterWrite=10m,recordStats"
+})
+@ActiveProfiles("test")
+@DisplayName("Trip Cache Tests")
+class TripCacheTest {
+
+    @Autowired
+    private TripService tripService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User driver;
+    private User passenger;
+    private Trip trip;
+
+    @BeforeEach
+    void setUp() {
+        driver = userRepository.save(newUser("driver@example.com", User.Role.DRIVER));
+        passenger = userRepository.save(newUser("passenger@example.com", User.Role.PASSENGER));
+        trip = tripRepository.save(Trip.builder()
+                .driver(driver)
+                .origin("Bogota")
+                .destination("Villavicencio")
+                .departureTime(LocalDateTime.now().plusDays(1))
+                .availableSeats(4)
+                .pricePerSeat(new BigDecimal("40000.00"))
+                .status(Trip.Status.ACTIVE)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        cacheManager.getCache(Constants.TRIP_CACHE).clear();
+        cacheManager.getCache(Constants.ACTIVE_TRIPS_CACHE).clear();
+        clearDatabase(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should serve repeated trip detail reads from the cache")
+    void shouldCacheTripDetail() {
+        // When
+        TripResponseDTO first = tripService.getTripResponseById(trip.getId());
+        TripResponseDTO second = tripService.getTripResponseById(trip.getId());
+
+        // Then
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    @DisplayName("Should show updated seat counts right after a booking is confirmed")
+    void shouldEvictOnBookingConfirmation() {
+        // Given - both caches are warm
+        assertThat(tripService.getTripResponseById(trip.getId()).getRemainingSeats()).isEqualTo(4);
+        assertThat(tripService.getActiveTrips(null, null).getItems().get(0).getRemainingSeats()).isEqualTo(4);
+        BookingResponseDTO booking = bookingService.createBooking(trip.getId(), new BookingRequestDTO(3), passenger);
+
+        // When
+        bookingService.confirmBooking(booking.getId(), driver);
+
+        // Then
+        assertThat(tripService.getTripResponseById(trip.getId()).getRemainingSeats()).isEqualTo(1);
+        assertThat(tripService.getActiveTrips(null, null).getItems().get(0).getRemainingSeats()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should show released seats right after a confirmed booking is cancelled")
+    void shouldEvictOnBookingCancellation() {
+        // Given
+        BookingResponseDTO booking = bookingService.createBooking(trip.getId(), new BookingRequestDTO(2), passenger);
+        bookingService.confirmBooking(booking.getId(), driver);
+        assertThat(tripService.getTripResponseById(trip.getId()).getRemainingSeats()).isEqualTo(2);
+
+        // When
+        bookingService.cancelBooking(booking.getId(), passenger);
+
+        // Then
+        assertThat(tripService.getTripResponseById(trip.getId()).getRemainingSeats()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should drop a cancelled trip from cached active listings")
+    void shouldEvictOnTripCancellation() {
+        // Given
+        assertThat(tripService.getActiveTrips(null, null).getItems()).hasSize(1);
+
+        // When
+        tripService.cancelTrip(trip.getId(), driver);
+
+        // Then
+        assertThat(tripService.getActiveTrips(null, null).getItems()).isEmpty();
+        assertThat(tripService.getTripResponseById(trip.getId()).getStatus()).isEqualTo("CANCELLED");
+    }
+}
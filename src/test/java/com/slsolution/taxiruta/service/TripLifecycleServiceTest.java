@@ -0,0 +1,194 @@
+package com.slsolution.taxiruta.service;
+
+import com.slsolution.taxiruta.dto.request.TripRequestDTO;
+import com.slsolution.taxiruta.dto.response.TripResponseDTO;
+import com.slsolution.taxiruta.event.DomainEventType;
+import com.slsolution.taxiruta.exception.BadRequestException;
+import com.slsolution.taxiruta.model.Booking;
+import com.slsolution.taxiruta.model.OutboxEvent;
+import com.slsolution.taxiruta.model.Trip;
+import com.slsolution.taxiruta.model.User;
+import com.slsolution.taxiruta.repository.BookingRepository;
+import com.slsolution.taxiruta.repository.OutboxEventRepository;
+import com.slsolution.taxiruta.repository.TripRepository;
+import com.slsolution.taxiruta.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.slsolution.taxiruta.TestFixtures.clearDatabase;
+import static com.slsolution.taxiruta.TestFixtures.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for trip completion and pending booking expiry.
+ * A small chunk size makes every sweep go through several chunks. The long refill interval keeps
+ * the periodic sweep of this context away from the data of later test classes in the shared database.
+ */
+@SpringBootTest(properties = {
+        "lifecycle.enabled=true",
+        "lifecycle.sweep.chunk-size=2",
+        "lifecycle.bookings.pending-ttl-minutes=60",
+        "lifecycle.wheel.tick-ms=50",
+        "lifecycle.refill-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+@DisplayName("TripLifecycleService Tests")
+class TripLifecycleServiceTest {
+
+    @Autowired
+    private TripLifecycleService tripLifecycleService;
+
+    @Autowired
+    private TripService tripService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User driver;
+    private User passenger;
+
+    @BeforeEach
+    void setUp() {
+        driver = userRepository.save(newUser("driver@example.com", User.Role.DRIVER));
+        passenger = userRepository.save(newUser("passenger@example.com", User.Role.PASSENGER));
+    }
+
+    @AfterEach
+    void tearDown() {
+        clearDatabase(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should complete every departed trip and expire its pending bookings only")
+    void shouldCompleteDepartedTrips() {
+        // Given
+        List<Trip> departed = List.of(
+                saveTrip(LocalDateTime.now().minusHours(3)),
+                saveTrip(LocalDateTime.now().minusHours(2)),
+                saveTrip(LocalDateTime.now().minusMinutes(1)));
+        Trip upcoming = saveTrip(LocalDateTime.now().plusDays(1));
+        Booking pending = saveBooking(departed.get(0), Booking.Status.PENDING, LocalDateTime.now().minusMinutes(5));
+        Booking confirmed = saveBooking(departed.get(1), Booking.Status.CONFIRMED, LocalDateTime.now().minusMinutes(5));
+
+        // When
+        tripLifecycleService.sweep();
+
+        // Then
+        assertThat(tripRepository.findAllById(departed.stream().map(Trip::getId).toList()))
+                .allSatisfy(trip -> assertThat(trip.getStatus()).isEqualTo(Trip.Status.COMPLETED));
+        assertThat(statusOf(upcoming)).isEqualTo(Trip.Status.ACTIVE);
+        assertThat(statusOf(pending)).isEqualTo(Booking.Status.EXPIRED);
+        assertThat(statusOf(confirmed)).isEqualTo(Booking.Status.CONFIRMED);
+        assertThat(outboxEventRepository.findByAggregateTypeAndAggregateIdOrderById(
+                OutboxEvent.AggregateType.TRIP, departed.get(0).getId()))
+                .extracting(OutboxEvent::getEventType).containsExactly(DomainEventType.TRIP_COMPLETED.name());
+    }
+
+    @Test
+    @DisplayName("Should expire pending bookings past their deadline so they can no longer be confirmed")
+    void shouldExpireStalePendingBookings() {
+        // Given
+        Trip trip = saveTrip(LocalDateTime.now().plusDays(1));
+        User other = userRepository.save(newUser("other@example.com", User.Role.PASSENGER));
+        User third = userRepository.save(newUser("third@example.com", User.Role.PASSENGER));
+        Booking stale = saveBooking(trip, Booking.Status.PENDING, LocalDateTime.now().minusHours(2), passenger);
+        Booking staleToo = saveBooking(trip, Booking.Status.PENDING, LocalDateTime.now().minusHours(3), other);
+        Booking fresh = saveBooking(trip, Booking.Status.PENDING, LocalDateTime.now().minusMinutes(5), third);
+
+        // When
+        tripLifecycleService.sweep();
+
+        // Then
+        assertThat(statusOf(stale)).isEqualTo(Booking.Status.EXPIRED);
+        assertThat(statusOf(staleToo)).isEqualTo(Booking.Status.EXPIRED);
+        assertThat(statusOf(fresh)).isEqualTo(Booking.Status.PENDING);
+        assertThatThrownBy(() -> bookingService.confirmBooking(stale.getId(), driver))
+                .isInstanceOf(BadRequestException.class);
+        assertThat(outboxEventRepository.findByAggregateTypeAndAggregateIdOrderById(
+                OutboxEvent.AggregateType.BOOKING, stale.getId()))
+                .extracting(OutboxEvent::getEventType).containsExactly(DomainEventType.BOOKING_EXPIRED.name());
+    }
+
+    @Test
+    @DisplayName("Should complete a trip from the timer wheel shortly after it departs")
+    void shouldCompleteTripWhenItsTimerFires() throws InterruptedException {
+        // Given
+        TripResponseDTO trip = tripService.createTrip(new TripRequestDTO("Pasto", "Ipiales",
+                LocalDateTime.now().plusSeconds(1), 4, new BigDecimal("15000.00"), null), driver);
+
+        // When
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (statusOf(trip.getId()) == Trip.Status.ACTIVE && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+
+        // Then
+        assertThat(statusOf(trip.getId())).isEqualTo(Trip.Status.COMPLETED);
+    }
+
+    private Trip.Status statusOf(Trip trip) {
+        return statusOf(trip.getId());
+    }
+
+    private Trip.Status statusOf(Long tripId) {
+        return tripRepository.findById(tripId).orElseThrow().getStatus();
+    }
+
+    private Booking.Status statusOf(Booking booking) {
+        return bookingRepository.findById(booking.getId()).orElseThrow().getStatus();
+    }
+
+    private Trip saveTrip(LocalDateTime departureTime) {
+        return tripRepository.save(Trip.builder()
+                .driver(driver)
+                .origin("Pasto")
+                .destination("Tumaco")
+                .departureTime(departureTime)
+                .availableSeats(4)
+                .pricePerSeat(new BigDecimal("30000.00"))
+                .status(Trip.Status.ACTIVE)
+                .build());
+    }
+
+    private Booking saveBooking(Trip trip, Booking.Status status, LocalDateTime bookingDate) {
+        return saveBooking(trip, status, bookingDate, passenger);
+    }
+
+    private Booking saveBooking(Trip trip, Booking.Status status, LocalDateTime bookingDate, User bookedBy) {
+        return bookingRepository.save(Booking.builder()
+                .trip(trip)
+                .passenger(bookedBy)
+                .seatsRequested(1)
+                .totalPrice(trip.getPricePerSeat())
+                .status(status)
+                .bookingDate(bookingDate)
+                .build());
+    }
+}
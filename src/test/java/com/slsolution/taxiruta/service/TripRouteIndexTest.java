@@ -0,0 +1,120 @@
+package com.slsolution.taxiruta.service;
+
+import com.slsolution.taxiruta.dto.response.TripResponseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Trip Route Index Tests")
+class TripRouteIndexTest {
+
+    private static final LocalDateTime FAR_FUTURE = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private TripRouteIndex index;
+    private LocalDateTime now;
+    private LocalDateTime tomorrow;
+
+    @BeforeEach
+    void setUp() {
+        index = new TripRouteIndex();
+        ReflectionTestUtils.setField(index, "enabled", true);
+        now = LocalDateTime.now();
+        tomorrow = now.plusDays(1).withHour(8).withMinute(0);
+
+        index.reload(() -> List.of(
+                trip(1L, "Terminal Bogota", "Centro Villavicencio", tomorrow.plusHours(2), "ACTIVE"),
+                trip(2L, "Terminal Bogota", "Centro Villavicencio", tomorrow, "ACTIVE"),
+                trip(3L, "Centro Tunja", "Terminal Bogota", tomorrow.plusHours(1), "ACTIVE"),
+                trip(4L, "Terminal Bogota", "Aeropuerto Medellin", tomorrow.plusDays(1), "ACTIVE"),
+                trip(5L, "Terminal Bogota", "Centro Villavicencio", tomorrow, "CANCELLED")));
+    }
+
+    @Test
+    @DisplayName("Should match origin and destination as case-insensitive substrings in departure order")
+    void shouldMatchRouteBySubstring() {
+        // When
+        List<TripResponseDTO> result = index.search("BOGOTA", "villa", now, FAR_FUTURE, now);
+
+        // Then
+        assertThat(result).extracting(TripResponseDTO::getId).containsExactly(2L, 1L);
+    }
+
+    @Test
+    @DisplayName("Should return every indexed trip in departure order without filters")
+    void shouldReturnAllTripsWithoutFilters() {
+        // When
+        List<TripResponseDTO> result = index.search(null, null, now, FAR_FUTURE, now);
+
+        // Then
+        assertThat(result).extracting(TripResponseDTO::getId).containsExactly(2L, 3L, 1L, 4L);
+    }
+
+    @Test
+    @DisplayName("Should restrict results to the departure window")
+    void shouldFilterByDepartureWindow() {
+        // Given
+        LocalDateTime dayStart = tomorrow.toLocalDate().atStartOfDay();
+
+        // When
+        List<TripResponseDTO> result = index.search("bogota", null, dayStart, dayStart.plusDays(1), now);
+
+        // Then
+        assertThat(result).extracting(TripResponseDTO::getId).containsExactly(2L, 1L);
+    }
+
+    @Test
+    @DisplayName("Should move, refresh and drop trips on upsert")
+    void shouldApplyUpserts() {
+        // When
+        index.upsert(trip(2L, "Centro Tunja", "Terminal Bogota", tomorrow, "ACTIVE"));
+        index.upsert(trip(4L, "Terminal Bogota", "Aeropuerto Medellin", tomorrow.plusDays(1), "CANCELLED"));
+        index.upsert(trip(6L, "Terminal Bogota", "Centro Villavicencio", tomorrow.plusHours(3), "ACTIVE"));
+
+        // Then
+        assertThat(index.search(null, "villa", now, FAR_FUTURE, now))
+                .extracting(TripResponseDTO::getId).containsExactly(1L, 6L);
+        assertThat(index.search("tunja", null, now, FAR_FUTURE, now))
+                .extracting(TripResponseDTO::getId).containsExactly(2L, 3L);
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should prune trips that have departed")
+    void shouldPruneDepartedTrips() {
+        // When
+        int removed = index.pruneDeparted(tomorrow.plusHours(1));
+
+        // Then
+        assertThat(removed).isEqualTo(2);
+        assertThat(index.search(null, null, now, FAR_FUTURE, now))
+                .extracting(TripResponseDTO::getId).containsExactly(1L, 4L);
+    }
+
+    @Test
+    @DisplayName("Should keep changes made while a reload is loading trips")
+    void shouldReplayChangesMadeDuringReload() {
+        // When
+        index.reload(() -> {
+            index.remove(3L);
+            return List.of(
+                    trip(2L, "Terminal Bogota", "Centro Villavicencio", tomorrow, "ACTIVE"),
+                    trip(3L, "Centro Tunja", "Terminal Bogota", tomorrow.plusHours(1), "ACTIVE"));
+        });
+
+        // Then
+        assertThat(index.search(null, null, now, FAR_FUTURE, now))
+                .extracting(TripResponseDTO::getId).containsExactly(2L);
+    }
+
+    private TripResponseDTO trip(Long id, String origin, String destination, LocalDateTime departure, String status) {
+        return new TripResponseDTO(id, null, origin, destination, departure, 4, 4,
+                new BigDecimal("40000.00"), null, status, now);
+    }
+}
@@ -0,0 +1,124 @@
+package com.slsolution.taxiruta.service;
+
+import com.slsolution.taxiruta.dto.response.TripResponseDTO;
+import com.slsolution.taxiruta.model.Trip;
+import com.slsolution.taxiruta.model.User;
+import com.slsolution.taxiruta.repository.TripRepository;
+import com.slsolution.taxiruta.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.slsolution.taxiruta.TestFixtures.clearDatabase;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Trip Search Tests")
+class TripSearchTest {
+
+    @Autowired
+    private TripService tripService;
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private LocalDateTime tomorrow;
+
+    @BeforeEach
+    void setUp() {
+        User driver = userRepository.save(User.builder()
+                .firstName("Test")
+                .lastName("Driver")
+                .email("driver@example.com")
+                .password("encodedPassword")
+                .phone("3001234567")
+                .role(User.Role.DRIVER)
+                .isActive(true)
+                .build());
+
+        tomorrow = LocalDateTime.now().plusDays(1).withHour(8).withMinute(0);
+        saveTrip(driver, "Terminal Bogota", "Centro Villavicencio", tomorrow, Trip.Status.ACTIVE);
+        saveTrip(driver, "Terminal Bogota", "Aeropuerto Medellin", tomorrow.plusDays(1), Trip.Status.ACTIVE);
+        saveTrip(driver, "Centro Tunja", "Terminal Bogota", tomorrow, Trip.Status.ACTIVE);
+        saveTrip(driver, "Terminal Bogota", "Centro Villavicencio", tomorrow, Trip.Status.CANCELLED);
+        saveTrip(driver, "Terminal Bogota", "Centro Villavicencio", LocalDateTime.now().minusHours(1), Trip.Status.ACTIVE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        clearDatabase(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should match origin as a case-insensitive substring")
+    void shouldMatchOriginSubstring() {
+        // When
+        List<TripResponseDTO> result = tripService.searchTrips("BOGOTA", null, null);
+
+        // Then
+        assertThat(result).hasSize(2)
+                .allMatch(trip -> trip.getOrigin().equals("Terminal Bogota"));
+    }
+
+    @Test
+    @DisplayName("Should match destination only")
+    void shouldMatchDestinationSubstring() {
+        // When
+        List<TripResponseDTO> result = tripService.searchTrips(null, "villa", null);
+
+        // Then
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getDestination()).isEqualTo("Centro Villavicencio");
+    }
+
+    @Test
+    @DisplayName("Should combine origin, destination and departure date")
+    void shouldCombineAllFilters() {
+        // When
+        List<TripResponseDTO> sameDay = tripService.searchTrips("bogota", "medellin", tomorrow.plusDays(1));
+        List<TripResponseDTO> otherDay = tripService.searchTrips("bogota", "medellin", tomorrow);
+
+        // Then
+        assertThat(sameDay).hasSize(1);
+        assertThat(otherDay).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should return every future active trip without filters, ordered by departure")
+    void shouldReturnAllActiveFutureTripsWithoutFilters() {
+        // When
+        List<TripResponseDTO> result = tripService.searchTrips(null, null, null);
+
+        // Then
+        assertThat(result).hasSize(3);
+        assertThat(result).extracting(TripResponseDTO::getDepartureTime).isSorted();
+    }
+
+    private void saveTrip(User driver, String origin, String destination, LocalDateTime departure, Trip.Status status) {
+        tripRepository.save(Trip.builder()
+                .driver(driver)
+                .origin(origin)
+                .destination(destination)
+                .departureTime(departure)
+                .availableSeats(4)
+                .pricePerSeat(new BigDecimal("40000.00"))
+                .status(status)
+                .build());
+    }
+}
@@ -0,0 +1,92 @@
+package com.slsolution.taxiruta.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("HashedWheelTimer Tests")
+class HashedWheelTimerTest {
+
+    private HashedWheelTimer timer;
+
+    @BeforeEach
+    void setUp() {
+        // Four buckets of 10 ms: any delay over 40 ms needs more than one turn of the wheel
+        timer = new HashedWheelTimer("test-wheel", 10, TimeUnit.MILLISECONDS, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        timer.stop();
+    }
+
+    @Test
+    @DisplayName("Should fire a timeout no earlier than its delay, also after several turns of the wheel")
+    void shouldFireAfterDelay() throws InterruptedException {
+        // Given
+        CountDownLatch fired = new CountDownLatch(1);
+        AtomicLong firedAfterMillis = new AtomicLong();
+        long start = System.nanoTime();
+
+        // When
+        timer.newTimeout(() -> {
+            firedAfterMillis.set(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            fired.countDown();
+        }, 150, TimeUnit.MILLISECONDS);
+
+        // Then
+        assertThat(fired.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(firedAfterMillis.get()).isGreaterThanOrEqualTo(150);
+        assertThat(timer.pendingTimeouts()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not fire a cancelled timeout")
+    void shouldSkipCancelledTimeout() throws InterruptedException {
+        // Given
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch later = new CountDownLatch(1);
+        HashedWheelTimer.Timeout cancelled = timer.newTimeout(runs::incrementAndGet, 30, TimeUnit.MILLISECONDS);
+        timer.newTimeout(later::countDown, 80, TimeUnit.MILLISECONDS);
+
+        // When
+        boolean cancelledNow = cancelled.cancel();
+
+        // Then
+        assertThat(cancelledNow).isTrue();
+        assertThat(later.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(runs.get()).isZero();
+        assertThat(cancelled.cancel()).isFalse();
+        assertThat(timer.pendingTimeouts()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should fire many timeouts sharing buckets exactly once each")
+    void shouldFireEveryTimeoutOnce() throws InterruptedException {
+        // Given
+        int timeouts = 1000;
+        CountDownLatch fired = new CountDownLatch(timeouts);
+        AtomicInteger runs = new AtomicInteger();
+
+        // When
+        for (int i = 0; i < timeouts; i++) {
+            timer.newTimeout(() -> {
+                runs.incrementAndGet();
+                fired.countDown();
+            }, i % 100, TimeUnit.MILLISECONDS);
+        }
+
+        // Then
+        assertThat(fired.await(2, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(50);
+        assertThat(runs.get()).isEqualTo(timeouts);
+    }
+}
@@ -0,0 +1,84 @@
+package com.slsolution.taxiruta.util;
+
+import com.slsolution.taxiruta.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("JwtUtil Tests")
+class JwtUtilTest {
+
+    private static final String SECRET = "testSecretKeyForJWTWhichShouldBeAtLeast256BitsLongForTestingPurposes";
+
+    private JwtUtil jwtUtil;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = newJwtUtil(86400000L);
+        user = User.builder()
+                .id(1L)
+                .firstName("Juan")
+                .lastName("Perez")
+                .email("juan.perez@example.com")
+                .password("encodedPassword")
+                .phone("3001234567")
+                .role(User.Role.PASSENGER)
+                .isActive(true)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should verify a token once and serve later checks from the cache")
+    void shouldCacheVerifiedClaims() {
+        // Given
+        String token = jwtUtil.generateToken(user);
+
+        // When
+        Claims first = jwtUtil.verifyToken(token);
+        Claims second = jwtUtil.verifyToken(token);
+
+        // Then
+        assertThat(first.getSubject()).isEqualTo("juan.perez@example.com");
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    @DisplayName("Should reject a token whose signature does not match")
+    void shouldRejectTamperedToken() {
+        // Given
+        String token = jwtUtil.generateToken(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        // When & Then
+        assertThatThrownBy(() -> jwtUtil.verifyToken(tampered)).isInstanceOf(JwtException.class);
+        assertThat(jwtUtil.isValidToken(tampered)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject an expired token")
+    void shouldRejectExpiredToken() {
+        // Given
+        JwtUtil expiredUtil = newJwtUtil(-1000L);
+        String token = expiredUtil.generateToken(user);
+
+        // When & Then
+        assertThatThrownBy(() -> expiredUtil.verifyToken(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    private JwtUtil newJwtUtil(long expirationMillis) {
+        JwtUtil util = new JwtUtil();
+        ReflectionTestUtils.setField(util, "secretKey", SECRET);
+        ReflectionTestUtils.setField(util, "jwtExpiration", expirationMillis);
+        ReflectionTestUtils.setField(util, "claimsCacheMaxSize", 100L);
+        util.init();
+        return util;
+    }
+}
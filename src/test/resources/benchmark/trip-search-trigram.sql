@@ -0,0 +1,83 @@
+-- Trip search benchmark: substring search over 1M trips with and without the V6 trigram indexes.
+--
+-- Runs in a scratch schema so it never touches application data:
+--   psql -d taxiruta -f src/test/resources/benchmark/trip-search-trigram.sql
+-- Compare the "Execution Time" lines of the two EXPLAIN runs for each query.
+
+\set ON_ERROR_STOP on
+\timing on
+
+DROP SCHEMA IF EXISTS trip_search_bench CASCADE;
+CREATE SCHEMA trip_search_bench;
+SET search_path = trip_search_bench, public;
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm WITH SCHEMA public;
+
+CREATE TABLE trips (
+    id BIGSERIAL PRIMARY KEY,
+    driver_id BIGINT NOT NULL,
+    origin VARCHAR(200) NOT NULL,
+    destination VARCHAR(200) NOT NULL,
+    departure_time TIMESTAMP NOT NULL,
+    status VARCHAR(20) NOT NULL
+);
+
+-- 1M trips over 60 cities, 90% active, departures spread over the next 180 days
+WITH cities(name) AS (
+    SELECT unnest(ARRAY[
+        'Bogota', 'Medellin', 'Cali', 'Barranquilla', 'Cartagena', 'Cucuta', 'Bucaramanga', 'Pereira',
+        'Santa Marta', 'Ibague', 'Pasto', 'Manizales', 'Neiva', 'Villavicencio', 'Armenia', 'Valledupar',
+        'Monteria', 'Sincelejo', 'Popayan', 'Tunja', 'Riohacha', 'Florencia', 'Yopal', 'Quibdo',
+        'Soacha', 'Bello', 'Soledad', 'Itagui', 'Palmira', 'Envigado', 'Tulua', 'Dosquebradas',
+        'Girardot', 'Zipaquira', 'Facatativa', 'Chia', 'Fusagasuga', 'Duitama', 'Sogamoso', 'Buga',
+        'Cartago', 'Rionegro', 'Apartado', 'Turbo', 'Maicao', 'Ipiales', 'Tumaco', 'Ocana',
+        'Barrancabermeja', 'Aguachica', 'Magangue', 'Lorica', 'Sahagun', 'Cienaga', 'Fundacion', 'Honda',
+        'La Dorada', 'Espinal', 'Garzon', 'Pitalito'
+    ]) AS name
+), numbered AS (
+    SELECT name, row_number() OVER () - 1 AS idx FROM cities
+)
+INSERT INTO trips (driver_id, origin, destination, departure_time, status)
+SELECT (random() * 5000)::BIGINT + 1,
+       'Terminal ' || o.name,
+       'Centro ' || d.name,
+       now() + (random() * INTERVAL '180 days'),
+       CASE WHEN random() < 0.9 THEN 'ACTIVE' ELSE 'COMPLETED' END
+FROM generate_series(1, 1000000) AS g
+JOIN numbered o ON o.idx = g % 60
+JOIN numbered d ON d.idx = (g / 60) % 60;
+
+CREATE INDEX ON trips(departure_time);
+CREATE INDEX ON trips(origin);
+CREATE INDEX ON trips(destination);
+ANALYZE trips;
+
+-- Statements as issued by TripRepository.searchActiveTripsByOrigin / ByRoute
+PREPARE search_origin(TEXT) AS
+    SELECT * FROM trips
+    WHERE status = 'ACTIVE' AND departure_time > now()
+      AND LOWER(origin) LIKE LOWER('%' || $1 || '%')
+    ORDER BY departure_time;
+
+PREPARE search_route(TEXT, TEXT) AS
+    SELECT * FROM trips
+    WHERE status = 'ACTIVE' AND departure_time > now()
+      AND LOWER(origin) LIKE LOWER('%' || $1 || '%')
+      AND LOWER(destination) LIKE LOWER('%' || $2 || '%')
+    ORDER BY departure_time;
+
+\echo '=== Before: B-tree indexes only ==='
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE search_origin('pitalito');
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE search_route('bogota', 'villavicencio');
+
+-- Same definitions as V6__Add_trip_search_trigram_indexes.sql
+CREATE INDEX idx_trips_origin_trgm ON trips USING gin (LOWER(origin) public.gin_trgm_ops) WHERE status = 'ACTIVE';
+CREATE INDEX idx_trips_destination_trgm ON trips USING gin (LOWER(destination) public.gin_trgm_ops) WHERE status = 'ACTIVE';
+ANALYZE trips;
+
+\echo '=== After: trigram GIN indexes ==='
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE search_origin('pitalito');
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE search_route('bogota', 'villavicencio');
+
+RESET search_path;
+DROP SCHEMA trip_search_bench CASCADE;